@@ -0,0 +1,86 @@
+package com.skin.thumbsdemo;
+
+import android.content.Context;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 创建ThumbsView并添加到窗口的耗时：共享缓存为空时与预热后对比，结果输出到logcat
+ * <p>
+ * 图片在添加到窗口时获取，每轮先清空未被引用的位图，添加后立即移除以归还位图，保证每轮都从相同状态开始，取各轮的中位数。
+ * 耗时受设备负载影响，只输出不断言；断言的是共享缓存的命中和未命中次数：预热后添加到窗口不再解码
+ * Created by wangcheng on 2026/10/17.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ThumbsViewInflationBenchmark {
+
+    private static final String TAG = "ThumbsViewInflation";
+    private static final int ROUNDS = 30;
+
+    @Test
+    public void prewarmedInflationHitsCache() throws Exception {
+        final Context context = InstrumentationRegistry.getTargetContext();
+        final BitmapCache cache = BitmapCache.getInstance();
+        final long[] cold = new long[ROUNDS];
+        final long[] warm = new long[ROUNDS];
+        long coldMisses = 0;
+        long warmMisses = 0;
+        long warmHits = 0;
+        //第一次创建包含类加载，不计入
+        inflate(context);
+        for (int round = 0; round < ROUNDS; round++) {
+            cache.evictIdle();
+            long misses = cache.getMissCount();
+            cold[round] = inflate(context);
+            coldMisses += cache.getMissCount() - misses;
+            cache.evictIdle();
+            ThumbsView.prewarm(context).get();
+            misses = cache.getMissCount();
+            long hits = cache.getHitCount();
+            warm[round] = inflate(context);
+            warmMisses += cache.getMissCount() - misses;
+            warmHits += cache.getHitCount() - hits;
+        }
+        Log.i(TAG, "cold median " + median(cold) / 1000 + "us, misses " + coldMisses
+                + "; prewarmed median " + median(warm) / 1000 + "us, hits " + warmHits + ", misses " + warmMisses);
+        //未点赞的View只获取未点赞的图片，每轮一次
+        assertEquals(ROUNDS, coldMisses);
+        assertEquals(0, warmMisses);
+        assertEquals(ROUNDS, warmHits);
+    }
+
+    /**
+     * 在主线程创建一个View并添加到窗口，之后移除以归还其位图
+     *
+     * @param context 上下文
+     * @return 创建和添加的耗时（纳秒）
+     */
+    private static long inflate(final Context context) {
+        final long[] elapsed = new long[1];
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                long start = System.nanoTime();
+                ThumbsView view = new ThumbsView(context);
+                view.onAttachedToWindow();
+                elapsed[0] = System.nanoTime() - start;
+                view.onDetachedFromWindow();
+            }
+        });
+        return elapsed[0];
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,42 @@
+package com.skin.thumbsdemo;
+
+import android.os.Debug;
+
+/**
+ * 绘制统计使用的对象分配计数，只在{@link ThumbsMetrics#isTrackAllocations()}开启时调用
+ * <p>
+ * {@link Debug#startAllocCounting()}和{@link Debug#getThreadAllocCount()}自API 23起已废弃，
+ * 但仍是设备上统计单个线程对象分配次数的唯一方式，且只用于调试包中的统计，因此集中在此处并屏蔽废弃警告；
+ * 正式的分配统计由thumbs-core中JMH的 -prof gc 给出。
+ * Created by wangcheng on 2026/10/17.
+ */
+@SuppressWarnings("deprecation")
+final class AllocCounter {
+
+    /**
+     * 是否已开启对象分配计数，该计数为全局开关
+     */
+    private static boolean sStarted;
+
+    private AllocCounter() {
+    }
+
+    /**
+     * 开启对象分配计数，重复调用只开启一次
+     */
+    static void start() {
+        if (!sStarted) {
+            Debug.startAllocCounting();
+            sStarted = true;
+        }
+    }
+
+    /**
+     * 获取当前线程的对象分配次数
+     *
+     * @return 分配次数
+     */
+    static int getThreadAllocCount() {
+        return Debug.getThreadAllocCount();
+    }
+}
@@ -0,0 +1,411 @@
+package com.skin.thumbsdemo;
+
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.util.DisplayMetrics;
+import android.util.LruCache;
+import android.util.TypedValue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+
+/**
+ * 进程内共享的位图缓存
+ * <p>
+ * 以 资源ID + 屏幕密度 + 目标尺寸 + 是否为透明度遮罩 作为键，被引用的位图按引用计数保留，
+ * 引用计数归零后进入按字节数限制大小的LRU缓存，超出上限时淘汰最久未使用的位图。
+ * Created by wangcheng on 2026/10/17.
+ */
+public final class BitmapCache {
+
+    /**
+     * 未被引用位图的缓存上限默认值（字节）
+     */
+    public static final int DEFAULT_IDLE_MAX_BYTES = 2 * 1024 * 1024;
+
+    private static final BitmapCache sInstance = new BitmapCache(DEFAULT_IDLE_MAX_BYTES);
+
+    /**
+     * 正在被引用的位图
+     */
+    private final HashMap<Key, Entry> mActive = new HashMap<>();
+    /**
+     * 位图到缓存项的映射，用于按位图释放引用
+     */
+    private final HashMap<Bitmap, Entry> mEntries = new HashMap<>();
+    /**
+     * 引用计数为零的位图
+     */
+    private final LruCache<Key, Entry> mIdle;
+    /**
+     * 命中次数
+     */
+    private long mHitCount;
+    /**
+     * 未命中（需要解码）次数
+     */
+    private long mMissCount;
+    /**
+     * 被淘汰的位图数
+     */
+    private long mEvictionCount;
+    /**
+     * 正在被引用的位图占用的字节数
+     */
+    private long mActiveBytes;
+
+    /**
+     * 获取进程内共享的缓存实例
+     *
+     * @return 缓存实例
+     */
+    public static BitmapCache getInstance() {
+        return sInstance;
+    }
+
+    BitmapCache(int idleMaxBytes) {
+        mIdle = new LruCache<Key, Entry>(idleMaxBytes) {
+            @Override
+            protected int sizeOf(Key key, Entry value) {
+                return value.bitmap.getByteCount();
+            }
+
+            @Override
+            protected void entryRemoved(boolean evicted, Key key, Entry oldValue, Entry newValue) {
+                if (evicted) {
+                    synchronized (BitmapCache.this) {
+                        mEvictionCount++;
+                        mEntries.remove(oldValue.bitmap);
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * 获取位图并增加其引用计数，使用完毕后需调用{@link #release(Bitmap)}
+     *
+     * @param res        资源
+     * @param resId      位图资源ID
+     * @param targetSize 解码后位图最长边的像素值，小于等于0时按屏幕密度解码为原始大小
+     * @return 位图
+     */
+    public Bitmap acquire(Resources res, int resId, int targetSize) {
+        return acquire(res, resId, targetSize, false);
+    }
+
+    /**
+     * 获取单色图片的透明度遮罩（ALPHA_8）并增加其引用计数，使用完毕后需调用{@link #release(Bitmap)}
+     * <p>
+     * 每个像素只占1字节，是ARGB_8888的1/4；绘制时使用画笔的颜色，不同主题的颜色共用同一个遮罩
+     *
+     * @param res        资源
+     * @param resId      位图资源ID
+     * @param targetSize 解码后位图最长边的像素值，小于等于0时按屏幕密度解码为原始大小
+     * @return 透明度遮罩
+     */
+    public Bitmap acquireMask(Resources res, int resId, int targetSize) {
+        return acquire(res, resId, targetSize, true);
+    }
+
+    private Bitmap acquire(Resources res, int resId, int targetSize, boolean mask) {
+        Key key = new Key(resId, res.getDisplayMetrics().densityDpi, Math.max(targetSize, 0), mask);
+        Entry entry;
+        synchronized (this) {
+            entry = obtain(key);
+            if (entry != null) {
+                mHitCount++;
+                return entry.bitmap;
+            }
+        }
+        //解码放在锁外进行，避免阻塞其他线程的命中查询
+        Bitmap bitmap = decode(res, resId, key.targetSize);
+        if (mask) {
+            Bitmap alpha = bitmap.extractAlpha();
+            alpha.setDensity(res.getDisplayMetrics().densityDpi);
+            bitmap.recycle();
+            bitmap = alpha;
+        }
+        Bitmap cached;
+        synchronized (this) {
+            //已经解码过，即使被其他线程抢先放入缓存也计为未命中
+            mMissCount++;
+            entry = obtain(key);
+            if (entry == null) {
+                entry = new Entry(key, bitmap);
+                entry.refCount = 1;
+                mActive.put(key, entry);
+                mEntries.put(bitmap, entry);
+                mActiveBytes += bitmap.getByteCount();
+                return bitmap;
+            }
+            cached = entry.bitmap;
+        }
+        //解码期间已被其他线程放入缓存，使用缓存中的位图，本线程解码的位图立即回收
+        bitmap.recycle();
+        return cached;
+    }
+
+    /**
+     * 释放通过{@link #acquire(Resources, int, int)}获取的位图
+     *
+     * @param bitmap 位图
+     */
+    public synchronized void release(Bitmap bitmap) {
+        if (bitmap == null) {
+            return;
+        }
+        Entry entry = mEntries.get(bitmap);
+        if (entry == null || entry.refCount <= 0) {
+            return;
+        }
+        entry.refCount--;
+        if (entry.refCount == 0) {
+            mActive.remove(entry.key);
+            mActiveBytes -= bitmap.getByteCount();
+            mIdle.put(entry.key, entry);
+        }
+    }
+
+    /**
+     * 从缓存中取出位图并增加引用计数，调用时需持有锁，命中次数由调用方统计
+     *
+     * @param key 键
+     * @return 缓存项，缓存中不存在时返回null
+     */
+    private Entry obtain(Key key) {
+        Entry entry = mActive.get(key);
+        if (entry == null) {
+            entry = mIdle.remove(key);
+            if (entry == null) {
+                return null;
+            }
+            mActive.put(key, entry);
+            mActiveBytes += entry.bitmap.getByteCount();
+        }
+        entry.refCount++;
+        return entry;
+    }
+
+    /**
+     * 清空未被引用的位图
+     */
+    public void evictIdle() {
+        mIdle.evictAll();
+    }
+
+    /**
+     * 获取命中次数
+     *
+     * @return 命中次数
+     */
+    public synchronized long getHitCount() {
+        return mHitCount;
+    }
+
+    /**
+     * 获取未命中次数
+     *
+     * @return 未命中次数
+     */
+    public synchronized long getMissCount() {
+        return mMissCount;
+    }
+
+    /**
+     * 获取命中率
+     *
+     * @return 命中率，0~1
+     */
+    public synchronized float getHitRate() {
+        long total = mHitCount + mMissCount;
+        return total == 0 ? 0f : (float) mHitCount / total;
+    }
+
+    /**
+     * 获取被淘汰的位图数
+     *
+     * @return 被淘汰的位图数
+     */
+    public synchronized long getEvictionCount() {
+        return mEvictionCount;
+    }
+
+    /**
+     * 获取缓存的全部位图占用的字节数
+     *
+     * @return 字节数
+     */
+    public synchronized long getMemoryBytes() {
+        return mActiveBytes + mIdle.size();
+    }
+
+    /**
+     * 获取正在被引用的位图的引用计数之和
+     *
+     * @return 引用次数
+     */
+    synchronized int getReferenceCount() {
+        int count = 0;
+        for (Entry entry : mActive.values()) {
+            count += entry.refCount;
+        }
+        return count;
+    }
+
+    /**
+     * 获取未被引用的位图占用的字节数
+     *
+     * @return 字节数
+     */
+    public int getIdleBytes() {
+        return mIdle.size();
+    }
+
+    /**
+     * 将位图资源直接解码为目标尺寸，先用 inSampleSize 做整数倍下采样，再用 inDensity / inTargetDensity 缩放到目标尺寸
+     *
+     * @param res        资源
+     * @param resId      位图资源ID
+     * @param targetSize 解码后位图最长边的像素值，为0时按屏幕密度解码为原始大小
+     * @return 位图
+     */
+    static Bitmap decode(Resources res, int resId, int targetSize) {
+        TypedValue value = new TypedValue();
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        options.inScaled = false;
+        decodeStream(res, resId, value, options);
+        int rawSize = Math.max(options.outWidth, options.outHeight);
+        if (rawSize <= 0 || value.density == TypedValue.DENSITY_NONE) {
+            return BitmapFactory.decodeResource(res, resId);
+        }
+        int screenDensity = res.getDisplayMetrics().densityDpi;
+        int naturalSize = scaleToScreen(res, value, rawSize);
+        int size = targetSize > 0 ? Math.min(targetSize, naturalSize) : naturalSize;
+        int sampleSize = 1;
+        while (rawSize / (sampleSize * 2) >= size) {
+            sampleSize *= 2;
+        }
+        options.inJustDecodeBounds = false;
+        options.inSampleSize = sampleSize;
+        options.inScaled = true;
+        options.inDensity = rawSize / sampleSize;
+        options.inTargetDensity = size;
+        Bitmap bitmap = decodeStream(res, resId, value, options);
+        if (bitmap == null) {
+            return BitmapFactory.decodeResource(res, resId);
+        }
+        //解码时借用了密度字段做缩放，需还原为屏幕密度，避免绘制时被再次缩放
+        bitmap.setDensity(screenDensity);
+        return bitmap;
+    }
+
+    /**
+     * 只解码位图资源的尺寸，获取其按屏幕密度解码时的最长边，不分配像素内存
+     *
+     * @param res   资源
+     * @param resId 位图资源ID
+     * @return 最长边的像素值，即{@link BitmapFactory#decodeResource(Resources, int)}结果的最长边
+     */
+    static int getNaturalSize(Resources res, int resId) {
+        TypedValue value = new TypedValue();
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        options.inScaled = false;
+        decodeStream(res, resId, value, options);
+        int rawSize = Math.max(options.outWidth, options.outHeight);
+        if (rawSize <= 0) {
+            //无法只读取尺寸时完整解码一次
+            Bitmap bitmap = BitmapFactory.decodeResource(res, resId);
+            int size = Math.max(bitmap.getWidth(), bitmap.getHeight());
+            bitmap.recycle();
+            return size;
+        }
+        if (value.density == TypedValue.DENSITY_NONE) {
+            return rawSize;
+        }
+        return scaleToScreen(res, value, rawSize);
+    }
+
+    /**
+     * 按资源所在目录的密度和屏幕密度缩放尺寸，即 decodeResource 的结果尺寸
+     *
+     * @param res     资源
+     * @param value   资源所在目录的密度
+     * @param rawSize 位图文件中的尺寸
+     * @return 缩放后的尺寸
+     */
+    private static int scaleToScreen(Resources res, TypedValue value, int rawSize) {
+        int resDensity = value.density == TypedValue.DENSITY_DEFAULT
+                ? DisplayMetrics.DENSITY_DEFAULT : value.density;
+        return Math.max(1, Math.round((float) rawSize * res.getDisplayMetrics().densityDpi / resDensity));
+    }
+
+    private static Bitmap decodeStream(Resources res, int resId, TypedValue value, BitmapFactory.Options options) {
+        InputStream is = res.openRawResource(resId, value);
+        try {
+            return BitmapFactory.decodeStream(is, null, options);
+        } finally {
+            try {
+                is.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    /**
+     * 缓存键
+     */
+    private static final class Key {
+        final int resId;
+        final int densityDpi;
+        final int targetSize;
+        final boolean mask;
+
+        Key(int resId, int densityDpi, int targetSize, boolean mask) {
+            this.resId = resId;
+            this.densityDpi = densityDpi;
+            this.targetSize = targetSize;
+            this.mask = mask;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return resId == key.resId && densityDpi == key.densityDpi && targetSize == key.targetSize
+                    && mask == key.mask;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = resId;
+            result = 31 * result + densityDpi;
+            result = 31 * result + targetSize;
+            result = 31 * result + (mask ? 1 : 0);
+            return result;
+        }
+    }
+
+    /**
+     * 缓存项
+     */
+    private static final class Entry {
+        final Key key;
+        final Bitmap bitmap;
+        int refCount;
+
+        Entry(Key key, Bitmap bitmap) {
+            this.key = key;
+            this.bitmap = bitmap;
+        }
+    }
+}
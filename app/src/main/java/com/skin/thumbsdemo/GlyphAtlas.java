@@ -0,0 +1,120 @@
+package com.skin.thumbsdemo;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+
+import java.util.HashMap;
+
+/**
+ * 预先绘制的数字0~9图集
+ * <p>
+ * 按文字大小和颜色共用，跳动文字每个字符绘制时只拷贝图集中的一格，不再排版文字。
+ * 绘制时使用画笔的透明度，画笔的颜色不起作用。只在主线程使用。
+ * Created by wangcheng on 2026/10/17.
+ */
+public final class GlyphAtlas {
+
+    /**
+     * 每格左右各留出的像素，容纳抗锯齿和字形超出宽度的部分
+     */
+    private static final int PADDING = 2;
+
+    private static final HashMap<Long, GlyphAtlas> sAtlases = new HashMap<>();
+
+    private final Bitmap mBitmap;
+    private final Rect[] mSrc = new Rect[10];
+    /**
+     * 每格顶部相对基线的偏移，为负值
+     */
+    private final int mTop;
+    private final int mHeight;
+    private final RectF mDst = new RectF();
+
+    /**
+     * 获取与画笔文字大小和颜色一致的图集
+     *
+     * @param paint 文字画笔
+     * @return 图集
+     */
+    public static GlyphAtlas obtain(Paint paint) {
+        Long key = ((long) Float.floatToIntBits(paint.getTextSize()) << 32) | (paint.getColor() & 0xffffffffL);
+        GlyphAtlas atlas = sAtlases.get(key);
+        if (atlas == null) {
+            atlas = new GlyphAtlas(paint);
+            sAtlases.put(key, atlas);
+        }
+        return atlas;
+    }
+
+    private GlyphAtlas(Paint paint) {
+        Paint.FontMetrics metrics = paint.getFontMetrics();
+        mTop = (int) Math.floor(metrics.top);
+        mHeight = Math.max(1, (int) Math.ceil(metrics.bottom) - mTop);
+        char[] digit = new char[1];
+        int width = 0;
+        for (int i = 0; i < 10; i++) {
+            digit[0] = (char) ('0' + i);
+            int cell = (int) Math.ceil(paint.measureText(digit, 0, 1)) + PADDING * 2;
+            mSrc[i] = new Rect(width, 0, width + cell, mHeight);
+            width += cell;
+        }
+        mBitmap = Bitmap.createBitmap(width, mHeight, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(mBitmap);
+        Paint drawPaint = new Paint(paint);
+        drawPaint.setAlpha(0xff);
+        for (int i = 0; i < 10; i++) {
+            digit[0] = (char) ('0' + i);
+            canvas.drawText(digit, 0, 1, mSrc[i].left + PADDING, -mTop, drawPaint);
+        }
+    }
+
+    /**
+     * 获取一格顶部相对基线的偏移
+     *
+     * @return 偏移，为负值
+     */
+    public int getTop() {
+        return mTop;
+    }
+
+    /**
+     * 获取一格的高度
+     *
+     * @return 高度
+     */
+    public int getHeight() {
+        return mHeight;
+    }
+
+    /**
+     * 获取图集占用的字节数
+     *
+     * @return 字节数
+     */
+    public int getByteCount() {
+        return mBitmap.getByteCount();
+    }
+
+    /**
+     * 绘制一个数字
+     *
+     * @param canvas 绘制幕
+     * @param glyph  字符
+     * @param x      绘制左边距，与drawText一致
+     * @param y      绘制基线，与drawText一致
+     * @param paint  画笔，只使用其透明度
+     * @return 是否已绘制，字符不是数字时不绘制，需由调用者按文字绘制
+     */
+    public boolean draw(Canvas canvas, char glyph, float x, float y, Paint paint) {
+        if (glyph < '0' || glyph > '9') {
+            return false;
+        }
+        Rect src = mSrc[glyph - '0'];
+        mDst.set(x - PADDING, y + mTop, x - PADDING + src.width(), y + mTop + mHeight);
+        canvas.drawBitmap(mBitmap, src, mDst, paint);
+        return true;
+    }
+}
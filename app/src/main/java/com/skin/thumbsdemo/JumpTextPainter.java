@@ -0,0 +1,133 @@
+package com.skin.thumbsdemo;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+
+/**
+ * 逐列绘制点赞数跳动部分的文字，{@link ThumbsView}和{@link ThumbsBar}共用，两者的滚动效果保持一致
+ * <p>
+ * 每列最多绘制离开和进入的两个字符，增加时文字向上离开、从下方进入，减少时相反。
+ * 跳动文字的画笔在第一次滚动时创建；设置了数字图集时从图集中拷贝字符，不再排版文字。只在主线程使用。
+ * Created by wangcheng on 2026/10/17.
+ */
+final class JumpTextPainter {
+
+    /**
+     * 不动部分和不跳动字符的画笔
+     */
+    private final Paint mTextPaint;
+    /**
+     * 离开和进入的字符的画笔，透明度随跳动进度变化
+     */
+    private Paint mJumpOutTextPaint;
+    private Paint mJumpInTextPaint;
+    /**
+     * 数字图集，为null时按文字绘制
+     */
+    private GlyphAtlas mGlyphAtlas;
+    /**
+     * 绘制单个跳动字符的缓冲区
+     */
+    private final char[] mGlyph = new char[1];
+
+    /**
+     * @param textPaint 文字画笔，跳动文字的画笔按其文字大小和颜色创建
+     */
+    JumpTextPainter(Paint textPaint) {
+        mTextPaint = textPaint;
+    }
+
+    /**
+     * 创建跳动文字的画笔，第一次滚动点赞数时调用
+     */
+    void ensureJumpPaints() {
+        if (mJumpOutTextPaint != null) {
+            return;
+        }
+        mJumpOutTextPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        mJumpOutTextPaint.setTextSize(mTextPaint.getTextSize());
+        mJumpOutTextPaint.setColor(mTextPaint.getColor());
+        mJumpInTextPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        mJumpInTextPaint.setTextSize(mTextPaint.getTextSize());
+        mJumpInTextPaint.setColor(mTextPaint.getColor());
+    }
+
+    /**
+     * 设置数字图集
+     *
+     * @param atlas 与文字画笔一致的图集，为null时按文字绘制
+     */
+    void setGlyphAtlas(GlyphAtlas atlas) {
+        mGlyphAtlas = atlas;
+    }
+
+    /**
+     * 逐列绘制跳动部分的文字
+     *
+     * @param canvas       绘制幕
+     * @param diff         变化前后的逐位比较结果
+     * @param layout       已计算好的各列位置
+     * @param textLeft     文字绘制左边距
+     * @param textTop      文字绘制基线
+     * @param jumpProgress 跳动进度，0~1
+     * @param isFade       是否渐隐，否则前半程只绘制离开的字符、后半程只绘制进入的字符
+     */
+    void drawColumns(Canvas canvas, DigitDiff diff, ThumbsLayout layout, float textLeft, float textTop,
+                     float jumpProgress, boolean isFade) {
+        int columnCount = diff.getColumnCount();
+        for (int column = 0; column < columnCount; column++) {
+            float x = textLeft + layout.getColumnX(column);
+            int steps = diff.getSteps(column);
+            if (steps == 0) {
+                drawGlyph(canvas, diff.getNewChar(column), x, textTop, mTextPaint);
+                continue;
+            }
+            float position = jumpProgress * steps;
+            int step = (int) position;
+            float fraction = position - step;
+            if (step >= steps) {
+                step = steps;
+                fraction = 0f;
+            }
+            float direction = diff.isUp() ? -1f : 1f;
+            if (!isFade) {
+                if (fraction < 0.5f) {
+                    drawGlyph(canvas, diff.getGlyph(column, step), x,
+                            textTop + direction * fraction * ThumbsView.MAX_JUMP, mTextPaint);
+                } else {
+                    drawGlyph(canvas, diff.getGlyph(column, step + 1), x,
+                            textTop - direction * (1f - fraction) * ThumbsView.MAX_JUMP, mTextPaint);
+                }
+                continue;
+            }
+            mJumpOutTextPaint.setAlpha((int) ((1f - fraction) * 0xff));
+            drawGlyph(canvas, diff.getGlyph(column, step), x,
+                    textTop + direction * fraction * ThumbsView.MAX_JUMP, mJumpOutTextPaint);
+            if (fraction > 0f) {
+                mJumpInTextPaint.setAlpha((int) (fraction * 0xff));
+                drawGlyph(canvas, diff.getGlyph(column, step + 1), x,
+                        textTop - direction * (1f - fraction) * ThumbsView.MAX_JUMP, mJumpInTextPaint);
+            }
+        }
+    }
+
+    /**
+     * 绘制单个字符
+     *
+     * @param canvas 绘制幕
+     * @param glyph  字符，为{@link DigitDiff#NONE}时不绘制
+     * @param x      绘制左边距
+     * @param y      绘制基线
+     * @param paint  画笔
+     */
+    private void drawGlyph(Canvas canvas, char glyph, float x, float y, Paint paint) {
+        if (glyph == DigitDiff.NONE) {
+            return;
+        }
+        if (mGlyphAtlas != null && mGlyphAtlas.draw(canvas, glyph, x, y, paint)) {
+            return;
+        }
+        mGlyph[0] = glyph;
+        canvas.drawText(mGlyph, 0, 1, x, y, paint);
+    }
+}
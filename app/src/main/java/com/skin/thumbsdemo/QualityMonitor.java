@@ -0,0 +1,137 @@
+package com.skin.thumbsdemo;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.os.PowerManager;
+import android.view.Choreographer;
+import android.view.Display;
+import android.view.WindowManager;
+
+/**
+ * 进程内共享的点赞动画效果档位
+ * <p>
+ * 有点赞动画在播放时逐帧把垂直同步时间交给{@link QualityGovernor}统计掉帧，
+ * 档位低于完整效果时即使没有动画也继续统计，界面恢复流畅后逐档升回；其余时间不注册帧回调。
+ * 同时监听系统省电模式，省电模式下档位不高于{@link QualityGovernor#TIER_NO_FADE}。
+ * 只在主线程使用。
+ * Created by wangcheng on 2026/10/17.
+ */
+public final class QualityMonitor implements Choreographer.FrameCallback {
+
+    private static final QualityMonitor sInstance = new QualityMonitor();
+
+    private final QualityGovernor mGovernor = new QualityGovernor();
+    /**
+     * 是否已读取屏幕刷新率并注册省电模式监听
+     */
+    private boolean isRegistered;
+    /**
+     * 是否已注册帧回调
+     */
+    private boolean isFramePosted;
+    /**
+     * 正在播放的动画数
+     */
+    private int mActiveCount;
+
+    private final BroadcastReceiver mPowerSaveReceiver = new BroadcastReceiver() {
+        @Override
+        public void onReceive(Context context, Intent intent) {
+            updatePowerSave(context);
+        }
+    };
+
+    /**
+     * 获取进程内共享的实例
+     *
+     * @return 实例
+     */
+    public static QualityMonitor getInstance() {
+        return sInstance;
+    }
+
+    private QualityMonitor() {
+    }
+
+    /**
+     * 获取当前档位，第一次调用时开始监听省电模式
+     *
+     * @param context 上下文
+     * @return {@link QualityGovernor#TIER_FULL}~{@link QualityGovernor#TIER_SNAP}
+     */
+    public int getTier(Context context) {
+        register(context);
+        return mGovernor.getTier();
+    }
+
+    /**
+     * 获取统计掉帧的档位控制，可用于读取降档次数
+     *
+     * @return 档位控制
+     */
+    public QualityGovernor getGovernor() {
+        return mGovernor;
+    }
+
+    /**
+     * 动画开始，开始统计掉帧
+     *
+     * @param context 上下文
+     */
+    public void onAnimationStart(Context context) {
+        register(context);
+        mActiveCount++;
+        postFrame();
+    }
+
+    /**
+     * 动画结束或被取消
+     */
+    public void onAnimationEnd() {
+        if (mActiveCount > 0) {
+            mActiveCount--;
+        }
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        isFramePosted = false;
+        if (mActiveCount > 0 || mGovernor.isDegraded()) {
+            mGovernor.onFrame(frameTimeNanos);
+            postFrame();
+        } else {
+            //停止统计期间的间隔不算掉帧
+            mGovernor.onIdle();
+        }
+    }
+
+    private void postFrame() {
+        if (!isFramePosted) {
+            isFramePosted = true;
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+    }
+
+    private void register(Context context) {
+        if (isRegistered) {
+            return;
+        }
+        isRegistered = true;
+        Context app = context.getApplicationContext();
+        WindowManager wm = (WindowManager) app.getSystemService(Context.WINDOW_SERVICE);
+        Display display = wm != null ? wm.getDefaultDisplay() : null;
+        float refreshRate = display != null ? display.getRefreshRate() : 60f;
+        if (refreshRate > 0) {
+            mGovernor.setFrameInterval((long) (1000000000L / refreshRate));
+        }
+        updatePowerSave(app);
+        app.registerReceiver(mPowerSaveReceiver, new IntentFilter(PowerManager.ACTION_POWER_SAVE_MODE_CHANGED));
+    }
+
+    private void updatePowerSave(Context context) {
+        PowerManager pm = (PowerManager) context.getSystemService(Context.POWER_SERVICE);
+        mGovernor.setPowerSave(pm != null && pm.isPowerSaveMode());
+    }
+}
@@ -0,0 +1,305 @@
+package com.skin.thumbsdemo;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+
+import java.util.HashMap;
+
+/**
+ * 进程内共享的点赞动画帧缓存
+ * <p>
+ * 点赞动画中点赞图片一侧（图片伸缩、叠加图片、图片外圈的圆圈）与点击位置无关，
+ * 按 点赞状态 + 图片尺寸 + 屏幕密度 + 颜色 + 图片着色 预先绘制为一张帧图，播放时每帧只绘制其中一格。
+ * 系统内存紧张时（{@link #onTrimMemory(int)}）清空全部帧图，下次播放时重新绘制。
+ * 只在主线程使用。
+ * Created by wangcheng on 2026/10/17.
+ */
+public final class SpriteCache implements ComponentCallbacks2 {
+
+    /**
+     * 每个动画的帧数，按60帧/秒覆盖{@link ThumbsTimeline#DURATION}
+     */
+    public static final int FRAME_COUNT = 16;
+    /**
+     * 帧图每行的帧数
+     */
+    private static final int COLUMNS = 4;
+
+    private static final SpriteCache sInstance = new SpriteCache();
+
+    private final HashMap<Key, Sprite> mSprites = new HashMap<>();
+    /**
+     * 是否已注册内存回调
+     */
+    private boolean isRegistered;
+    /**
+     * 绘制的帧图数
+     */
+    private long mRenderCount;
+    /**
+     * 因内存紧张被清空的帧图数
+     */
+    private long mEvictionCount;
+
+    /**
+     * 获取进程内共享的缓存实例
+     *
+     * @return 缓存实例
+     */
+    public static SpriteCache getInstance() {
+        return sInstance;
+    }
+
+    private SpriteCache() {
+    }
+
+    /**
+     * 获取点赞动画的帧图，缓存中不存在时立即绘制
+     *
+     * @param context     上下文
+     * @param bitmap      点赞图片
+     * @param overlay     叠加图片，未点赞的动画为null
+     * @param ringColor   点赞图片外圈的圆圈颜色
+     * @param ringStroke  点赞图片外圈的圆圈线宽
+     * @param ringRadius  点赞图片外圈的圆圈半径默认值
+     * @param iconTint    点赞图片为透明度遮罩时的着色，否则为0
+     * @return 帧图
+     */
+    public Sprite obtain(Context context, Bitmap bitmap, Bitmap overlay, int ringColor, int ringStroke, float ringRadius,
+                         int iconTint) {
+        if (!isRegistered) {
+            context.getApplicationContext().registerComponentCallbacks(this);
+            isRegistered = true;
+        }
+        Key key = new Key(overlay != null, bitmap.getWidth(), bitmap.getHeight(),
+                context.getResources().getDisplayMetrics().densityDpi, ringColor, iconTint);
+        Sprite sprite = mSprites.get(key);
+        if (sprite == null) {
+            sprite = Sprite.render(bitmap, overlay, ringColor, ringStroke, ringRadius, iconTint);
+            mSprites.put(key, sprite);
+            mRenderCount++;
+        }
+        return sprite;
+    }
+
+    /**
+     * 清空全部帧图，正在播放的View在动画结束前仍持有各自的帧图
+     */
+    public void evictAll() {
+        mEvictionCount += mSprites.size();
+        mSprites.clear();
+    }
+
+    /**
+     * 获取绘制的帧图数
+     *
+     * @return 帧图数
+     */
+    public long getRenderCount() {
+        return mRenderCount;
+    }
+
+    /**
+     * 获取因内存紧张被清空的帧图数
+     *
+     * @return 帧图数
+     */
+    public long getEvictionCount() {
+        return mEvictionCount;
+    }
+
+    /**
+     * 获取缓存的全部帧图占用的字节数
+     *
+     * @return 字节数
+     */
+    public long getMemoryBytes() {
+        long bytes = 0;
+        for (Sprite sprite : mSprites.values()) {
+            bytes += sprite.mSheet.getByteCount();
+        }
+        return bytes;
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        if (level >= TRIM_MEMORY_RUNNING_MODERATE) {
+            evictAll();
+        }
+    }
+
+    @Override
+    public void onLowMemory() {
+        evictAll();
+    }
+
+    @Override
+    public void onConfigurationChanged(Configuration newConfig) {
+    }
+
+    /**
+     * 预先绘制好的点赞动画帧图
+     */
+    public static final class Sprite {
+
+        /**
+         * 帧图，每格一帧，按行排列
+         */
+        private final Bitmap mSheet;
+        /**
+         * 每格的边长
+         */
+        private final int mCellSize;
+        private final Rect mSrc = new Rect();
+        private final Rect mDst = new Rect();
+
+        private Sprite(Bitmap sheet, int cellSize) {
+            mSheet = sheet;
+            mCellSize = cellSize;
+        }
+
+        /**
+         * 按时间轴逐帧绘制，点赞图片中心位于每格中心，与ThumbsView中的绘制方式一致
+         */
+        static Sprite render(Bitmap bitmap, Bitmap overlay, int ringColor, int ringStroke, float ringRadius,
+                             int iconTint) {
+            ThumbsTimeline timeline = new ThumbsTimeline();
+            float maxScale = 1f;
+            for (int frame = 0; frame < FRAME_COUNT; frame++) {
+                timeline.apply(getProgress(frame));
+                maxScale = Math.max(maxScale, timeline.getScaleOff());
+            }
+            int bw = bitmap.getWidth();
+            int bh = bitmap.getHeight();
+            //相对点赞图片中心的绘制范围：叠加图片向右偏移5像素、向上偏移20像素
+            int extent = Math.max(bw, bh) / 2;
+            if (overlay != null) {
+                extent = Math.max(extent, bh / 2 + 20);
+                extent = Math.max(extent, -bw / 2 + 5 + overlay.getWidth());
+                extent = Math.max(extent, -bh / 2 - 20 + overlay.getHeight());
+            }
+            int half = Math.max((int) Math.ceil(extent * maxScale), (int) Math.ceil(ringRadius) + ringStroke) + 1;
+            int cellSize = half * 2;
+            int rows = (FRAME_COUNT + COLUMNS - 1) / COLUMNS;
+            Bitmap sheet = Bitmap.createBitmap(cellSize * COLUMNS, cellSize * rows, Bitmap.Config.ARGB_8888);
+            Canvas canvas = new Canvas(sheet);
+            Paint bitmapPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+            if (bitmap.getConfig() == Bitmap.Config.ALPHA_8) {
+                //透明度遮罩按画笔颜色绘制
+                bitmapPaint.setColor(iconTint);
+            }
+            Paint ringPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+            ringPaint.setStrokeWidth(ringStroke);
+            ringPaint.setColor(ringColor);
+            ringPaint.setStyle(Paint.Style.STROKE);
+            for (int frame = 0; frame < FRAME_COUNT; frame++) {
+                timeline.apply(getProgress(frame));
+                int cx = frame % COLUMNS * cellSize + half;
+                int cy = frame / COLUMNS * cellSize + half;
+                int left = cx - bw / 2;
+                int top = cy - bh / 2;
+                float scale = timeline.getScaleOff();
+                canvas.save();
+                canvas.scale(scale, scale, cx, cy);
+                canvas.drawBitmap(bitmap, left, top, bitmapPaint);
+                if (overlay != null) {
+                    canvas.drawBitmap(overlay, left + 5, top - 20, bitmapPaint);
+                }
+                canvas.restore();
+                ringPaint.setAlpha(timeline.getBitmapCircleAlpha());
+                canvas.drawCircle(cx, cy, ringRadius * timeline.getBitmapCircleScale(), ringPaint);
+            }
+            return new Sprite(sheet, cellSize);
+        }
+
+        /**
+         * 获取一帧对应的时间轴进度
+         *
+         * @param frame 帧
+         * @return 进度，0~1
+         */
+        static float getProgress(int frame) {
+            return (float) frame / (FRAME_COUNT - 1);
+        }
+
+        /**
+         * 获取最接近时间轴进度的帧
+         *
+         * @param progress 进度，0~1
+         * @return 帧
+         */
+        static int getFrame(float progress) {
+            int frame = Math.round(progress * (FRAME_COUNT - 1));
+            return Math.max(0, Math.min(frame, FRAME_COUNT - 1));
+        }
+
+        /**
+         * 绘制一帧
+         *
+         * @param canvas   绘制幕
+         * @param progress 时间轴进度，0~1
+         * @param cx       点赞图片中心的X轴位置
+         * @param cy       点赞图片中心的Y轴位置
+         * @param paint    画笔
+         */
+        public void draw(Canvas canvas, float progress, int cx, int cy, Paint paint) {
+            int frame = getFrame(progress);
+            int left = frame % COLUMNS * mCellSize;
+            int top = frame / COLUMNS * mCellSize;
+            mSrc.set(left, top, left + mCellSize, top + mCellSize);
+            int half = mCellSize / 2;
+            mDst.set(cx - half, cy - half, cx + half, cy + half);
+            canvas.drawBitmap(mSheet, mSrc, mDst, paint);
+        }
+    }
+
+    /**
+     * 缓存键
+     */
+    private static final class Key {
+        final boolean liked;
+        final int width;
+        final int height;
+        final int densityDpi;
+        final int color;
+        final int iconTint;
+
+        Key(boolean liked, int width, int height, int densityDpi, int color, int iconTint) {
+            this.liked = liked;
+            this.width = width;
+            this.height = height;
+            this.densityDpi = densityDpi;
+            this.color = color;
+            this.iconTint = iconTint;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return liked == key.liked && width == key.width && height == key.height
+                    && densityDpi == key.densityDpi && color == key.color && iconTint == key.iconTint;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = liked ? 1 : 0;
+            result = 31 * result + width;
+            result = 31 * result + height;
+            result = 31 * result + densityDpi;
+            result = 31 * result + color;
+            result = 31 * result + iconTint;
+            return result;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.skin.thumbsdemo;
+
+import android.app.Application;
+
+import java.io.File;
+
+/**
+ * 启动时在后台预热点赞图片并读取本地保存的点赞状态，首屏创建点赞控件时直接命中缓存
+ * Created by wangcheng on 2026/10/17.
+ */
+public class ThumbsApplication extends Application {
+
+    private static LikeStateStore sLikeStateStore;
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        ThumbsView.prewarm(this);
+        sLikeStateStore = new LikeStateStore(new File(getFilesDir(), "like_state.bin"));
+        sLikeStateStore.load();
+    }
+
+    /**
+     * 获取进程内共享的本地点赞状态，文件在后台读取，读取完成前只包含本次启动后保存的状态
+     *
+     * @return 本地保存的点赞状态
+     */
+    public static LikeStateStore getLikeStateStore() {
+        return sLikeStateStore;
+    }
+}
@@ -0,0 +1,650 @@
+package com.skin.thumbsdemo;
+
+import android.animation.TimeAnimator;
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.support.annotation.Nullable;
+import android.support.v4.content.ContextCompat;
+import android.util.AttributeSet;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewConfiguration;
+import android.view.ViewGroup;
+
+import java.util.ArrayList;
+
+/**
+ * 在一个View中并排绘制多个计数（点赞、评论、分享等）
+ * <p>
+ * 每个计数为一格，宽度均分，格内的图片和数字与{@link ThumbsView}的布局一致。
+ * 所有格共用文字画笔、{@link JumpTextPainter}和{@link BitmapCache}中的图片，一次测量布局，
+ * 由一个{@link TimeAnimator}驱动所有正在播放的动画，每帧只重绘一次；
+ * 每格有各自的点赞数跳动和图片伸缩动画，同时播放时互不影响。
+ * 每格各有一个{@link TapDetector}，点击区域与ThumbsView一样为图片和计数文字的外接矩形。
+ * Created by wangcheng on 2026/10/17.
+ */
+public class ThumbsBar extends View {
+
+    /**
+     * 点击某一格的回调
+     */
+    public interface OnSlotClickListener {
+
+        /**
+         * 点击某一格
+         *
+         * @param bar  所在的ThumbsBar
+         * @param slot 格的序号
+         */
+        void onSlotClick(ThumbsBar bar, int slot);
+    }
+
+    /**
+     * 绘制图片的画笔，所有ThumbsBar共用
+     */
+    private static Paint sIconPaint;
+
+    private final ArrayList<Slot> mSlots = new ArrayList<>();
+    private final CountFormatter mFormatter;
+    /**
+     * 所有格共用的时间轴，每帧依次按各格的进度计算后取出结果
+     */
+    private final ThumbsTimeline mTimeline = new ThumbsTimeline();
+    /**
+     * 触摸阈值，各格的{@link TapDetector}共用
+     */
+    private final int mTouchSlop;
+    private final float mContentPx;
+    private final int mContentColor;
+    private final Paint mTextPaint;
+    private final ThumbsLayout.TextMeasurer mTextMeasurer = new ThumbsLayout.TextMeasurer() {
+        @Override
+        public float measureText(char[] text, int start, int count) {
+            return mTextPaint.measureText(text, start, count);
+        }
+    };
+    private final float mMaxDigitWidth;
+    /**
+     * 绘制计数的跳动部分，所有格依次绘制时共用
+     */
+    private final JumpTextPainter mJumpText;
+    /**
+     * 驱动所有格动画的计时器
+     */
+    private TimeAnimator mAnimator;
+    /**
+     * 计时器开始后经过的时间（毫秒）
+     */
+    private long mAnimatorTime;
+    /**
+     * 图片解码的目标尺寸，0为原始大小
+     */
+    private int mBitmapTargetSize;
+    private boolean isBitmapAcquired = true;
+    /**
+     * 按下时所在的格，没有时为-1
+     */
+    private int mDownSlot = -1;
+    private OnSlotClickListener mOnSlotClickListener;
+
+    public ThumbsBar(Context context) {
+        this(context, null);
+    }
+
+    public ThumbsBar(Context context, @Nullable AttributeSet attrs) {
+        this(context, attrs, 0);
+    }
+
+    public ThumbsBar(Context context, @Nullable AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+        mTouchSlop = ViewConfiguration.get(context).getScaledTouchSlop();
+        setClickable(true);
+        TypedArray ta = context.obtainStyledAttributes(attrs, R.styleable.ThumbsBar);
+        mFormatter = new CountFormatter(ta.getInt(R.styleable.ThumbsBar_countStyle, CountFormatter.STYLE_FULL));
+        mContentPx = ta.getDimensionPixelOffset(R.styleable.ThumbsBar_contentSize,
+                ViewUtil.dp2px(context, ThumbsView.CONTENT_DEFAULT_DP));
+        int colorRes = ta.getResourceId(R.styleable.ThumbsBar_contentColor, R.color.thumbs_text_color);
+        mContentColor = ContextCompat.getColor(context, colorRes);
+        ta.recycle();
+        mTextPaint = ThumbsView.obtainTextPaint(mContentPx, mContentColor);
+        mJumpText = new JumpTextPainter(mTextPaint);
+        mMaxDigitWidth = ThumbsLayout.measureMaxDigitWidth(mTextMeasurer);
+        if (sIconPaint == null) {
+            sIconPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        }
+    }
+
+    /**
+     * 在最右侧添加一格
+     *
+     * @param iconResId         图片资源ID
+     * @param selectedIconResId 选中后的图片资源ID，为0时选中后仍使用未选中的图片
+     * @param count             计数
+     * @return 格的序号
+     */
+    public int addSlot(int iconResId, int selectedIconResId, long count) {
+        Slot slot = new Slot(mSlots.size(), iconResId, selectedIconResId, mTouchSlop);
+        if (isBitmapAcquired) {
+            slot.acquire(this, mBitmapTargetSize);
+        }
+        //按原始大小测量，与解码的目标尺寸无关
+        BitmapCache cache = BitmapCache.getInstance();
+        Bitmap natural = cache.acquire(getResources(), iconResId, 0);
+        slot.naturalSize = Math.max(natural.getWidth(), natural.getHeight());
+        cache.release(natural);
+        mSlots.add(slot);
+        refreshCount(slot, Math.max(count, 0), false);
+        //格宽均分，其余格的位置随之变化
+        updateSlotLayouts();
+        requestLayout();
+        invalidate();
+        return mSlots.size() - 1;
+    }
+
+    /**
+     * 获取格数
+     *
+     * @return 格数
+     */
+    public int getSlotCount() {
+        return mSlots.size();
+    }
+
+    /**
+     * 获取某一格的计数
+     *
+     * @param slot 格的序号
+     * @return 计数
+     */
+    public long getCount(int slot) {
+        return mSlots.get(slot).count;
+    }
+
+    /**
+     * 设置某一格的计数
+     *
+     * @param slot    格的序号
+     * @param count   计数
+     * @param animate 是否从当前计数跳动到新计数
+     */
+    public void setCount(int slot, long count, boolean animate) {
+        Slot s = mSlots.get(slot);
+        count = Math.max(count, 0);
+        if (count == s.count) {
+            return;
+        }
+        refreshCount(s, count, animate);
+        if (animate) {
+            startSlot(s, false);
+        } else {
+            invalidate();
+        }
+    }
+
+    /**
+     * 某一格是否选中
+     *
+     * @param slot 格的序号
+     * @return 是否选中
+     */
+    public boolean isSelected(int slot) {
+        return mSlots.get(slot).isSelected;
+    }
+
+    /**
+     * 设置某一格的选中状态，图片随之切换
+     *
+     * @param slot     格的序号
+     * @param selected 是否选中
+     * @param animate  是否播放图片伸缩动画
+     */
+    public void setSelected(int slot, boolean selected, boolean animate) {
+        Slot s = mSlots.get(slot);
+        if (selected == s.isSelected) {
+            return;
+        }
+        s.isSelected = selected;
+        if (selected && isBitmapAcquired) {
+            s.acquireSelected(this, mBitmapTargetSize);
+        }
+        updateSlotLayout(s);
+        if (animate) {
+            startSlot(s, true);
+        } else {
+            invalidate();
+        }
+    }
+
+    /**
+     * 选中/取消选中并将计数加减1，同时播放图片伸缩和计数跳动动画
+     *
+     * @param slot     格的序号
+     * @param selected 是否选中
+     */
+    public void toggle(int slot, boolean selected) {
+        Slot s = mSlots.get(slot);
+        if (selected == s.isSelected) {
+            return;
+        }
+        long count = selected ? s.count + 1 : Math.max(s.count - 1, 0);
+        s.isSelected = selected;
+        if (selected && isBitmapAcquired) {
+            s.acquireSelected(this, mBitmapTargetSize);
+        }
+        refreshCount(s, count, true);
+        startSlot(s, true);
+    }
+
+    /**
+     * 设置点击某一格的回调
+     *
+     * @param listener 回调，为null时不回调
+     */
+    public void setOnSlotClickListener(OnSlotClickListener listener) {
+        mOnSlotClickListener = listener;
+    }
+
+    /**
+     * 获取正在播放动画的格数
+     *
+     * @return 格数
+     */
+    public int getAnimatingSlotCount() {
+        int animating = 0;
+        for (int i = 0; i < mSlots.size(); i++) {
+            if (mSlots.get(i).isAnimating) {
+                animating++;
+            }
+        }
+        return animating;
+    }
+
+    /**
+     * 更新某一格的计数文字，逐位比较的结果在此一次算好
+     *
+     * @param slot   格
+     * @param count  计数
+     * @param isJump 是否从当前文字跳动到新文字
+     */
+    private void refreshCount(Slot slot, long count, boolean isJump) {
+        boolean up = count >= slot.count;
+        slot.count = count;
+        int length = mFormatter.format(count);
+        char[] chars = mFormatter.getChars();
+        if (isJump) {
+            slot.diff.compute(slot.content, slot.contentLength, chars, length, up);
+            mJumpText.ensureJumpPaints();
+        } else {
+            slot.diff.compute(chars, length, chars, length, up);
+        }
+        if (slot.content.length < length) {
+            slot.content = new char[length];
+        }
+        System.arraycopy(chars, 0, slot.content, 0, length);
+        slot.contentLength = length;
+        slot.jumpProgress = isJump ? 0f : 1f;
+        float stableWidth = ThumbsLayout.measureStableWidth(slot.content, length, mMaxDigitWidth, mTextMeasurer);
+        if (stableWidth != slot.stableWidth) {
+            slot.stableWidth = stableWidth;
+            if (getLayoutParams() != null && getLayoutParams().width == ViewGroup.LayoutParams.WRAP_CONTENT) {
+                requestLayout();
+            }
+        }
+        updateSlotLayout(slot);
+    }
+
+    /**
+     * 从头开始播放某一格的动画，计时器未运行时启动，其余格的动画不受影响
+     *
+     * @param slot  格
+     * @param scale 是否播放图片伸缩动画，否则只滚动计数
+     */
+    private void startSlot(Slot slot, boolean scale) {
+        if (mAnimator == null) {
+            mAnimator = new TimeAnimator();
+            mAnimator.setTimeListener(new TimeAnimator.TimeListener() {
+                @Override
+                public void onTimeUpdate(TimeAnimator animation, long totalTime, long deltaTime) {
+                    onAnimationFrame(totalTime);
+                }
+            });
+        }
+        if (!mAnimator.isStarted()) {
+            mAnimatorTime = 0;
+            mAnimator.start();
+        }
+        //之前的图片伸缩动画未结束时保留，直到本次动画结束
+        slot.isScaleAnimation = scale || (slot.isAnimating && slot.isScaleAnimation);
+        slot.isAnimating = true;
+        slot.startTime = mAnimatorTime;
+        applySlot(slot, 0f);
+        invalidate();
+    }
+
+    /**
+     * 每帧按各格的开始时间计算进度，所有格的动画都结束后停止计时器
+     *
+     * @param totalTime 计时器开始后经过的时间（毫秒）
+     */
+    private void onAnimationFrame(long totalTime) {
+        mAnimatorTime = totalTime;
+        boolean running = false;
+        for (int i = 0; i < mSlots.size(); i++) {
+            Slot slot = mSlots.get(i);
+            if (!slot.isAnimating) {
+                continue;
+            }
+            float progress = Math.min(1f, (float) (totalTime - slot.startTime) / ThumbsTimeline.DURATION);
+            applySlot(slot, progress);
+            if (progress >= 1f) {
+                slot.isAnimating = false;
+            } else {
+                running = true;
+            }
+        }
+        invalidate();
+        if (!running) {
+            mAnimator.end();
+        }
+    }
+
+    private void applySlot(Slot slot, float progress) {
+        mTimeline.apply(progress);
+        slot.jumpProgress = mTimeline.getJumpProgress();
+        slot.scale = slot.isScaleAnimation ? mTimeline.getScaleOff() : 1f;
+    }
+
+    /**
+     * 结束所有动画，各格直接到结束状态
+     */
+    private void endAnimation() {
+        if (mAnimator != null && mAnimator.isStarted()) {
+            mAnimator.cancel();
+        }
+        for (int i = 0; i < mSlots.size(); i++) {
+            Slot slot = mSlots.get(i);
+            if (slot.isAnimating) {
+                slot.isAnimating = false;
+                applySlot(slot, 1f);
+            }
+        }
+    }
+
+    /**
+     * 各格宽度为图片、间距和计数的稳定宽度之和，高度为图片上下各留出20像素，都按图片的原始大小计算
+     */
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int width = getPaddingLeft() + getPaddingRight();
+        int naturalSize = 0;
+        for (int i = 0; i < mSlots.size(); i++) {
+            Slot slot = mSlots.get(i);
+            width += slot.naturalSize + ThumbsLayout.TEXT_GAP + (int) Math.ceil(slot.stableWidth);
+            naturalSize = Math.max(naturalSize, slot.naturalSize);
+        }
+        int height = getPaddingTop() + getPaddingBottom() + naturalSize + 40;
+        setMeasuredDimension(resolveSize(Math.max(width, getSuggestedMinimumWidth()), widthMeasureSpec),
+                resolveSize(Math.max(height, getSuggestedMinimumHeight()), heightMeasureSpec));
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        //图片上下各留出20像素，放不下时按可用高度解码
+        int naturalSize = 0;
+        for (int i = 0; i < mSlots.size(); i++) {
+            naturalSize = Math.max(naturalSize, mSlots.get(i).naturalSize);
+        }
+        int available = h - getPaddingTop() - getPaddingBottom() - 40;
+        int targetSize = available > 0 && available < naturalSize ? available : 0;
+        if (targetSize != mBitmapTargetSize) {
+            boolean acquired = isBitmapAcquired;
+            if (acquired) {
+                releaseBitmaps();
+            }
+            mBitmapTargetSize = targetSize;
+            if (acquired) {
+                acquireBitmaps();
+            }
+        }
+        updateSlotLayouts();
+    }
+
+    private void updateSlotLayouts() {
+        for (int i = 0; i < mSlots.size(); i++) {
+            updateSlotLayout(mSlots.get(i));
+        }
+    }
+
+    /**
+     * 计算某一格的文字宽度、图片和文字的绘制位置以及点击区域，格宽为内容区域均分，位置都相对格的左边界
+     *
+     * @param slot 格
+     */
+    private void updateSlotLayout(Slot slot) {
+        if (slot.icon == null) {
+            return;
+        }
+        int count = mSlots.size();
+        int index = slot.index;
+        int contentWidth = getWidth() - getPaddingLeft() - getPaddingRight();
+        slot.left = getPaddingLeft() + contentWidth * index / count;
+        slot.right = getPaddingLeft() + contentWidth * (index + 1) / count;
+        Bitmap bitmap = slot.getBitmap();
+        slot.layout.measureText(slot.content, slot.contentLength, slot.diff, mTextMeasurer);
+        slot.layout.layout(slot.right - slot.left, getHeight(), bitmap.getWidth(), bitmap.getHeight());
+        ThumbsView.updateHitRegion(slot.tapDetector, slot.layout, bitmap, mContentPx);
+    }
+
+    private void acquireBitmaps() {
+        for (int i = 0; i < mSlots.size(); i++) {
+            mSlots.get(i).acquire(this, mBitmapTargetSize);
+        }
+        isBitmapAcquired = true;
+    }
+
+    private void releaseBitmaps() {
+        for (int i = 0; i < mSlots.size(); i++) {
+            mSlots.get(i).release();
+        }
+        isBitmapAcquired = false;
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        if (!isBitmapAcquired) {
+            acquireBitmaps();
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        endAnimation();
+        releaseBitmaps();
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        super.onDraw(canvas);
+        if (!isBitmapAcquired) {
+            return;
+        }
+        for (int i = 0; i < mSlots.size(); i++) {
+            drawSlot(canvas, mSlots.get(i));
+        }
+    }
+
+    /**
+     * 绘制某一格的图片和计数
+     *
+     * @param canvas 绘制幕
+     * @param slot   格
+     */
+    private void drawSlot(Canvas canvas, Slot slot) {
+        Bitmap bitmap = slot.getBitmap();
+        ThumbsLayout layout = slot.layout;
+        int bitmapLeft = slot.left + layout.getBitmapLeft();
+        int bitmapTop = layout.getBitmapTop();
+        if (slot.scale != 1f) {
+            canvas.save();
+            canvas.scale(slot.scale, slot.scale, bitmapLeft + bitmap.getWidth() / 2, bitmapTop + bitmap.getHeight() / 2);
+            canvas.drawBitmap(bitmap, bitmapLeft, bitmapTop, sIconPaint);
+            canvas.restore();
+        } else {
+            canvas.drawBitmap(bitmap, bitmapLeft, bitmapTop, sIconPaint);
+        }
+        float textLeft = slot.left + layout.getTextLeft();
+        float textTop = layout.getTextTop();
+        DigitDiff diff = slot.diff;
+        canvas.drawText(slot.content, 0, diff.getPrefixLength(), textLeft, textTop, mTextPaint);
+        mJumpText.drawColumns(canvas, diff, layout, textLeft, textTop, slot.jumpProgress, true);
+    }
+
+    /**
+     * 获取某一位置所在的格
+     *
+     * @param x X坐标
+     * @return 格的序号，不在任何格内时为-1
+     */
+    public int getSlotAt(float x) {
+        for (int i = 0; i < mSlots.size(); i++) {
+            Slot slot = mSlots.get(i);
+            if (x >= slot.left && x < slot.right) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 在某一格的点击区域内按下、移动不超过触摸阈值并在该区域内抬起才算点击；父View开始滑动时收到取消，不算点击
+     */
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        float x = event.getX();
+        float y = event.getY();
+        int action = event.getActionMasked();
+        if (action == MotionEvent.ACTION_DOWN) {
+            mDownSlot = getSlotAt(x);
+        }
+        if (mDownSlot < 0) {
+            //不在任何格内按下时不消费，交给父View处理
+            return action != MotionEvent.ACTION_DOWN && super.onTouchEvent(event);
+        }
+        Slot slot = mSlots.get(mDownSlot);
+        //各格的点击区域相对格的左边界
+        float slotX = x - slot.left;
+        switch (action) {
+            case MotionEvent.ACTION_DOWN:
+                //格内点击区域外的按下同样不消费
+                if (!slot.tapDetector.onDown(slotX, y)) {
+                    mDownSlot = -1;
+                    return false;
+                }
+                return true;
+            case MotionEvent.ACTION_MOVE:
+                slot.tapDetector.onMove(slotX, y);
+                return true;
+            case MotionEvent.ACTION_UP:
+                mDownSlot = -1;
+                if (slot.tapDetector.onUp(slotX, y)) {
+                    performSlotClick(slot.index);
+                }
+                return true;
+            case MotionEvent.ACTION_CANCEL:
+                mDownSlot = -1;
+                slot.tapDetector.onCancel();
+                return true;
+            default:
+                return super.onTouchEvent(event);
+        }
+    }
+
+    /**
+     * 点击某一格，没有设置回调时切换该格的选中状态
+     *
+     * @param slot 格的序号
+     */
+    public void performSlotClick(int slot) {
+        performClick();
+        if (mOnSlotClickListener != null) {
+            mOnSlotClickListener.onSlotClick(this, slot);
+        } else {
+            toggle(slot, !isSelected(slot));
+        }
+    }
+
+    /**
+     * 一格的状态：图片、计数文字、布局结果和动画进度
+     */
+    private static final class Slot {
+        final int index;
+        final int iconResId;
+        final int selectedIconResId;
+        final DigitDiff diff = new DigitDiff();
+        final ThumbsLayout layout = new ThumbsLayout();
+        /**
+         * 识别点击，点击区域相对格的左边界
+         */
+        final TapDetector tapDetector;
+        Bitmap icon;
+        /**
+         * 选中后的图片，第一次选中时获取
+         */
+        Bitmap selectedIcon;
+        int naturalSize;
+        long count;
+        boolean isSelected;
+        char[] content = new char[0];
+        int contentLength;
+        float stableWidth = -1f;
+        int left;
+        int right;
+        boolean isAnimating;
+        boolean isScaleAnimation;
+        long startTime;
+        float jumpProgress = 1f;
+        float scale = 1f;
+
+        Slot(int index, int iconResId, int selectedIconResId, int touchSlop) {
+            this.index = index;
+            this.iconResId = iconResId;
+            this.selectedIconResId = selectedIconResId;
+            tapDetector = new TapDetector(touchSlop);
+        }
+
+        Bitmap getBitmap() {
+            return isSelected && selectedIcon != null ? selectedIcon : icon;
+        }
+
+        void acquire(View view, int targetSize) {
+            icon = BitmapCache.getInstance().acquire(view.getResources(), iconResId, targetSize);
+            if (isSelected) {
+                acquireSelected(view, targetSize);
+            }
+        }
+
+        void acquireSelected(View view, int targetSize) {
+            if (selectedIcon == null && selectedIconResId != 0) {
+                selectedIcon = BitmapCache.getInstance().acquire(view.getResources(), selectedIconResId, targetSize);
+            }
+        }
+
+        void release() {
+            BitmapCache cache = BitmapCache.getInstance();
+            if (icon != null) {
+                cache.release(icon);
+                icon = null;
+            }
+            if (selectedIcon != null) {
+                cache.release(selectedIcon);
+                selectedIcon = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.skin.thumbsdemo;
+
+import android.content.Context;
+import android.support.annotation.Nullable;
+import android.util.AttributeSet;
+import android.view.View;
+import android.view.ViewGroup;
+
+/**
+ * 分层绘制{@link ThumbsView}的容器
+ * <p>
+ * 放入一个ThumbsView后，其点赞图片、两个圆圈、不动部分文字和每个跳动字符各由容器的一个子View绘制，
+ * 各自有独立的显示列表，ThumbsView本身不再绘制，测量、点击、无障碍和点赞状态仍由它处理。
+ * 动画仍在主线程驱动：点赞图片的缩放、圆圈的透明度和只跳一步的字符交给{@link android.view.ViewPropertyAnimator}，
+ * 每帧只设置图层属性；外圈圆圈的半径和跳多步的字符由时间轴逐帧设置，只重新记录变化的那一层。
+ * 减少的是动画每帧重新记录显示列表的开销，主线程被阻塞时动画同样会停顿。
+ * 不支持帧图、文字缓存和粒子，效果档位只使用去掉圆圈和不播放动画两档。
+ * 只能放入一个ThumbsView，放入后不支持移除。
+ * Created by wangcheng on 2026/10/17.
+ */
+public class ThumbsLayerLayout extends ViewGroup {
+
+    private ThumbsView mThumbsView;
+
+    public ThumbsLayerLayout(Context context) {
+        this(context, null);
+    }
+
+    public ThumbsLayerLayout(Context context, @Nullable AttributeSet attrs) {
+        this(context, attrs, 0);
+    }
+
+    public ThumbsLayerLayout(Context context, @Nullable AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+    }
+
+    /**
+     * 放入ThumbsView时在其后添加各层，其他子View（各层）直接添加
+     */
+    @Override
+    public void addView(View child, int index, LayoutParams params) {
+        if (!(child instanceof ThumbsView)) {
+            super.addView(child, index, params);
+            return;
+        }
+        if (mThumbsView != null) {
+            throw new IllegalStateException("ThumbsLayerLayout can host only one ThumbsView");
+        }
+        super.addView(child, index, params);
+        mThumbsView = (ThumbsView) child;
+        mThumbsView.attachLayers(this);
+    }
+
+    /**
+     * 获取放入的ThumbsView
+     *
+     * @return ThumbsView，未放入时为null
+     */
+    public ThumbsView getThumbsView() {
+        return mThumbsView;
+    }
+
+    /**
+     * 获取各层重新记录显示列表的次数，动画过程中只在外圈圆圈改变半径和跳动字符换到下一个数字时增加
+     *
+     * @return 次数，未放入ThumbsView时为0
+     */
+    public long getLayerInvalidateCount() {
+        return mThumbsView == null ? 0 : mThumbsView.getLayerInvalidateCount();
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int width = getPaddingLeft() + getPaddingRight();
+        int height = getPaddingTop() + getPaddingBottom();
+        if (mThumbsView != null) {
+            measureChild(mThumbsView, widthMeasureSpec, heightMeasureSpec);
+            width += mThumbsView.getMeasuredWidth();
+            height += mThumbsView.getMeasuredHeight();
+        }
+        setMeasuredDimension(resolveSize(Math.max(width, getSuggestedMinimumWidth()), widthMeasureSpec),
+                resolveSize(Math.max(height, getSuggestedMinimumHeight()), heightMeasureSpec));
+    }
+
+    /**
+     * 只布局ThumbsView，各层在ThumbsView布局时放到相同的位置
+     */
+    @Override
+    protected void onLayout(boolean changed, int l, int t, int r, int b) {
+        if (mThumbsView == null) {
+            return;
+        }
+        int left = getPaddingLeft();
+        int top = getPaddingTop();
+        mThumbsView.layout(left, top, left + mThumbsView.getMeasuredWidth(), top + mThumbsView.getMeasuredHeight());
+    }
+}
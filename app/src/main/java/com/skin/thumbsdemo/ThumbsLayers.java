@@ -0,0 +1,548 @@
+package com.skin.thumbsdemo;
+
+import android.animation.TimeInterpolator;
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewPropertyAnimator;
+import android.view.animation.AccelerateDecelerateInterpolator;
+
+/**
+ * {@link ThumbsView}放入{@link ThumbsLayerLayout}时由容器承载的各层
+ * <p>
+ * 点赞图片、外圈的圆圈、点击处的圆圈、不动部分文字和每个跳动字符各是容器的一个子View，各自有独立的显示列表，
+ * 与ThumbsView在容器中的位置相同，按ThumbsView的坐标绘制。
+ * 点赞图片的缩放、圆圈的透明度和只跳一步的字符的平移、透明度交给{@link ViewPropertyAnimator}，
+ * 每帧在主线程只设置图层属性，不重新记录显示列表。
+ * 外圈圆圈按半径扩大而不是缩放图层，线宽保持不变，每帧只重新记录这一个圆；
+ * 跳多步的字符由主线程的时间轴逐帧设置属性，只在换到下一个数字时重新记录该字符。
+ * 只在主线程使用。
+ * Created by wangcheng on 2026/10/17.
+ */
+final class ThumbsLayers {
+
+    /**
+     * 点赞图片伸缩的最小比例，与{@link ThumbsTimeline}的关键帧一致
+     */
+    private static final float ICON_MIN_SCALE = 0.8f;
+
+    private final ViewGroup mHost;
+    /**
+     * 各层在容器中的位置，与ThumbsView相同
+     */
+    private int mLeft;
+    private int mTop;
+    private int mRight;
+    private int mBottom;
+    /**
+     * 点赞图片层
+     */
+    private final IconLayer mIconLayer;
+    /**
+     * 不动部分文字层
+     */
+    private final PrefixLayer mPrefixLayer;
+    /**
+     * 点赞图片外圈的圆圈层
+     */
+    private final CircleLayer mRingLayer;
+    /**
+     * 点击处的圆圈层
+     */
+    private final CircleLayer mClickLayer;
+    /**
+     * 每列离开和进入的跳动字符层，按列数增加，不减少
+     */
+    private GlyphLayer[] mOutGlyphs = new GlyphLayer[0];
+    private GlyphLayer[] mInGlyphs = new GlyphLayer[0];
+    /**
+     * 绘制圆圈的画笔，不透明，透明度由图层的绘制属性控制
+     */
+    private final Paint mCirclePaint;
+    /**
+     * 点赞数文字画笔，不透明，透明度由图层的绘制属性控制
+     */
+    private final Paint mTextPaint;
+    /**
+     * 点赞数的字符，与{@link ThumbsView}共用
+     */
+    private char[] mContentChars;
+    /**
+     * 外圈圆圈半径默认值
+     */
+    private float mRingRadiusDefault;
+    /**
+     * 各层重新记录显示列表的次数
+     */
+    private long mInvalidateCount;
+    /**
+     * 是否正在播放属性动画，播放期间只跳一步的字符不由主线程设置
+     */
+    private boolean isPropertyAnimating;
+    /**
+     * 计算点赞图片伸缩插值的时间轴，只在主线程使用
+     */
+    private final ThumbsTimeline mScaleTimeline = new ThumbsTimeline();
+    /**
+     * 点赞图片 1-0.8-1 的伸缩，换算为从1到{@link #ICON_MIN_SCALE}的插值，结束时回到0
+     */
+    private final TimeInterpolator mIconScaleInterpolator = new TimeInterpolator() {
+        @Override
+        public float getInterpolation(float input) {
+            mScaleTimeline.apply(input * ThumbsTimeline.MAIN_DURATION / ThumbsTimeline.DURATION);
+            return (1f - mScaleTimeline.getScaleOff()) / (1f - ICON_MIN_SCALE);
+        }
+    };
+    /**
+     * 与{@link ThumbsTimeline}中跳动文字和圆圈透明度的插值一致
+     */
+    private final TimeInterpolator mAccelerateDecelerate = new AccelerateDecelerateInterpolator();
+
+    /**
+     * @param host      承载各层的容器，后添加的层绘制在上方
+     * @param textPaint 点赞数文字画笔
+     * @param color     圆圈颜色
+     */
+    ThumbsLayers(ViewGroup host, Paint textPaint, int color) {
+        mHost = host;
+        mTextPaint = textPaint;
+        mCirclePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        mCirclePaint.setStrokeWidth(ThumbsView.CIRCLE_STROKE_WIDTH);
+        mCirclePaint.setColor(color);
+        mCirclePaint.setStyle(Paint.Style.STROKE);
+        Context context = host.getContext();
+        mIconLayer = addLayer(new IconLayer(context));
+        mPrefixLayer = addLayer(new PrefixLayer(context));
+        mRingLayer = addLayer(new CircleLayer(context));
+        mClickLayer = addLayer(new CircleLayer(context));
+        mRingLayer.setAlpha(0f);
+        mClickLayer.setAlpha(0f);
+    }
+
+    private <T extends View> T addLayer(T layer) {
+        layer.setImportantForAccessibility(View.IMPORTANT_FOR_ACCESSIBILITY_NO);
+        mHost.addView(layer);
+        if (mRight > mLeft) {
+            //已布局过时直接放到ThumbsView的位置，不再等待下一次布局
+            layoutLayer(layer);
+        }
+        return layer;
+    }
+
+    /**
+     * 各层放到ThumbsView在容器中的位置
+     *
+     * @param left   左边
+     * @param top    上边
+     * @param right  右边
+     * @param bottom 下边
+     */
+    void layout(int left, int top, int right, int bottom) {
+        mLeft = left;
+        mTop = top;
+        mRight = right;
+        mBottom = bottom;
+        layoutLayer(mIconLayer);
+        layoutLayer(mPrefixLayer);
+        layoutLayer(mRingLayer);
+        layoutLayer(mClickLayer);
+        for (int column = 0; column < mOutGlyphs.length; column++) {
+            layoutLayer(mOutGlyphs[column]);
+            layoutLayer(mInGlyphs[column]);
+        }
+    }
+
+    private void layoutLayer(View layer) {
+        layer.measure(View.MeasureSpec.makeMeasureSpec(mRight - mLeft, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(mBottom - mTop, View.MeasureSpec.EXACTLY));
+        layer.layout(mLeft, mTop, mRight, mBottom);
+    }
+
+    /**
+     * 获取各层重新记录显示列表的次数
+     *
+     * @return 次数
+     */
+    long getInvalidateCount() {
+        return mInvalidateCount;
+    }
+
+    /**
+     * 更新点赞图片层，只在点赞状态、图片或位置变化时重新记录
+     *
+     * @param bitmap  点赞图片
+     * @param overlay 叠加图片，为null时不绘制
+     * @param paint   绘制点赞图片的画笔
+     * @param left    绘制左边距
+     * @param top     绘制上边距
+     */
+    void updateIcon(Bitmap bitmap, Bitmap overlay, Paint paint, int left, int top) {
+        mIconLayer.setPivotX(left + bitmap.getWidth() / 2);
+        mIconLayer.setPivotY(top + bitmap.getHeight() / 2);
+        mIconLayer.update(bitmap, overlay, paint, left, top);
+    }
+
+    /**
+     * 更新外圈圆圈的圆心和默认半径
+     *
+     * @param cx            圆心X
+     * @param cy            圆心Y
+     * @param radiusDefault 默认半径
+     */
+    void updateRing(float cx, float cy, float radiusDefault) {
+        mRingRadiusDefault = radiusDefault;
+        mRingLayer.update(cx, cy, radiusDefault);
+    }
+
+    /**
+     * 更新不动部分文字和跳动字符的位置，只在点赞数或尺寸变化时调用
+     *
+     * @param chars  点赞数的字符
+     * @param diff   逐位比较结果
+     * @param layout 已计算好的绘制位置
+     */
+    void updateText(char[] chars, DigitDiff diff, ThumbsLayout layout) {
+        mContentChars = chars;
+        int columnCount = diff.getColumnCount();
+        ensureGlyphLayers(columnCount);
+        mPrefixLayer.update(diff.getPrefixLength(), layout.getTextLeft(), layout.getTextTop());
+        for (int column = 0; column < columnCount; column++) {
+            float x = layout.getTextLeft() + layout.getColumnX(column);
+            mOutGlyphs[column].setPosition(x, layout.getTextTop());
+            mInGlyphs[column].setPosition(x, layout.getTextTop());
+        }
+    }
+
+    /**
+     * 跳动字符层不够时添加，已有的层保留给之后复用
+     *
+     * @param columnCount 跳动的列数
+     */
+    private void ensureGlyphLayers(int columnCount) {
+        int old = mOutGlyphs.length;
+        if (columnCount <= old) {
+            return;
+        }
+        GlyphLayer[] outGlyphs = new GlyphLayer[columnCount];
+        GlyphLayer[] inGlyphs = new GlyphLayer[columnCount];
+        System.arraycopy(mOutGlyphs, 0, outGlyphs, 0, old);
+        System.arraycopy(mInGlyphs, 0, inGlyphs, 0, old);
+        for (int i = old; i < columnCount; i++) {
+            outGlyphs[i] = addLayer(new GlyphLayer(mHost.getContext()));
+            inGlyphs[i] = addLayer(new GlyphLayer(mHost.getContext()));
+            outGlyphs[i].setAlpha(0f);
+            inGlyphs[i].setAlpha(0f);
+        }
+        mOutGlyphs = outGlyphs;
+        mInGlyphs = inGlyphs;
+    }
+
+    /**
+     * 取消正在播放的属性动画，各层停在当前属性
+     */
+    void cancel() {
+        isPropertyAnimating = false;
+        mIconLayer.animate().cancel();
+        mRingLayer.animate().cancel();
+        mClickLayer.animate().cancel();
+        for (int column = 0; column < mOutGlyphs.length; column++) {
+            mOutGlyphs[column].animate().cancel();
+            mInGlyphs[column].animate().cancel();
+        }
+    }
+
+    /**
+     * 按时间轴直接设置所有层的属性，正在播放的属性动画被取消
+     *
+     * @param timeline 已按进度计算好的时间轴
+     * @param like     是否为点赞动画，否则只设置跳动字符
+     * @param rings    是否显示圆圈
+     * @param diff     逐位比较结果
+     */
+    void seek(ThumbsTimeline timeline, boolean like, boolean rings, DigitDiff diff) {
+        cancel();
+        if (like) {
+            mIconLayer.setScaleX(timeline.getScaleOff());
+            mIconLayer.setScaleY(timeline.getScaleOff());
+            mRingLayer.setRadius(mRingRadiusDefault * timeline.getBitmapCircleScale());
+            mRingLayer.setAlpha(rings ? timeline.getBitmapCircleAlpha() / 255f : 0f);
+            mClickLayer.setAlpha(rings ? timeline.getClickCircleAlpha() / 255f : 0f);
+        }
+        applyJump(diff, timeline.getJumpProgress(), false);
+    }
+
+    /**
+     * 从头开始播放，可交给{@link ViewPropertyAnimator}的属性在此一次设置好
+     *
+     * @param like   是否为点赞动画，否则只滚动跳动字符
+     * @param rings  是否显示圆圈
+     * @param diff   逐位比较结果
+     * @param clickX 点击处圆心X
+     * @param clickY 点击处圆心Y
+     */
+    void start(boolean like, boolean rings, DigitDiff diff, float clickX, float clickY) {
+        cancel();
+        if (like) {
+            mIconLayer.setScaleX(1f);
+            mIconLayer.setScaleY(1f);
+            animate(mIconLayer, ThumbsTimeline.MAIN_DURATION, 0, mIconScaleInterpolator)
+                    .scaleX(ICON_MIN_SCALE).scaleY(ICON_MIN_SCALE);
+            mRingLayer.setRadius(mRingRadiusDefault * 0.5f);
+            if (rings) {
+                mClickLayer.update(clickX, clickY, ThumbsView.CLICK_CIRCLE_RADIUS);
+                mClickLayer.setAlpha(1f);
+                animate(mClickLayer, ThumbsTimeline.MAIN_DURATION, 0, mAccelerateDecelerate).alpha(0f);
+                //外圈圆圈在伸缩结束后淡出
+                mRingLayer.setAlpha(1f);
+                animate(mRingLayer, ThumbsTimeline.FADE_DURATION, ThumbsTimeline.MAIN_DURATION, mAccelerateDecelerate)
+                        .alpha(0f);
+            } else {
+                mClickLayer.setAlpha(0f);
+                mRingLayer.setAlpha(0f);
+            }
+        }
+        isPropertyAnimating = true;
+        applyJump(diff, 0f, true);
+    }
+
+    private static ViewPropertyAnimator animate(View layer, long duration, long delay, TimeInterpolator interpolator) {
+        return layer.animate().setDuration(duration).setStartDelay(delay).setInterpolator(interpolator);
+    }
+
+    /**
+     * 主线程的动画帧，设置不能交给{@link ViewPropertyAnimator}的属性：外圈圆圈的半径和跳多步的字符
+     *
+     * @param timeline 已按进度计算好的时间轴
+     * @param like     是否为点赞动画
+     * @param diff     逐位比较结果
+     */
+    void onFrame(ThumbsTimeline timeline, boolean like, DigitDiff diff) {
+        if (like) {
+            mRingLayer.setRadius(mRingRadiusDefault * timeline.getBitmapCircleScale());
+        }
+        applyJump(diff, timeline.getJumpProgress(), false);
+    }
+
+    /**
+     * 按滚动进度设置跳动字符层的平移和透明度，字符不可见时透明度为0而不改变可见性，避免父View重新记录
+     *
+     * @param diff         逐位比较结果
+     * @param jumpProgress 滚动进度，0为变化前的文字，1为变化后的文字
+     * @param start        是否为动画开始，是则只跳一步的列交给属性动画
+     */
+    void applyJump(DigitDiff diff, float jumpProgress, boolean start) {
+        int columnCount = diff.getColumnCount();
+        //增加时文字向上离开、从下方进入，减少时相反
+        float direction = diff.isUp() ? -1f : 1f;
+        for (int column = 0; column < mOutGlyphs.length; column++) {
+            GlyphLayer out = mOutGlyphs[column];
+            GlyphLayer in = mInGlyphs[column];
+            if (column >= columnCount) {
+                out.setAlpha(0f);
+                in.setAlpha(0f);
+                continue;
+            }
+            int steps = diff.getSteps(column);
+            if (steps == 0) {
+                out.show(diff.getNewChar(column), 0f, 1f);
+                in.setAlpha(0f);
+                continue;
+            }
+            if (steps == 1 && start) {
+                out.show(diff.getGlyph(column, 0), 0f, 1f);
+                in.show(diff.getGlyph(column, 1), -direction * ThumbsView.MAX_JUMP, 0f);
+                animate(out, ThumbsTimeline.MAIN_DURATION, 0, mAccelerateDecelerate)
+                        .translationY(direction * ThumbsView.MAX_JUMP).alpha(0f);
+                animate(in, ThumbsTimeline.MAIN_DURATION, 0, mAccelerateDecelerate)
+                        .translationY(0f).alpha(1f);
+                continue;
+            }
+            if (steps == 1 && isPropertyAnimating) {
+                //由属性动画播放
+                continue;
+            }
+            float position = jumpProgress * steps;
+            int step = (int) position;
+            float fraction = position - step;
+            if (step >= steps) {
+                step = steps;
+                fraction = 0f;
+            }
+            out.show(diff.getGlyph(column, step), direction * fraction * ThumbsView.MAX_JUMP, 1f - fraction);
+            if (fraction > 0f) {
+                in.show(diff.getGlyph(column, step + 1), -direction * (1f - fraction) * ThumbsView.MAX_JUMP, fraction);
+            } else {
+                in.setAlpha(0f);
+            }
+        }
+    }
+
+    /**
+     * 点赞图片层，缩放中心为点赞图片中心
+     */
+    private class IconLayer extends View {
+
+        private Bitmap mBitmap;
+        private Bitmap mOverlay;
+        private Paint mPaint;
+        private int mLeft;
+        private int mTop;
+
+        IconLayer(Context context) {
+            super(context);
+        }
+
+        void update(Bitmap bitmap, Bitmap overlay, Paint paint, int left, int top) {
+            if (bitmap == mBitmap && overlay == mOverlay && paint == mPaint && left == mLeft && top == mTop) {
+                return;
+            }
+            mBitmap = bitmap;
+            mOverlay = overlay;
+            mPaint = paint;
+            mLeft = left;
+            mTop = top;
+            mInvalidateCount++;
+            invalidate();
+        }
+
+        @Override
+        protected void onDraw(Canvas canvas) {
+            if (mBitmap == null) {
+                return;
+            }
+            canvas.drawBitmap(mBitmap, mLeft, mTop, mPaint);
+            if (mOverlay != null) {
+                //叠加图片的位置与ThumbsView逐帧绘制时一致
+                canvas.drawBitmap(mOverlay, mLeft + 5, mTop - 20, mPaint);
+            }
+        }
+    }
+
+    /**
+     * 圆圈层，透明度由绘制属性控制；半径变化时重新记录，线宽不随半径变化
+     */
+    private class CircleLayer extends View {
+
+        private float mCx;
+        private float mCy;
+        private float mRadius;
+
+        CircleLayer(Context context) {
+            super(context);
+        }
+
+        void update(float cx, float cy, float radius) {
+            if (cx == mCx && cy == mCy && radius == mRadius) {
+                return;
+            }
+            mCx = cx;
+            mCy = cy;
+            mRadius = radius;
+            mInvalidateCount++;
+            invalidate();
+        }
+
+        void setRadius(float radius) {
+            update(mCx, mCy, radius);
+        }
+
+        /**
+         * 只有一个绘制操作，修改透明度时不需要离屏缓存
+         */
+        @Override
+        public boolean hasOverlappingRendering() {
+            return false;
+        }
+
+        @Override
+        protected void onDraw(Canvas canvas) {
+            canvas.drawCircle(mCx, mCy, mRadius, mCirclePaint);
+        }
+    }
+
+    /**
+     * 不动部分文字层，只在点赞数变化时重新记录
+     */
+    private class PrefixLayer extends View {
+
+        private int mLength;
+        private float mX;
+        private float mY;
+
+        PrefixLayer(Context context) {
+            super(context);
+        }
+
+        void update(int length, float x, float y) {
+            //点赞数变化时不动部分的字符可能不同，总是重新记录
+            mLength = length;
+            mX = x;
+            mY = y;
+            mInvalidateCount++;
+            invalidate();
+        }
+
+        @Override
+        protected void onDraw(Canvas canvas) {
+            if (mLength > 0) {
+                canvas.drawText(mContentChars, 0, mLength, mX, mY, mTextPaint);
+            }
+        }
+    }
+
+    /**
+     * 单个跳动字符层，平移和透明度由绘制属性控制，只在字符或位置变化时重新记录
+     */
+    private class GlyphLayer extends View {
+
+        private final char[] mGlyph = new char[]{DigitDiff.NONE};
+        private float mX;
+        private float mY;
+
+        GlyphLayer(Context context) {
+            super(context);
+        }
+
+        void setPosition(float x, float y) {
+            if (x == mX && y == mY) {
+                return;
+            }
+            mX = x;
+            mY = y;
+            mInvalidateCount++;
+            invalidate();
+        }
+
+        /**
+         * 显示字符
+         *
+         * @param glyph        字符，为{@link DigitDiff#NONE}时不绘制
+         * @param translationY 相对基线的偏移
+         * @param alpha        透明度，0~1
+         */
+        void show(char glyph, float translationY, float alpha) {
+            if (glyph != mGlyph[0]) {
+                mGlyph[0] = glyph;
+                mInvalidateCount++;
+                invalidate();
+            }
+            setTranslationY(translationY);
+            setAlpha(alpha);
+        }
+
+        @Override
+        public boolean hasOverlappingRendering() {
+            return false;
+        }
+
+        @Override
+        protected void onDraw(Canvas canvas) {
+            if (mGlyph[0] != DigitDiff.NONE) {
+                canvas.drawText(mGlyph, 0, 1, mX, mY, mTextPaint);
+            }
+        }
+    }
+}
@@ -1,25 +1,38 @@
 package com.skin.thumbsdemo;
 
-import android.animation.AnimatorSet;
-import android.animation.ObjectAnimator;
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
+import android.animation.ValueAnimator;
 import android.content.Context;
+import android.content.res.Resources;
 import android.content.res.TypedArray;
 import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.graphics.Canvas;
+import android.graphics.Color;
 import android.graphics.Paint;
-import android.graphics.PorterDuff;
-import android.graphics.PorterDuffXfermode;
-import android.graphics.RectF;
-import android.graphics.Xfermode;
+import android.graphics.Rect;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.os.Process;
+import android.os.Trace;
 import android.support.annotation.Nullable;
 import android.support.v4.content.ContextCompat;
-import android.text.TextUtils;
 import android.util.AttributeSet;
+import android.view.Choreographer;
+import android.view.Display;
 import android.view.MotionEvent;
 import android.view.View;
-import android.view.animation.DecelerateInterpolator;
-import android.view.animation.OvershootInterpolator;
+import android.view.ViewConfiguration;
+import android.view.ViewGroup;
+import android.view.animation.LinearInterpolator;
+
+import java.util.HashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 /**
  * 模仿即可点赞的View
@@ -36,30 +49,134 @@ public class ThumbsView extends View {
      * 跳动文字的最大距离
      */
     public static final float MAX_JUMP = 40f;
-    /**
-     * 跳动文字的最小距离
-     */
-    public static final float MIN_JUMP = 0f;
     /**
      * 点击时圆心的半径
      */
     public static final int CLICK_CIRCLE_RADIUS = 35;
+    /**
+     * 圆圈的线宽
+     */
+    static final int CIRCLE_STROKE_WIDTH = 5;
+    /**
+     * 未绑定数据项时的ID
+     */
+    public static final long NO_ITEM_ID = -1;
+    /**
+     * 不动部分文字缓存左右各留出的像素
+     */
+    private static final int PREFIX_PADDING = 2;
+    /**
+     * 粒子的直径
+     */
+    private static final int PARTICLE_SIZE = 6;
+    /**
+     * 粒子飞行的最大距离相对点赞图片外圈圆圈半径的倍数
+     */
+    private static final float PARTICLE_DISTANCE_SCALE = 1.6f;
+    /**
+     * 绘制点赞图片的画笔，绘制时不做修改，所有View共用
+     */
+    private static Paint sDrawablePaint;
+    /**
+     * 绘制不动部分文字的画笔，按文字大小和颜色共用
+     */
+    private static final HashMap<Long, Paint> sTextPaints = new HashMap<>();
+    /**
+     * 预热点赞图片的后台线程，第一次预热时创建
+     */
+    private static ExecutorService sPrewarmExecutor;
+    /**
+     * 绑定的数据项ID，其他线程通过{@link #postCount(long, long, boolean)}更新时读取
+     */
+    private volatile long mItemId = NO_ITEM_ID;
+    /**
+     * 其他线程更新的点赞数和点赞状态，每帧只应用最新的一次
+     */
+    private final CountMailbox mMailbox = new CountMailbox();
+    /**
+     * 主线程的Handler，其他线程通过它回到主线程注册帧回调。
+     * 不使用View的postOnAnimation：API 24之前View未附加到窗口时在其他线程post的任务会丢失，
+     * 信箱一直不为空，之后的更新不会再安排应用
+     */
+    private static final Handler sMainHandler = new Handler(Looper.getMainLooper());
+    /**
+     * 在下一帧应用其他线程更新的点赞数，同一帧内只取走一次
+     */
+    private final Choreographer.FrameCallback mApplyUpdateCallback = new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            applyPendingUpdate();
+        }
+    };
+    /**
+     * 在主线程注册{@link #mApplyUpdateCallback}，Choreographer属于各线程，只能在主线程获取
+     */
+    private final Runnable mScheduleUpdateRunnable = new Runnable() {
+        @Override
+        public void run() {
+            Choreographer choreographer = Choreographer.getInstance();
+            //信箱被清空后再次放入时可能已注册，一帧只回调一次
+            choreographer.removeFrameCallback(mApplyUpdateCallback);
+            choreographer.postFrameCallback(mApplyUpdateCallback);
+        }
+    };
+    /**
+     * 点赞状态变化的监听
+     */
+    private OnLikeChangedListener mOnLikeChangedListener;
+    /**
+     * 本地保存的点赞状态，为null时不保存
+     */
+    private LikeStateStore mLikeStateStore;
+    /**
+     * 合并本地点赞和服务端点赞数，为null时服务端点赞数直接覆盖
+     */
+    private LikeReconciler mLikeReconciler;
+    /**
+     * 最近一次本地点赞操作的序号
+     */
+    private long mLastLikeSequence = LikeReconciler.NO_ACK;
     /**
      * 点赞数
      */
-    private String mContent;
+    private long mCount;
+    /**
+     * 点赞数格式化工具
+     */
+    private CountFormatter mFormatter;
+    /**
+     * 点赞数的字符，绘制时按区间直接取用，避免每帧截取字符串
+     */
+    private char[] mContentChars = new char[0];
+    /**
+     * 点赞数的字符长度
+     */
+    private int mContentLength;
+    /**
+     * 点赞数变化前后的逐位比较结果
+     */
+    private DigitDiff mDigitDiff;
+    /**
+     * 文字宽度以及位图和文字的绘制位置
+     */
+    private final ThumbsLayout mLayout = new ThumbsLayout();
     /**
-     * 跳动的文字
+     * 用点赞数文字画笔测量文字宽度
      */
-    private String mJumpOutText;
+    private final ThumbsLayout.TextMeasurer mTextMeasurer = new ThumbsLayout.TextMeasurer() {
+        @Override
+        public float measureText(char[] text, int start, int count) {
+            return mTextPaint.measureText(text, start, count);
+        }
+    };
     /**
-     * 跳动的文字
+     * 最宽的数字的宽度
      */
-    private String mJumpInText;
+    private float mMaxDigitWidth;
     /**
-     * 跳动的文字的长度
+     * 点赞数的稳定宽度，测量View宽度时使用，位数和单位不变时不随点赞数变化
      */
-    private int mJumpTextLength;
+    private float mStableContentWidth = -1f;
     /**
      * 点赞数文字颜色
      */
@@ -81,17 +198,21 @@ public class ThumbsView extends View {
      */
     private Paint mBitmapCirclePaint;
     /**
-     * 绘制点赞数文字的画笔
-     */
-    private Paint mJumpOutTextPaint;
-    /**
-     * 绘制点赞数文字的画笔
+     * 绘制点赞数跳动部分的文字，与{@link ThumbsBar}共用
      */
-    private Paint mJumpInTextPaint;
+    private JumpTextPainter mJumpText;
     /**
      * 绘制点赞图片的画笔
      */
     private Paint mDrawablePaint;
+    /**
+     * 未点赞图片的着色，为0时按原图绘制，否则未点赞图片使用透明度遮罩按该颜色绘制
+     */
+    private int mIconTint;
+    /**
+     * 按着色绘制透明度遮罩的画笔
+     */
+    private Paint mIconTintPaint;
     /**
      * 未点赞的手势默认图片
      */
@@ -104,10 +225,6 @@ public class ThumbsView extends View {
      * 点赞后手势叠加的图片
      */
     private Bitmap mThumbsSelectedshiningBm;
-    /**
-     * 点赞后手势图片绘制区域
-     */
-    private RectF mBitmapRectF;
     /**
      * 图片的伸缩系数
      */
@@ -117,18 +234,75 @@ public class ThumbsView extends View {
      */
     private boolean isSelected;
     /**
-     * 以绘制的内容作为源图像，以 View 中已有的内容作为目标图像，选取一个 PorterDuff.Mode 作为绘制内容的颜色处理方案
+     * 是否使用软件绘制层，默认走硬件加速绘制
+     */
+    private boolean isSoftwareLayer;
+    /**
+     * 是否使用预先绘制的点赞动画帧图
+     */
+    private boolean isSpriteAnimation;
+    /**
+     * 正在播放的点赞动画帧图，为null时逐帧绘制
      */
-    private Xfermode mXfermode;
+    private SpriteCache.Sprite mSprite;
+    /**
+     * 是否按掉帧情况和省电模式自动降低动画效果
+     */
+    private boolean isAdaptiveQuality;
+    /**
+     * 当前动画使用的效果档位，动画开始时确定
+     */
+    private int mQualityTier = QualityGovernor.TIER_FULL;
+    /**
+     * 当前动画是否已计入共享的掉帧统计
+     */
+    private boolean isQualityMonitored;
+    /**
+     * 跳动数字的图集，为null时按文字绘制
+     */
+    private GlyphAtlas mGlyphAtlas;
+    /**
+     * 不动部分文字的缓存，点赞数变化时重新绘制
+     */
+    private Bitmap mPrefixBitmap;
+    private Canvas mPrefixCanvas;
+    /**
+     * 点赞时迸发的粒子，为null时不迸发
+     */
+    private ParticlePool mParticles;
+    /**
+     * 绘制粒子的画笔
+     */
+    private Paint mParticlePaint;
+    /**
+     * 放入{@link ThumbsLayerLayout}时由容器承载的各层，为null时在onDraw中逐帧绘制
+     */
+    private ThumbsLayers mLayers;
+    /**
+     * 当前的动画进度
+     */
+    private float mAnimationProgress = 1f;
 
     /**
-     * 跳动部分之前文字沿Y的偏移量
+     * 跳动文字的滚动进度，0为变化前的文字，1为变化后的文字
+     */
+    private float mJumpProgress = 1f;
+    /**
+     * 点赞动画的时间轴，由一个进度值计算所有动画属性
+     */
+    private ThumbsTimeline mTimeline;
+    /**
+     * 驱动时间轴的动画，每个View只创建一次，重复点击时取消后重新开始
+     */
+    private ValueAnimator mAnimator;
+    /**
+     * 当前动画是否为点赞动画，否则只滚动跳动文字
      */
-    private float mContentOutOffY;
+    private boolean isLikeAnimation;
     /**
-     * 跳动部分当前文字沿Y的偏移量
+     * 识别点击，只有点赞图片和点赞数范围内的点击才点赞
      */
-    private float mContentInOffY;
+    private TapDetector mTapDetector;
     /**
      * 点击时圆心的X轴位置
      */
@@ -137,6 +311,10 @@ public class ThumbsView extends View {
      * 点击时圆心的Y轴位置
      */
     private float clickY;
+    /**
+     * 下一次点赞动画是否由触摸点击引起，是则点击处的圆圈以触摸位置为圆心，否则以点赞图片中心为圆心
+     */
+    private boolean isTouchClick;
     /**
      * 点赞图片外圈的圆圈半径
      */
@@ -145,81 +323,283 @@ public class ThumbsView extends View {
      * 点赞图片外圈的圆圈半径默认值
      */
     private float mBitmapCircleRadiusDefault;
+    /**
+     * 点赞图片解码的目标尺寸，为0时按屏幕密度解码为原始大小
+     */
+    private int mBitmapTargetSize;
+    /**
+     * 点赞图片按屏幕密度解码时的原始大小
+     */
+    private int mBitmapNaturalSize;
+    /**
+     * 是否持有共享缓存中未点赞图片的引用，只在添加到窗口期间持有
+     */
+    private boolean isBitmapAcquired;
+    /**
+     * 是否持有点赞后的图片和叠加图片的引用，添加到窗口期间第一次切换到点赞状态时获取
+     */
+    private boolean isLikedBitmapAcquired;
+    /**
+     * 本次动画帧需要重绘的区域
+     */
+    private final Rect mDirtyRect = new Rect();
+    /**
+     * 已请求重绘但还未绘制的区域
+     */
+    private final Rect mPendingDirtyRect = new Rect();
+    /**
+     * 是否已请求重绘但还未绘制
+     */
+    private boolean isInvalidatePending;
+    /**
+     * 当前帧已请求重绘的次数
+     */
+    private int mInvalidatesThisFrame;
+    /**
+     * 单帧内请求重绘的最大次数
+     */
+    private int mMaxInvalidatesPerFrame;
+    /**
+     * 动画属性变化引起的重绘请求次数
+     */
+    private long mRedrawRequestCount;
+    /**
+     * 实际请求重绘的次数
+     */
+    private long mInvalidateCount;
+    /**
+     * 绘制次数
+     */
+    private long mDrawCount;
+    /**
+     * 绘制统计，为null时不统计
+     */
+    private ThumbsMetrics mMetrics;
+    /**
+     * 动画开始的时间（纳秒）
+     */
+    private long mAnimationStartNanos;
+    /**
+     * 动画开始时当前线程的对象分配次数
+     */
+    private int mAnimationStartAllocs;
+
+    /**
+     * 设置动画进度，所有动画属性都由该进度计算，可直接调用以定位到动画的任意时刻
+     *
+     * @param progress 动画进度，0~1，对应动画开始到结束
+     */
+    public void setAnimationProgress(float progress) {
+        mAnimationProgress = progress;
+        mTimeline.apply(progress);
+        mJumpProgress = mTimeline.getJumpProgress();
+        if (mLayers != null) {
+            //分层绘制时直接设置各层的绘制属性，本View不重绘
+            mLayers.seek(mTimeline, isLikeAnimation, mQualityTier < QualityGovernor.TIER_NO_RING, mDigitDiff);
+            return;
+        }
+        if (isLikeAnimation) {
+            mScaleOff = mTimeline.getScaleOff();
+            mCirclePaint.setAlpha(mTimeline.getClickCircleAlpha());
+            mBitmapCircleRadius = mBitmapCircleRadiusDefault * mTimeline.getBitmapCircleScale();
+            mBitmapCirclePaint.setAlpha(mTimeline.getBitmapCircleAlpha());
+        }
+        if (mParticles != null && mParticles.isActive()) {
+            mParticles.update(progress);
+        }
+        invalidateAnimationRegion();
+    }
 
     /**
-     * 设置跳动部分文字沿Y的偏移量
+     * 驱动时间轴的动画的一帧，分层绘制时只设置不能交给属性动画的属性
      *
-     * @param offY 跳动部分文字沿Y的偏移量
+     * @param progress 动画进度，0~1
      */
-    public void setTextOutY(float offY) {
-        mJumpOutText = StringUtil.getOldLastContent(isSelected, mContent);
-        mContentOutOffY = offY;
+    private void onAnimationFrame(float progress) {
+        if (mLayers == null) {
+            setAnimationProgress(progress);
+            return;
+        }
+        mAnimationProgress = progress;
+        mTimeline.apply(progress);
+        mJumpProgress = mTimeline.getJumpProgress();
+        mLayers.onFrame(mTimeline, isLikeAnimation, mDigitDiff);
+    }
+
+    /**
+     * 请求重绘，同一帧内的多次调用合并为一次
+     * <p>
+     * 硬件加速绘制（默认）时系统忽略重绘区域，整个View的显示列表都会重新记录，因此只合并请求、不计算区域；
+     * 只有开启软件绘制层时才只重绘动画涉及的区域，同一帧内只在区域扩大时再次请求重绘
+     */
+    private void invalidateAnimationRegion() {
+        mRedrawRequestCount++;
+        if (!isSoftwareLayer) {
+            if (!isMainThread()) {
+                postInvalidateOnAnimation();
+                return;
+            }
+            if (isInvalidatePending) {
+                return;
+            }
+            isInvalidatePending = true;
+            mInvalidateCount++;
+            mInvalidatesThisFrame++;
+            invalidate();
+            return;
+        }
+        computeDirtyRect(mDirtyRect);
+        if (!isMainThread()) {
+            //非主线程调用时跟随下一次垂直同步重绘
+            postInvalidateOnAnimation(mDirtyRect.left, mDirtyRect.top, mDirtyRect.right, mDirtyRect.bottom);
+            return;
+        }
+        if (isInvalidatePending) {
+            if (mPendingDirtyRect.contains(mDirtyRect)) {
+                return;
+            }
+            mPendingDirtyRect.union(mDirtyRect);
+        } else {
+            isInvalidatePending = true;
+            mPendingDirtyRect.set(mDirtyRect.left, mDirtyRect.top, mDirtyRect.right, mDirtyRect.bottom);
+        }
+        mInvalidateCount++;
+        mInvalidatesThisFrame++;
+        invalidate(mPendingDirtyRect.left, mPendingDirtyRect.top, mPendingDirtyRect.right, mPendingDirtyRect.bottom);
     }
 
     /**
-     * 设置跳动部分文字沿Y的偏移量
+     * 计算动画过程中所有帧的绘制范围：跳动文字所在的横条，点赞动画时再加上点赞图片及其圆圈和点击处的圆圈
      *
-     * @param offY 跳动部分文字沿Y的偏移量
+     * @param out 绘制范围
      */
-    public void setTextInY(float offY) {
-        mJumpInText = mContent.substring(mContent.length() - mJumpTextLength);
-        mContentInOffY = offY;
+    private void computeDirtyRect(Rect out) {
+        //变化前的文字位数较多时，多出的字符排在不动部分文字的左侧
+        float textLeft = mLayout.getTextLeft() + mLayout.getMinColumnX();
+        float textTop = mLayout.getTextTop();
+        out.set((int) textLeft - 1, (int) (textTop - mContentPx - MAX_JUMP), getWidth(),
+                (int) (textTop + mContentPx / 2 + MAX_JUMP) + 1);
+        if (!isLikeAnimation) {
+            return;
+        }
+        Bitmap bitmap = getThumbsBitmap();
+        if (bitmap == null) {
+            return;
+        }
+        int bitmapLeft = mLayout.getBitmapLeft();
+        int bitmapTop = mLayout.getBitmapTop();
+        //点赞图片回弹时会略微放大，叠加图片向上偏移20像素
+        int bitmapExtra = bitmap.getWidth() / 10;
+        out.union(bitmapLeft - bitmapExtra, bitmapTop - 20 - bitmapExtra,
+                bitmapLeft + bitmap.getWidth() + bitmapExtra, bitmapTop + bitmap.getHeight() + bitmapExtra);
+        int ringRadius = (int) mBitmapCircleRadiusDefault + CIRCLE_STROKE_WIDTH;
+        if (mParticles != null && mParticles.isActive()) {
+            ringRadius = Math.max(ringRadius, (int) mParticles.getDistance() + PARTICLE_SIZE);
+        }
+        int ringX = bitmapLeft + bitmap.getWidth() / 2;
+        int ringY = getHeight() / 2;
+        out.union(ringX - ringRadius, ringY - ringRadius, ringX + ringRadius, ringY + ringRadius);
+        int clickRadius = CLICK_CIRCLE_RADIUS + CIRCLE_STROKE_WIDTH;
+        out.union((int) clickX - clickRadius, (int) clickY - clickRadius,
+                (int) clickX + clickRadius, (int) clickY + clickRadius);
     }
 
     /**
-     * 设置弹出文字的透明度
+     * 获取动画属性变化引起的重绘请求次数
      *
-     * @param alpha 透明度
+     * @return 重绘请求次数
      */
-    public void setOutTextAlpha(int alpha) {
-        mJumpOutTextPaint.setAlpha(alpha);
+    public long getRedrawRequestCount() {
+        return mRedrawRequestCount;
     }
 
     /**
-     * 设置弹入文字的透明度
+     * 获取实际请求重绘的次数，同一帧内被合并的请求不计入
      *
-     * @param alpha 透明度
+     * @return 请求重绘的次数
      */
-    public void setInTextAlpha(int alpha) {
-        mJumpInTextPaint.setAlpha(alpha);
+    public long getInvalidateCount() {
+        return mInvalidateCount;
     }
 
     /**
-     * 设置图片的伸缩系数
+     * 获取绘制次数
      *
-     * @param scaleOff 图片的伸缩系数
+     * @return 绘制次数
      */
-    public void setScaleOff(float scaleOff) {
-        mScaleOff = scaleOff;
+    public long getDrawCount() {
+        return mDrawCount;
     }
 
     /**
-     * 设置点击处圆圈的透明度
+     * 获取单帧内请求重绘的最大次数
      *
-     * @param alpha 透明度
+     * @return 单帧内请求重绘的最大次数
+     */
+    public int getMaxInvalidatesPerFrame() {
+        return mMaxInvalidatesPerFrame;
+    }
+
+    /**
+     * 清空重绘统计
      */
-    public void setClickCircleAlpha(int alpha) {
-        mCirclePaint.setAlpha(alpha);
+    public void resetRedrawStats() {
+        mRedrawRequestCount = 0;
+        mInvalidateCount = 0;
+        mDrawCount = 0;
+        mMaxInvalidatesPerFrame = 0;
+        mInvalidatesThisFrame = 0;
     }
 
     /**
-     * 设置点赞图片圆圈的缩放系数
+     * 设置绘制统计，默认不统计
      *
-     * @param scale 透明度
+     * @param metrics 绘制统计，为null时停止统计
      */
-    public void setBitmapCircleScale(float scale) {
-        mBitmapCircleRadius = mBitmapCircleRadiusDefault * scale;
-        postInvalidate();
+    public void setMetrics(ThumbsMetrics metrics) {
+        if (metrics != null && metrics.isTrackAllocations()) {
+            //对象分配计数为全局开关，只在需要统计时开启
+            AllocCounter.start();
+        }
+        mMetrics = metrics;
     }
 
     /**
-     * 设置点赞图片圆圈的透明度
+     * 获取绘制统计
      *
-     * @param alpha 透明度
+     * @return 绘制统计，未设置时为null
      */
-    public void setBitmapCircleAlpha(int alpha) {
-        mBitmapCirclePaint.setAlpha(alpha);
-        postInvalidate();
+    public ThumbsMetrics getMetrics() {
+        return mMetrics;
+    }
+
+    /**
+     * 动画开始时记录统计
+     */
+    private void onAnimationMetricsStart() {
+        ThumbsMetrics metrics = mMetrics;
+        if (metrics == null) {
+            return;
+        }
+        mAnimationStartNanos = System.nanoTime();
+        mAnimationStartAllocs = metrics.isTrackAllocations() ? AllocCounter.getThreadAllocCount() : 0;
+        metrics.recordAnimationStart();
+    }
+
+    /**
+     * 动画结束或被取消时记录统计，应绘制的帧数按动画实际持续时间和屏幕刷新率计算
+     */
+    private void onAnimationMetricsEnd() {
+        ThumbsMetrics metrics = mMetrics;
+        if (metrics == null) {
+            return;
+        }
+        Display display = getDisplay();
+        float refreshRate = display != null ? display.getRefreshRate() : 60f;
+        long elapsed = System.nanoTime() - mAnimationStartNanos;
+        int expectedFrames = Math.round(elapsed * refreshRate / 1000000000f);
+        long allocations = metrics.isTrackAllocations() ? AllocCounter.getThreadAllocCount() - mAnimationStartAllocs : 0;
+        metrics.recordAnimationEnd(expectedFrames, allocations);
     }
 
     public ThumbsView(Context context) {
@@ -227,7 +607,7 @@ public class ThumbsView extends View {
     }
 
     public ThumbsView(Context context, @Nullable AttributeSet attrs) {
-        this(context, attrs, -1);
+        this(context, attrs, 0);
     }
 
     public ThumbsView(Context context, @Nullable AttributeSet attrs, int defStyleAttr) {
@@ -241,235 +621,1299 @@ public class ThumbsView extends View {
      * @param flag 点赞/取消点赞
      */
     public void like(boolean flag) {
-        isSelected = flag;
-        int likeCount = Integer.parseInt(mContent);
-        if (flag) {
-            likeCount++;
-        } else {
-            likeCount--;
+        long likeCount = flag ? mCount + 1 : Math.max(mCount - 1, 0);
+        LikeReconciler reconciler = mLikeReconciler;
+        if (reconciler != null && mItemId != NO_ITEM_ID) {
+            //以服务端最新状态叠加本地操作后的结果为准
+            mLastLikeSequence = reconciler.onLocalLike(mItemId, flag, mCount, isSelected);
+            likeCount = LikeStateStore.getCount(reconciler.getDisplayState(mItemId));
         }
-        refreshContent(String.valueOf(likeCount));
+        setLiked(flag);
+        refreshCount(likeCount, true);
         startAnimator();
+        saveLikeState();
+        if (mOnLikeChangedListener != null) {
+            mOnLikeChangedListener.onLikeChanged(this, mItemId, flag, mCount);
+        }
     }
 
     /**
-     * 设置点赞数
+     * 设置点赞状态变化的监听，通过{@link #like(boolean)}或点击点赞时回调，{@link #bind(long, long, boolean)}不回调
      *
-     * @param content 点赞数
+     * @param listener 监听
      */
-    public void setContent(String content) {
-        refreshContent(content);
-        postInvalidate();
+    public void setOnLikeChangedListener(OnLikeChangedListener listener) {
+        mOnLikeChangedListener = listener;
     }
 
     /**
-     * 更新点赞数相关数据
+     * 绑定数据项，直接显示最终状态，适用于列表中复用的View
      *
-     * @param content 点赞数
+     * @param itemId 数据项ID
+     * @param count  点赞数
+     * @param liked  是否点赞
      */
-    public void refreshContent(String content) {
-        mContent = content;
-        mJumpTextLength = StringUtil.getLastContentLength(isSelected, mContent);
-        //改变文字时如果是点赞引起的，则跳动的文字为改变之前的文字
-        mJumpOutText = mContent.substring(mContent.length() - mJumpTextLength);
-        //改变文字时如果不是点赞引起的，则跳动的文字为最新文字
-        mJumpInText = mContent.substring(mContent.length() - mJumpTextLength);
+    public void bind(long itemId, long count, boolean liked) {
+        bind(itemId, count, liked, false);
     }
 
     /**
-     * View初始化
+     * 绑定数据项
+     * <p>
+     * 绑定的是另一个数据项或不需要动画时，取消正在播放的动画并直接显示最终状态；
+     * 同一数据项需要动画时，点赞状态变化播放点赞动画，否则点赞数逐位滚动。
+     * 绑定过程中不创建对象。
      *
-     * @param context 上下文
+     * @param itemId  数据项ID
+     * @param count   点赞数，小于0时按0处理
+     * @param liked   是否点赞
+     * @param animate 同一数据项的状态变化时是否播放动画
      */
-    public void initView(Context context, AttributeSet attrs) {
-        // 硬件加速下 ComposeShader 不能使用两个同类型的 Shader
-        setLayerType(LAYER_TYPE_SOFTWARE, null);
-        mScaleOff = 1f;
-        TypedArray ta = context.obtainStyledAttributes(attrs, R.styleable.ThumbsView);
-        mContent = ta.getString(R.styleable.ThumbsView_content);
-        refreshContent(TextUtils.isEmpty(mContent) ? "0" : mContent);
-        mContentPx = ta.getDimensionPixelOffset(R.styleable.ThumbsView_contentSize, ViewUtil.dp2px(context, CONTENT_DEFAULT_DP));
-        int colorRes = ta.getResourceId(R.styleable.ThumbsView_contentColor, R.color.thumbs_text_color);
-        mContentColor = ContextCompat.getColor(context, colorRes);
-        mTextPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
-        mTextPaint.setTextSize(mContentPx);
-        mTextPaint.setColor(mContentColor);
-        mJumpOutTextPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
-        mJumpOutTextPaint.setTextSize(mContentPx);
-        mJumpOutTextPaint.setColor(mContentColor);
-        mJumpInTextPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
-        mJumpInTextPaint.setTextSize(mContentPx);
-        mJumpInTextPaint.setColor(mContentColor);
-        mJumpInTextPaint.setAlpha(0x00);
-        mDrawablePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
-        mCirclePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
-        mCirclePaint.setStrokeWidth(5);
-        mCirclePaint.setColor(mContentColor);
-        mCirclePaint.setStyle(Paint.Style.STROKE);
-        mCirclePaint.setAlpha(0x00);
-        mBitmapCirclePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
-        mBitmapCirclePaint.setStrokeWidth(5);
-        mBitmapCirclePaint.setColor(mContentColor);
-        mBitmapCirclePaint.setStyle(Paint.Style.STROKE);
-        mBitmapCirclePaint.setAlpha(0x00);
-        mThumbsDefaultBm = BitmapFactory.decodeResource(getResources(), R.drawable.ic_messages_like_unselected);
-        mThumbsSelectedBm = BitmapFactory.decodeResource(getResources(), R.drawable.ic_messages_like_selected);
-        mThumbsSelectedshiningBm = BitmapFactory.decodeResource(getResources(), R.drawable.ic_messages_like_selected_shining);
-        mBitmapCircleRadiusDefault = Math.min(mThumbsDefaultBm.getWidth(), mThumbsDefaultBm.getHeight()) - 25;
-        //源图像和目标图像都显示，重合的部位显示源图像
-        mXfermode = new PorterDuffXfermode(PorterDuff.Mode.SRC_OVER);
-        mBitmapRectF = new RectF();
-        ta.recycle();
-    }
-
-    @Override
-    protected void onDraw(Canvas canvas) {
-        super.onDraw(canvas);
-        float textWith = mTextPaint.measureText(mContent);
-        Bitmap bitmap = isSelected ? mThumbsSelectedBm : mThumbsDefaultBm;
-        int bitmapLeft = (int) ((getWidth() - bitmap.getWidth() - textWith) / 2);
-        int bitmapTop = (getHeight() - bitmap.getHeight()) / 2;
-        if (isSelected) {
-            //绘制点赞图形
-            mBitmapRectF.set(bitmapLeft, bitmapTop - 20, bitmapLeft + bitmap.getWidth(), bitmapTop + bitmap.getHeight() + 20);
-            drawLikedDrawable(mScaleOff, bitmapLeft, bitmapTop, canvas, bitmap);
+    public void bind(long itemId, long count, boolean liked, boolean animate) {
+        count = Math.max(count, 0);
+        boolean sameItem = itemId == mItemId;
+        mItemId = itemId;
+        if (!sameItem) {
+            //其他线程为上一个数据项放入的更新不再应用
+            mMailbox.clear();
+        }
+        if (!animate || !sameItem) {
+            endAnimation();
+            setLiked(liked);
+            refreshCount(count, false);
+            postInvalidate();
+            saveLikeState();
+            return;
+        }
+        if (liked != isSelected) {
+            setLiked(liked);
+            refreshCount(count, true);
+            startAnimator();
         } else {
-            drawUnLikDrawable(mScaleOff, bitmapLeft, bitmapTop, canvas, bitmap);
+            setCount(count, true);
         }
-        drawText(canvas, bitmap, bitmapLeft);
-        canvas.drawCircle(bitmapLeft + bitmap.getWidth() / 2, getHeight() / 2, mBitmapCircleRadius, mBitmapCirclePaint);
-        canvas.drawCircle(clickX, clickY, CLICK_CIRCLE_RADIUS, mCirclePaint);
+        saveLikeState();
     }
 
     /**
-     * 绘制未点赞时的点赞位图
+     * 设置本地保存的点赞状态，设置后点赞和绑定数据项时保存到其中，可通过{@link #restore(long)}恢复
      *
-     * @param scaleCv    伸缩系数
-     * @param bitmapLeft 位图绘制左边距
-     * @param bitmapTop  位图绘制上边距
-     * @param canvas     绘制幕
-     * @param bitmap     绘制位图
+     * @param store 本地保存的点赞状态，为null时不保存
      */
-    public void drawUnLikDrawable(float scaleCv, int bitmapLeft, int bitmapTop, Canvas canvas, Bitmap bitmap) {
-        canvas.save();
-        canvas.scale(scaleCv, scaleCv, bitmapLeft + bitmap.getWidth() / 2, bitmapTop + bitmap.getHeight() / 2);
-        canvas.drawBitmap(bitmap, bitmapLeft, bitmapTop, mDrawablePaint);
-        canvas.restore();
+    public void setLikeStateStore(LikeStateStore store) {
+        mLikeStateStore = store;
     }
 
     /**
-     * 绘制点赞时的点赞位图
+     * 获取本地保存的点赞状态
      *
-     * @param scaleCv    伸缩系数
-     * @param bitmapLeft 位图绘制左边距
-     * @param bitmapTop  位图绘制上边距
-     * @param canvas     绘制幕
-     * @param bitmap     绘制位图
+     * @return 本地保存的点赞状态，未设置时为null
      */
-    public void drawLikedDrawable(float scaleCv, int bitmapLeft, int bitmapTop, Canvas canvas, Bitmap bitmap) {
-        //离屏缓存
-        canvas.saveLayer(mBitmapRectF, mDrawablePaint);
-        //位图做伸缩的几何变换
-        canvas.scale(scaleCv, scaleCv, bitmapLeft + bitmap.getWidth() / 2, bitmapTop + bitmap.getHeight() / 2);
-        canvas.drawBitmap(bitmap, bitmapLeft, bitmapTop, mDrawablePaint);
-        // 设置 Xfermode
-        mDrawablePaint.setXfermode(mXfermode);
-        canvas.drawBitmap(mThumbsSelectedshiningBm, bitmapLeft + 5, bitmapTop - 20, mDrawablePaint);
-        // 用完及时清除 Xfermode
-        mDrawablePaint.setXfermode(null);
-        canvas.restore();
+    public LikeStateStore getLikeStateStore() {
+        return mLikeStateStore;
     }
 
     /**
-     * 绘制点赞数
+     * 设置合并本地点赞和服务端点赞数的合并层，多个View可共用一个
+     * <p>
+     * 设置后点赞时记录待确认操作，服务端状态通过{@link #applyServerState(long, long, long, boolean, long)}合并，
+     * 确认之前下发的旧点赞数不会让显示的点赞数来回跳动
      *
-     * @param canvas     绘制幕
-     * @param bitmap     绘制位图
-     * @param bitmapLeft 位图绘制左边距
+     * @param reconciler 合并层，为null时不合并
      */
-    public void drawText(Canvas canvas, Bitmap bitmap, int bitmapLeft) {
-        float textLeft;
-        float textTop = (getHeight() + bitmap.getHeight() - 20) / 2;
-        textLeft = bitmapLeft + bitmap.getWidth() + 10;
-        String defaultText = mContent.substring(0, mContent.length() - mJumpTextLength);
-        //绘制不动部分的文字
-        canvas.drawText(defaultText, textLeft, textTop, mTextPaint);
-        float jumpTextLeft = textLeft + mTextPaint.measureText(defaultText);
-        //绘制跳动部分的文字
-        canvas.drawText(mJumpOutText, jumpTextLeft, textTop + mContentOutOffY, mJumpOutTextPaint);
-        canvas.drawText(mJumpInText, jumpTextLeft, textTop + mContentInOffY, mJumpInTextPaint);
+    public void setLikeReconciler(LikeReconciler reconciler) {
+        mLikeReconciler = reconciler;
     }
 
-    public void startAnimator() {
-        //设置点赞的图片的伸缩动画，该动画在点击后就执行
-        ObjectAnimator scaleAnimator = ObjectAnimator.ofFloat(this, "scaleOff", 1f, 0.8f, 1f);
-        scaleAnimator.setDuration(200);
-        scaleAnimator.setInterpolator(new OvershootInterpolator());
-
-        //设置点赞的文字的离屏动画，该动画在点击后就执行
-        ObjectAnimator textOutAnimator;
-        if (isSelected) {
-            //点赞时,文字向上离开
-            textOutAnimator = ObjectAnimator.ofFloat(this, "textOutY", MIN_JUMP, -MAX_JUMP);
-        } else {
-            //取消点赞时,文字向下离开
-            textOutAnimator = ObjectAnimator.ofFloat(this, "textOutY", MIN_JUMP, MAX_JUMP);
+    /**
+     * 获取最近一次本地点赞操作的序号，在{@link OnLikeChangedListener}中读取后随请求提交给服务端
+     *
+     * @return 序号，未设置合并层时为{@link LikeReconciler#NO_ACK}
+     */
+    public long getLastLikeSequence() {
+        return mLastLikeSequence;
+    }
+
+    /**
+     * 合并服务端下发的状态，可在任意线程调用，显示的状态变化时在下一帧按{@link #postCount(long, long, boolean)}更新
+     *
+     * @param itemId  数据项ID
+     * @param version 服务端状态的版本号
+     * @param count   服务端的点赞数
+     * @param liked   服务端记录的当前用户点赞状态
+     * @param ackSeq  服务端已处理的最后一个本地操作序号
+     * @return 显示的状态是否变化
+     */
+    public boolean applyServerState(long itemId, long version, long count, boolean liked, long ackSeq) {
+        LikeReconciler reconciler = mLikeReconciler;
+        if (reconciler == null) {
+            return postCount(itemId, count, liked);
         }
-        textOutAnimator.setDuration(200);
+        if (!reconciler.onServerState(itemId, version, count, liked, ackSeq)) {
+            return false;
+        }
+        postDisplayState(reconciler, itemId);
+        return true;
+    }
 
-        //设置点赞的文字的入屏动画，该动画在离屏动画执行结束后执行
-        ObjectAnimator textInAnimator;
-        if (isSelected) {
-            //点赞时,文字从下往上进入
-            textInAnimator = ObjectAnimator.ofFloat(this, "textInY", MAX_JUMP, MIN_JUMP);
-        } else {
-            //取消点赞时,文字从上往下进入
-            textInAnimator = ObjectAnimator.ofFloat(this, "textInY", -MAX_JUMP, MIN_JUMP);
-        }
-        textInAnimator.setDuration(200);
-        //设置点赞的文字的离屏时透明度变换动画，从不透明到全透明，该动画伴随离屏动画执行
-        ObjectAnimator textOutAlphaAnimator = ObjectAnimator.ofInt(this, "outTextAlpha", 0xff, 0x00);
-        textOutAlphaAnimator.setDuration(200);
-        //设置点赞的文字的入屏时透明度变换动画，从全透明到不透明，该动画伴随入屏动画执行
-        ObjectAnimator textInAlphaAnimator = ObjectAnimator.ofInt(this, "inTextAlpha", 0x00, 0xff);
-        textInAlphaAnimator.setDuration(200);
-        //设置点赞时点击点的圆圈画笔透明度动画
-        ObjectAnimator clickCircleAlphaAnimator = ObjectAnimator.ofInt(this, "clickCircleAlpha", 0xff, 0x00);
-        clickCircleAlphaAnimator.setDuration(200);
-
-        //设置点赞时点赞图片圆圈伸缩动画
-        ObjectAnimator bitmapCircleScaleimator = ObjectAnimator.ofFloat(this, "bitmapCircleScale", 0.5f, 1f);
-        bitmapCircleScaleimator.setDuration(200);
-        bitmapCircleScaleimator.setInterpolator(new DecelerateInterpolator());
-        //设置点赞时点赞图片圆圈画笔透明度动画
-        ObjectAnimator bitmapCircleAlphaAnimator = ObjectAnimator.ofInt(this, "bitmapCircleAlpha", 0xff, 0x00);
-        bitmapCircleAlphaAnimator.setDuration(50);
-
-        AnimatorSet animatorSet = new AnimatorSet();
-        animatorSet.play(clickCircleAlphaAnimator).with(scaleAnimator);
-        animatorSet.play(clickCircleAlphaAnimator).with(bitmapCircleScaleimator);
-        animatorSet.play(clickCircleAlphaAnimator).with(textOutAnimator);
-        animatorSet.play(clickCircleAlphaAnimator).with(textInAnimator);
-        animatorSet.play(textOutAnimator).with(textOutAlphaAnimator);
-        animatorSet.play(textInAnimator).with(textInAlphaAnimator);
-        animatorSet.play(bitmapCircleScaleimator).before(bitmapCircleAlphaAnimator);
-        animatorSet.start();
+    /**
+     * 本地点赞提交失败，撤销该操作，可在任意线程调用
+     *
+     * @param itemId   数据项ID
+     * @param sequence 操作的序号
+     * @return 显示的状态是否变化
+     */
+    public boolean applyLikeFailure(long itemId, long sequence) {
+        LikeReconciler reconciler = mLikeReconciler;
+        if (reconciler == null || !reconciler.onLocalFailed(itemId, sequence)) {
+            return false;
+        }
+        postDisplayState(reconciler, itemId);
+        return true;
     }
 
-    @Override
-    public boolean dispatchTouchEvent(MotionEvent event) {
-        switch (event.getAction()) {
-            case MotionEvent.ACTION_DOWN:
-                mBitmapCirclePaint.setAlpha(0xff);
-                clickX = event.getX();
-                clickY = event.getY();
-                isSelected = !isSelected;
-                like(isSelected);
-                return true;
-            case MotionEvent.ACTION_UP:
-                return super.dispatchTouchEvent(event);
-            default:
-                return super.dispatchTouchEvent(event);
+    private void postDisplayState(LikeReconciler reconciler, long itemId) {
+        long state = reconciler.getDisplayState(itemId);
+        postCount(itemId, LikeStateStore.getCount(state), LikeStateStore.isLiked(state));
+    }
+
+    /**
+     * 按本地保存的点赞状态绑定数据项，只读取内存，不访问文件
+     *
+     * @param itemId 数据项ID
+     * @return 是否已保存该数据项，未保存时不绑定
+     */
+    public boolean restore(long itemId) {
+        LikeStateStore store = mLikeStateStore;
+        long packed = store == null ? LikeStateStore.MISSING : store.get(itemId);
+        if (packed == LikeStateStore.MISSING) {
+            return false;
+        }
+        bind(itemId, LikeStateStore.getCount(packed), LikeStateStore.isLiked(packed));
+        return true;
+    }
+
+    /**
+     * 把当前数据项的点赞状态保存到本地，只修改内存，文件由后台线程合并写入
+     */
+    private void saveLikeState() {
+        if (mLikeStateStore != null && mItemId != NO_ITEM_ID) {
+            mLikeStateStore.put(mItemId, mCount, isSelected);
+        }
+    }
+
+    /**
+     * 回收View，取消正在播放的动画，在列表回收View时调用
+     */
+    public void recycle() {
+        endAnimation();
+        mItemId = NO_ITEM_ID;
+        mMailbox.clear();
+    }
+
+    /**
+     * 在任意线程更新点赞数和点赞状态
+     * <p>
+     * 只在信箱的短暂锁内放入最新的值及其数据项ID，由主线程在下一帧按{@link #bind(long, long, boolean, boolean)}播放动画，
+     * 同一帧内的多次更新只应用最后一次，之前的计为丢弃
+     *
+     * @param itemId 数据项ID，与当前绑定的数据项不一致时忽略
+     * @param count  点赞数，小于0时按0处理
+     * @param liked  是否点赞
+     * @return 是否放入
+     */
+    public boolean postCount(long itemId, long count, boolean liked) {
+        if (itemId != mItemId) {
+            return false;
         }
+        publishCount(itemId, count, liked ? CountMailbox.LIKED : CountMailbox.UNLIKED);
+        return true;
+    }
+
+    /**
+     * 放入最新的值，信箱原本为空时经主线程注册一次帧回调，在该帧取走
+     * <p>
+     * 调用者检查数据项ID之后、放入之前，主线程可能已绑定另一个数据项，
+     * 因此值与数据项ID一起放入，应用时再次检查
+     *
+     * @param itemId 值所属的数据项ID
+     * @param count  点赞数
+     * @param liked  {@link CountMailbox#UNLIKED}，{@link CountMailbox#LIKED}或{@link CountMailbox#KEEP_LIKED}
+     */
+    void publishCount(long itemId, long count, int liked) {
+        if (mMailbox.publish(itemId, count, liked)) {
+            sMainHandler.post(mScheduleUpdateRunnable);
+        }
+    }
+
+    /**
+     * 在主线程的帧回调中应用其他线程放入的最新值，值属于之前绑定的数据项时丢弃
+     */
+    private void applyPendingUpdate() {
+        long value = mMailbox.take(mItemId);
+        if (value == CountMailbox.EMPTY) {
+            return;
+        }
+        long count = CountMailbox.getCount(value);
+        int liked = CountMailbox.getLiked(value);
+        if (liked == CountMailbox.KEEP_LIKED) {
+            setCount(count, true);
+        } else {
+            bind(mItemId, count, liked == CountMailbox.LIKED, true);
+        }
+    }
+
+    /**
+     * 获取其他线程放入的更新次数
+     *
+     * @return 更新次数
+     */
+    public long getPostedUpdateCount() {
+        return mMailbox.getPublishedCount();
+    }
+
+    /**
+     * 获取其他线程放入后被更新的值覆盖或因重新绑定而未应用的次数
+     *
+     * @return 丢弃的次数
+     */
+    public long getDroppedUpdateCount() {
+        return mMailbox.getDroppedCount();
+    }
+
+    /**
+     * 获取其他线程放入后在主线程应用的次数
+     *
+     * @return 应用的次数
+     */
+    public long getAppliedUpdateCount() {
+        return mMailbox.getTakenCount();
+    }
+
+    private static boolean isMainThread() {
+        return Looper.myLooper() == Looper.getMainLooper();
+    }
+
+    /**
+     * 获取绑定的数据项ID
+     *
+     * @return 数据项ID，未绑定时为{@link #NO_ITEM_ID}
+     */
+    public long getItemId() {
+        return mItemId;
+    }
+
+    /**
+     * 是否点赞
+     *
+     * @return 是否点赞
+     */
+    public boolean isLiked() {
+        return isSelected;
+    }
+
+    /**
+     * 设置点赞数，点赞数变化时逐位滚动到新的点赞数，可在任意线程调用
+     *
+     * @param content 点赞数，为空、包含非数字或超出long范围时忽略
+     */
+    public void setContent(String content) {
+        long count = CountFormatter.parse(content);
+        if (count < 0) {
+            return;
+        }
+        setCount(count);
+    }
+
+    /**
+     * 设置点赞数，点赞数变化时逐位滚动到新的点赞数，可在任意线程调用
+     *
+     * @param count 点赞数，小于0时按0处理
+     */
+    public void setCount(long count) {
+        setCount(count, true);
+    }
+
+    /**
+     * 设置点赞数
+     *
+     * @param count   点赞数，小于0时按0处理
+     * @param animate 点赞数变化时是否逐位滚动到新的点赞数，非主线程调用时在下一帧应用并总是滚动
+     */
+    public void setCount(long count, boolean animate) {
+        if (!isMainThread()) {
+            publishCount(mItemId, count, CountMailbox.KEEP_LIKED);
+            return;
+        }
+        count = Math.max(count, 0);
+        boolean changed = count != mCount;
+        if (!animate) {
+            endAnimation();
+        }
+        refreshCount(count, animate && changed);
+        if (animate && changed) {
+            startTimeline(false);
+        }
+        postInvalidate();
+    }
+
+    /**
+     * 获取点赞数
+     *
+     * @return 点赞数
+     */
+    public long getCount() {
+        return mCount;
+    }
+
+    /**
+     * 设置点赞数的显示方式
+     *
+     * @param style {@link CountFormatter#STYLE_FULL}，{@link CountFormatter#STYLE_WESTERN}或{@link CountFormatter#STYLE_CHINESE}
+     */
+    public void setCountStyle(int style) {
+        mFormatter.setStyle(style);
+        refreshCount(mCount, false);
+        postInvalidate();
+    }
+
+    /**
+     * 更新点赞数相关数据，逐位比较的结果在此一次算好，动画过程中不再计算
+     *
+     * @param count  点赞数
+     * @param isJump 是否跳动，是则从改变之前的文字滚动到最新文字，否则直接显示最新文字
+     */
+    public void refreshCount(long count, boolean isJump) {
+        boolean up = count >= mCount;
+        mCount = count;
+        int length = mFormatter.format(count);
+        char[] chars = mFormatter.getChars();
+        if (isJump) {
+            mDigitDiff.compute(mContentChars, mContentLength, chars, length, up);
+        } else {
+            mDigitDiff.compute(chars, length, chars, length, up);
+        }
+        if (mContentChars.length < length) {
+            mContentChars = new char[length];
+        }
+        System.arraycopy(chars, 0, mContentChars, 0, length);
+        mContentLength = length;
+        mJumpProgress = isJump ? 0f : 1f;
+        if (isJump) {
+            ensureJumpPaints();
+        }
+        updateLayout();
+        updateStableWidth();
+        updatePrefixLayer();
+    }
+
+    /**
+     * 重新绘制不动部分文字的缓存，只在点赞数变化时调用，缓存足够大时复用
+     */
+    private void updatePrefixLayer() {
+        int prefixLength = mDigitDiff.getPrefixLength();
+        if (mGlyphAtlas == null || prefixLength == 0) {
+            return;
+        }
+        int width = (int) Math.ceil(mLayout.getPrefixWidth()) + PREFIX_PADDING * 2;
+        int height = mGlyphAtlas.getHeight();
+        if (mPrefixBitmap == null || mPrefixBitmap.getWidth() < width || mPrefixBitmap.getHeight() < height) {
+            mPrefixBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+            mPrefixCanvas = new Canvas(mPrefixBitmap);
+        } else {
+            mPrefixBitmap.eraseColor(Color.TRANSPARENT);
+        }
+        mPrefixCanvas.drawText(mContentChars, 0, prefixLength, PREFIX_PADDING, -mGlyphAtlas.getTop(), mTextPaint);
+    }
+
+    /**
+     * 点赞数的稳定宽度变化且View宽度随内容变化时重新布局，其余情况只需重绘
+     */
+    private void updateStableWidth() {
+        if (mTextPaint == null) {
+            return;
+        }
+        float width = ThumbsLayout.measureStableWidth(mContentChars, mContentLength, mMaxDigitWidth, mTextMeasurer);
+        if (width == mStableContentWidth) {
+            return;
+        }
+        mStableContentWidth = width;
+        ViewGroup.LayoutParams params = getLayoutParams();
+        if (params != null && params.width == ViewGroup.LayoutParams.WRAP_CONTENT) {
+            requestLayout();
+        }
+    }
+
+    /**
+     * 计算文字宽度以及位图和文字的绘制位置，只在点赞数、点赞状态或View尺寸变化时调用，绘制时直接使用结果
+     */
+    private void updateLayout() {
+        if (mTextPaint == null) {
+            return;
+        }
+        mLayout.measureText(mContentChars, mContentLength, mDigitDiff, mTextMeasurer);
+        Bitmap bitmap = getThumbsBitmap();
+        if (bitmap == null) {
+            //未添加到窗口，添加时再计算绘制位置
+            return;
+        }
+        mLayout.layout(getWidth(), getHeight(), bitmap.getWidth(), bitmap.getHeight());
+        updateHitRegion(mTapDetector, mLayout, bitmap, mContentPx);
+        if (mLayers != null) {
+            updateLayers(bitmap);
+        }
+    }
+
+    /**
+     * 把各层的内容、位置和缩放中心更新到最新状态，跳动字符按当前的滚动进度显示
+     *
+     * @param bitmap 当前点赞状态的图片
+     */
+    private void updateLayers(Bitmap bitmap) {
+        int bitmapLeft = mLayout.getBitmapLeft();
+        int bitmapTop = mLayout.getBitmapTop();
+        Paint paint = !isSelected && mIconTint != 0 ? mIconTintPaint : mDrawablePaint;
+        mLayers.updateIcon(bitmap, isSelected ? mThumbsSelectedshiningBm : null, paint, bitmapLeft, bitmapTop);
+        mLayers.updateRing(bitmapLeft + bitmap.getWidth() / 2, getHeight() / 2, mBitmapCircleRadiusDefault);
+        mLayers.updateText(mContentChars, mDigitDiff, mLayout);
+        mLayers.applyJump(mDigitDiff, mJumpProgress, false);
+    }
+
+    /**
+     * 点击区域为点赞图片和点赞数文字的外接矩形
+     *
+     * @param detector  点击识别
+     * @param layout    已计算好的绘制位置
+     * @param bitmap    点赞图片
+     * @param contentPx 点赞数文字大小（像素值）
+     */
+    static void updateHitRegion(TapDetector detector, ThumbsLayout layout, Bitmap bitmap, float contentPx) {
+        float textLeft = layout.getTextLeft();
+        float textTop = layout.getTextTop();
+        detector.setHitRegion(Math.min(layout.getBitmapLeft(), textLeft),
+                Math.min(layout.getBitmapTop(), textTop - contentPx),
+                Math.max(layout.getBitmapLeft() + bitmap.getWidth(), textLeft + layout.getContentWidth()),
+                Math.max(layout.getBitmapTop() + bitmap.getHeight(), textTop + contentPx / 2));
+    }
+
+    /**
+     * View初始化
+     *
+     * @param context 上下文
+     */
+    public void initView(Context context, AttributeSet attrs) {
+        mScaleOff = 1f;
+        mTapDetector = new TapDetector(ViewConfiguration.get(context).getScaledTouchSlop());
+        //无障碍服务据此提供点击操作
+        setClickable(true);
+        TypedArray ta = context.obtainStyledAttributes(attrs, R.styleable.ThumbsView);
+        setSoftwareLayerEnabled(ta.getBoolean(R.styleable.ThumbsView_softwareLayer, false));
+        isSpriteAnimation = ta.getBoolean(R.styleable.ThumbsView_spriteAnimation, false);
+        isAdaptiveQuality = ta.getBoolean(R.styleable.ThumbsView_adaptiveQuality, false);
+        boolean textCache = ta.getBoolean(R.styleable.ThumbsView_textCache, false);
+        int particleCount = ta.getInt(R.styleable.ThumbsView_particleCount, 0);
+        mIconTint = ta.getColor(R.styleable.ThumbsView_iconTint, 0);
+        if (mIconTint != 0) {
+            mIconTintPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+            mIconTintPaint.setColor(mIconTint);
+        }
+        String content = ta.getString(R.styleable.ThumbsView_content);
+        mDigitDiff = new DigitDiff();
+        mTimeline = new ThumbsTimeline();
+        mFormatter = new CountFormatter(ta.getInt(R.styleable.ThumbsView_countStyle, CountFormatter.STYLE_FULL));
+        mContentPx = ta.getDimensionPixelOffset(R.styleable.ThumbsView_contentSize, ViewUtil.dp2px(context, CONTENT_DEFAULT_DP));
+        int colorRes = ta.getResourceId(R.styleable.ThumbsView_contentColor, R.color.thumbs_text_color);
+        mContentColor = ContextCompat.getColor(context, colorRes);
+        mTextPaint = obtainTextPaint(mContentPx, mContentColor);
+        mJumpText = new JumpTextPainter(mTextPaint);
+        mMaxDigitWidth = ThumbsLayout.measureMaxDigitWidth(mTextMeasurer);
+        if (sDrawablePaint == null) {
+            sDrawablePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        }
+        mDrawablePaint = sDrawablePaint;
+        //跳动文字和圆圈的画笔在第一次动画时创建，图片在添加到窗口时获取，测量只需要原始大小
+        mBitmapNaturalSize = BitmapCache.getNaturalSize(getResources(), R.drawable.ic_messages_like_unselected);
+        refreshCount(Math.max(CountFormatter.parse(content), 0), false);
+        setTextCacheEnabled(textCache);
+        setParticleCount(particleCount);
+        ta.recycle();
+    }
+
+    /**
+     * 创建跳动文字的画笔，第一次滚动点赞数时调用
+     */
+    private void ensureJumpPaints() {
+        mJumpText.ensureJumpPaints();
+    }
+
+    /**
+     * 创建圆圈的画笔，第一次播放点赞动画时调用
+     */
+    private void ensureCirclePaints() {
+        if (mCirclePaint != null) {
+            return;
+        }
+        mCirclePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        mCirclePaint.setStrokeWidth(CIRCLE_STROKE_WIDTH);
+        mCirclePaint.setColor(mContentColor);
+        mCirclePaint.setStyle(Paint.Style.STROKE);
+        mCirclePaint.setAlpha(0x00);
+        mBitmapCirclePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        mBitmapCirclePaint.setStrokeWidth(CIRCLE_STROKE_WIDTH);
+        mBitmapCirclePaint.setColor(mContentColor);
+        mBitmapCirclePaint.setStyle(Paint.Style.STROKE);
+        mBitmapCirclePaint.setAlpha(0x00);
+    }
+
+    /**
+     * 在后台线程预先解码点赞图片并放入共享缓存，在Application启动时调用，之后View添加到窗口时直接命中缓存
+     * <p>
+     * 只按屏幕密度解码原始大小，View按可用高度缩小时仍需重新解码
+     *
+     * @param context 上下文
+     * @return 预热任务，可用于等待解码完成
+     */
+    public static Future<?> prewarm(Context context) {
+        final Resources res = context.getApplicationContext().getResources();
+        synchronized (ThumbsView.class) {
+            if (sPrewarmExecutor == null) {
+                sPrewarmExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r, "ThumbsView-prewarm");
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+            }
+            return sPrewarmExecutor.submit(new Runnable() {
+                @Override
+                public void run() {
+                    Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                    //获取后立即归还，位图留在未被引用的缓存中
+                    BitmapCache cache = BitmapCache.getInstance();
+                    cache.release(cache.acquire(res, R.drawable.ic_messages_like_unselected, 0));
+                    cache.release(cache.acquire(res, R.drawable.ic_messages_like_selected, 0));
+                    cache.release(cache.acquire(res, R.drawable.ic_messages_like_selected_shining, 0));
+                }
+            });
+        }
+    }
+
+    /**
+     * 获取共用的文字画笔，只在主线程创建View时调用
+     *
+     * @param textSize 文字大小（像素值）
+     * @param color    文字颜色
+     * @return 文字画笔，使用者不能修改
+     */
+    static Paint obtainTextPaint(float textSize, int color) {
+        Long key = ((long) Float.floatToIntBits(textSize) << 32) | (color & 0xffffffffL);
+        Paint paint = sTextPaints.get(key);
+        if (paint == null) {
+            paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+            paint.setTextSize(textSize);
+            paint.setColor(color);
+            sTextPaints.put(key, paint);
+        }
+        return paint;
+    }
+
+    /**
+     * 设置是否使用软件绘制层
+     * <p>
+     * 叠加图片按 SRC_OVER 绘制，与默认的绘制方式一致，不需要离屏缓存，默认走硬件加速绘制；
+     * 仅在硬件加速绘制异常的设备上作为兜底开启
+     *
+     * @param enabled 是否使用软件绘制层
+     */
+    public void setSoftwareLayerEnabled(boolean enabled) {
+        isSoftwareLayer = enabled;
+        setLayerType(enabled ? LAYER_TYPE_SOFTWARE : LAYER_TYPE_NONE, null);
+    }
+
+    /**
+     * 是否使用软件绘制层
+     *
+     * @return 是否使用软件绘制层
+     */
+    public boolean isSoftwareLayerEnabled() {
+        return isSoftwareLayer;
+    }
+
+    /**
+     * 由{@link ThumbsLayerLayout}在放入本View时调用，之后由容器中的各层绘制，本View不再绘制
+     *
+     * @param host 承载各层的容器
+     */
+    void attachLayers(ViewGroup host) {
+        if (mLayers != null) {
+            throw new IllegalStateException("ThumbsView is already hosted by a ThumbsLayerLayout");
+        }
+        endAnimation();
+        mLayers = new ThumbsLayers(host, mTextPaint, mContentColor);
+        updateLayout();
+        invalidate();
+    }
+
+    /**
+     * 获取各层重新记录显示列表的次数
+     *
+     * @return 次数，未放入{@link ThumbsLayerLayout}时为0
+     */
+    long getLayerInvalidateCount() {
+        return mLayers == null ? 0 : mLayers.getInvalidateCount();
+    }
+
+    /**
+     * 设置是否缓存点赞数文字
+     * <p>
+     * 开启后不动部分的文字在点赞数变化时绘制一次，跳动的数字从按文字大小和颜色共用的0~9图集中拷贝，
+     * 动画过程中不再排版文字；主要减少软件绘制时的开销，硬件加速绘制时文字本身已有字形缓存
+     *
+     * @param enabled 是否缓存
+     */
+    public void setTextCacheEnabled(boolean enabled) {
+        if (enabled == (mGlyphAtlas != null)) {
+            return;
+        }
+        if (enabled) {
+            mGlyphAtlas = GlyphAtlas.obtain(mTextPaint);
+            updatePrefixLayer();
+        } else {
+            mGlyphAtlas = null;
+            mPrefixBitmap = null;
+            mPrefixCanvas = null;
+        }
+        mJumpText.setGlyphAtlas(mGlyphAtlas);
+        invalidate();
+    }
+
+    /**
+     * 是否缓存点赞数文字
+     *
+     * @return 是否缓存
+     */
+    public boolean isTextCacheEnabled() {
+        return mGlyphAtlas != null;
+    }
+
+    /**
+     * 设置点赞时迸发的粒子数，所有View同时迸发的粒子总数受{@link ParticlePool#setGlobalLimit(int)}限制
+     *
+     * @param count 粒子数，为0时不迸发
+     */
+    public void setParticleCount(int count) {
+        if (mParticles != null) {
+            if (mParticles.getCapacity() == count) {
+                return;
+            }
+            mParticles.release();
+        }
+        if (count <= 0) {
+            mParticles = null;
+            return;
+        }
+        mParticles = new ParticlePool(count);
+        if (mParticlePaint == null) {
+            mParticlePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+            mParticlePaint.setColor(mContentColor);
+            mParticlePaint.setStrokeWidth(PARTICLE_SIZE);
+            mParticlePaint.setStrokeCap(Paint.Cap.ROUND);
+        }
+    }
+
+    /**
+     * 获取点赞时迸发的粒子数
+     *
+     * @return 粒子数，为0时不迸发
+     */
+    public int getParticleCount() {
+        return mParticles == null ? 0 : mParticles.getCapacity();
+    }
+
+    /**
+     * 设置未点赞图片的着色
+     * <p>
+     * 未点赞图片为单色图形，着色后只解码为透明度遮罩（ALPHA_8），内存为原图的1/4，
+     * 绘制时按画笔颜色着色，深色和浅色主题共用同一个遮罩。点赞后的图片为多色，仍按原图绘制
+     *
+     * @param color 着色，为0时按原图绘制
+     */
+    public void setIconTint(int color) {
+        if (color == mIconTint) {
+            return;
+        }
+        boolean maskChanged = (color != 0) != (mIconTint != 0);
+        mIconTint = color;
+        if (color != 0) {
+            if (mIconTintPaint == null) {
+                mIconTintPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+            }
+            mIconTintPaint.setColor(color);
+        }
+        if (maskChanged && isBitmapAcquired) {
+            //在原图和遮罩之间切换，尺寸不变
+            Bitmap old = mThumbsDefaultBm;
+            acquireBitmaps(mBitmapTargetSize);
+            BitmapCache.getInstance().release(old);
+        }
+        if (mLayers != null) {
+            updateLayout();
+        }
+        invalidate();
+    }
+
+    /**
+     * 获取未点赞图片的着色
+     *
+     * @return 着色，为0时按原图绘制
+     */
+    public int getIconTint() {
+        return mIconTint;
+    }
+
+    /**
+     * 设置是否使用预先绘制的点赞动画帧图
+     * <p>
+     * 开启后点赞图片一侧的动画按 尺寸 + 屏幕密度 + 颜色 只绘制一次，所有View共用，播放时每帧只绘制一次位图；
+     * 帧图按60帧/秒绘制，高刷新率屏幕上会出现重复帧。适用于同时显示大量点赞控件的列表
+     *
+     * @param enabled 是否使用帧图
+     */
+    public void setSpriteAnimationEnabled(boolean enabled) {
+        isSpriteAnimation = enabled;
+    }
+
+    /**
+     * 是否使用预先绘制的点赞动画帧图
+     *
+     * @return 是否使用帧图
+     */
+    public boolean isSpriteAnimationEnabled() {
+        return isSpriteAnimation;
+    }
+
+    /**
+     * 设置是否自动降低动画效果
+     * <p>
+     * 开启后每次动画开始时从{@link QualityMonitor}读取档位：掉帧较多时依次去掉圆圈和粒子、去掉跳动文字的渐隐，
+     * 最后直接到结束状态不播放动画；界面恢复流畅后逐档恢复。省电模式下不高于去掉渐隐的档位。
+     * 适用于快速滑动时同时有多个点赞动画的列表
+     *
+     * @param enabled 是否自动降低动画效果
+     */
+    public void setAdaptiveQualityEnabled(boolean enabled) {
+        isAdaptiveQuality = enabled;
+    }
+
+    /**
+     * 是否自动降低动画效果
+     *
+     * @return 是否自动降低动画效果
+     */
+    public boolean isAdaptiveQualityEnabled() {
+        return isAdaptiveQuality;
+    }
+
+    /**
+     * 获取当前或上一次动画使用的效果档位
+     *
+     * @return {@link QualityGovernor#TIER_FULL}~{@link QualityGovernor#TIER_SNAP}
+     */
+    public int getQualityTier() {
+        return mQualityTier;
+    }
+
+    /**
+     * 从共享缓存中获取未点赞的图片，已点赞时同时获取点赞后的图片
+     *
+     * @param targetSize 点赞图片最长边的像素值，为0时按屏幕密度解码为原始大小
+     */
+    private void acquireBitmaps(int targetSize) {
+        BitmapCache cache = BitmapCache.getInstance();
+        if (mIconTint != 0) {
+            mThumbsDefaultBm = cache.acquireMask(getResources(), R.drawable.ic_messages_like_unselected, targetSize);
+        } else {
+            mThumbsDefaultBm = cache.acquire(getResources(), R.drawable.ic_messages_like_unselected, targetSize);
+        }
+        mBitmapCircleRadiusDefault = Math.min(mThumbsDefaultBm.getWidth(), mThumbsDefaultBm.getHeight()) - 25;
+        mBitmapTargetSize = targetSize;
+        isBitmapAcquired = true;
+        if (isSelected && !isLikedBitmapAcquired) {
+            acquireLikedBitmaps();
+        }
+    }
+
+    /**
+     * 从共享缓存中获取点赞后的图片和叠加图片，与未点赞的图片使用相同的目标尺寸
+     */
+    private void acquireLikedBitmaps() {
+        BitmapCache cache = BitmapCache.getInstance();
+        Resources res = getResources();
+        mThumbsSelectedBm = cache.acquire(res, R.drawable.ic_messages_like_selected, mBitmapTargetSize);
+        //叠加图片与点赞图片保持相同的缩放比例，其原始大小只读取尺寸获得
+        int shiningSize = 0;
+        if (mBitmapTargetSize > 0) {
+            shiningSize = Math.round((float) mBitmapTargetSize / mBitmapNaturalSize
+                    * BitmapCache.getNaturalSize(res, R.drawable.ic_messages_like_selected_shining));
+        }
+        mThumbsSelectedshiningBm = cache.acquire(res, R.drawable.ic_messages_like_selected_shining, shiningSize);
+        isLikedBitmapAcquired = true;
+    }
+
+    /**
+     * 设置点赞状态，添加到窗口期间切换到点赞时先获取点赞后的图片，
+     * 解码在点赞或绑定时完成，不放到点赞动画的第一帧绘制中
+     *
+     * @param liked 是否点赞
+     */
+    private void setLiked(boolean liked) {
+        isSelected = liked;
+        if (liked && isBitmapAcquired && !isLikedBitmapAcquired) {
+            acquireLikedBitmaps();
+        }
+    }
+
+    /**
+     * 获取当前点赞状态的图片，只返回已获取的图片，不在绘制过程中解码
+     *
+     * @return 图片，未添加到窗口时为null
+     */
+    private Bitmap getThumbsBitmap() {
+        return isSelected ? mThumbsSelectedBm : mThumbsDefaultBm;
+    }
+
+    /**
+     * 归还共享缓存中的点赞图片，未点赞和点赞后的图片各自按是否已获取归还
+     */
+    private void releaseBitmaps() {
+        BitmapCache cache = BitmapCache.getInstance();
+        if (isBitmapAcquired) {
+            cache.release(mThumbsDefaultBm);
+            mThumbsDefaultBm = null;
+            isBitmapAcquired = false;
+        }
+        if (isLikedBitmapAcquired) {
+            cache.release(mThumbsSelectedBm);
+            cache.release(mThumbsSelectedshiningBm);
+            mThumbsSelectedBm = null;
+            mThumbsSelectedshiningBm = null;
+            isLikedBitmapAcquired = false;
+        }
+    }
+
+    /**
+     * 宽度为点赞图片、间距和点赞数的稳定宽度之和，高度为点赞图片上下各留出20像素给叠加图片，
+     * 都按点赞图片的原始大小计算，避免点赞图片按可用高度缩小后测量结果随之变化
+     */
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int width = getPaddingLeft() + getPaddingRight() + mBitmapNaturalSize + ThumbsLayout.TEXT_GAP
+                + (int) Math.ceil(mStableContentWidth);
+        int height = getPaddingTop() + getPaddingBottom() + mBitmapNaturalSize + 40;
+        setMeasuredDimension(resolveSize(Math.max(width, getSuggestedMinimumWidth()), widthMeasureSpec),
+                resolveSize(Math.max(height, getSuggestedMinimumHeight()), heightMeasureSpec));
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        //点赞图片上下各留出20像素给叠加图片，放不下时按可用高度解码
+        int available = h - getPaddingTop() - getPaddingBottom() - 40;
+        int targetSize = available > 0 && available < mBitmapNaturalSize ? available : 0;
+        if (targetSize != mBitmapTargetSize) {
+            if (isBitmapAcquired) {
+                releaseBitmaps();
+                acquireBitmaps(targetSize);
+            } else {
+                //添加到窗口时按该尺寸获取
+                mBitmapTargetSize = targetSize;
+            }
+        }
+        updateLayout();
+    }
+
+    /**
+     * 各层与本View在容器中的位置相同
+     */
+    @Override
+    protected void onLayout(boolean changed, int left, int top, int right, int bottom) {
+        if (mLayers != null) {
+            mLayers.layout(left, top, right, bottom);
+        }
+    }
+
+    @Override
+    protected Parcelable onSaveInstanceState() {
+        SavedState state = new SavedState(super.onSaveInstanceState());
+        state.itemId = mItemId;
+        state.count = mCount;
+        state.liked = isSelected;
+        return state;
+    }
+
+    @Override
+    protected void onRestoreInstanceState(Parcelable state) {
+        if (!(state instanceof SavedState)) {
+            super.onRestoreInstanceState(state);
+            return;
+        }
+        SavedState savedState = (SavedState) state;
+        super.onRestoreInstanceState(savedState.getSuperState());
+        bind(savedState.itemId, savedState.count, savedState.liked);
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        //只在添加到窗口期间引用共享缓存中的图片，从未添加到窗口的View不占用引用计数
+        if (!isBitmapAcquired) {
+            acquireBitmaps(mBitmapTargetSize);
+        }
+        //绘制位置和各层引用的图片都需要按重新获取的图片更新
+        updateLayout();
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        endAnimation();
+        releaseBitmaps();
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        super.onDraw(canvas);
+        if (mLayers != null) {
+            //由各层绘制
+            return;
+        }
+        isInvalidatePending = false;
+        mDrawCount++;
+        mMaxInvalidatesPerFrame = Math.max(mMaxInvalidatesPerFrame, mInvalidatesThisFrame);
+        mInvalidatesThisFrame = 0;
+        ThumbsMetrics metrics = mMetrics;
+        long start = metrics != null ? System.nanoTime() : 0;
+        Trace.beginSection("ThumbsView#onDraw");
+        try {
+            drawContent(canvas);
+        } finally {
+            Trace.endSection();
+        }
+        if (metrics != null) {
+            metrics.recordDraw(System.nanoTime() - start);
+            if (isSoftwareLayer) {
+                //软件绘制层每次绘制都先画到离屏缓存
+                metrics.recordSaveLayer();
+            }
+        }
+    }
+
+    /**
+     * 绘制点赞图片、点赞数和圆圈
+     *
+     * @param canvas 绘制幕
+     */
+    private void drawContent(Canvas canvas) {
+        Bitmap bitmap = getThumbsBitmap();
+        if (bitmap == null) {
+            return;
+        }
+        int bitmapLeft = mLayout.getBitmapLeft();
+        int bitmapTop = mLayout.getBitmapTop();
+        if (mSprite != null) {
+            //点赞图片、叠加图片和外圈的圆圈已绘制在帧图中
+            mSprite.draw(canvas, mAnimationProgress, bitmapLeft + bitmap.getWidth() / 2,
+                    bitmapTop + bitmap.getHeight() / 2, mDrawablePaint);
+            drawText(canvas);
+        } else {
+            if (isSelected) {
+                //绘制点赞图形
+                drawLikedDrawable(mScaleOff, bitmapLeft, bitmapTop, canvas, bitmap);
+            } else {
+                drawUnLikDrawable(mScaleOff, bitmapLeft, bitmapTop, canvas, bitmap);
+            }
+            drawText(canvas);
+            if (mBitmapCirclePaint != null && mQualityTier < QualityGovernor.TIER_NO_RING) {
+                canvas.drawCircle(bitmapLeft + bitmap.getWidth() / 2, getHeight() / 2, mBitmapCircleRadius, mBitmapCirclePaint);
+            }
+        }
+        if (mCirclePaint != null && mQualityTier < QualityGovernor.TIER_NO_RING) {
+            canvas.drawCircle(clickX, clickY, CLICK_CIRCLE_RADIUS, mCirclePaint);
+        }
+        if (mParticles != null && mParticles.isActive()) {
+            mParticlePaint.setAlpha(mParticles.getAlpha());
+            canvas.drawPoints(mParticles.getPoints(), 0, mParticles.getCount() * 2, mParticlePaint);
+        }
+    }
+
+    /**
+     * 绘制未点赞时的点赞位图
+     *
+     * @param scaleCv    伸缩系数
+     * @param bitmapLeft 位图绘制左边距
+     * @param bitmapTop  位图绘制上边距
+     * @param canvas     绘制幕
+     * @param bitmap     绘制位图
+     */
+    public void drawUnLikDrawable(float scaleCv, int bitmapLeft, int bitmapTop, Canvas canvas, Bitmap bitmap) {
+        canvas.save();
+        canvas.scale(scaleCv, scaleCv, bitmapLeft + bitmap.getWidth() / 2, bitmapTop + bitmap.getHeight() / 2);
+        canvas.drawBitmap(bitmap, bitmapLeft, bitmapTop, mIconTint != 0 ? mIconTintPaint : mDrawablePaint);
+        canvas.restore();
+    }
+
+    /**
+     * 绘制点赞时的点赞位图
+     *
+     * @param scaleCv    伸缩系数
+     * @param bitmapLeft 位图绘制左边距
+     * @param bitmapTop  位图绘制上边距
+     * @param canvas     绘制幕
+     * @param bitmap     绘制位图
+     */
+    public void drawLikedDrawable(float scaleCv, int bitmapLeft, int bitmapTop, Canvas canvas, Bitmap bitmap) {
+        Trace.beginSection("ThumbsView#drawLikedDrawable");
+        canvas.save();
+        //位图做伸缩的几何变换
+        canvas.scale(scaleCv, scaleCv, bitmapLeft + bitmap.getWidth() / 2, bitmapTop + bitmap.getHeight() / 2);
+        canvas.drawBitmap(bitmap, bitmapLeft, bitmapTop, mDrawablePaint);
+        //叠加图片按默认的 SRC_OVER 直接绘制在点赞图片之上，无需离屏缓存
+        canvas.drawBitmap(mThumbsSelectedshiningBm, bitmapLeft + 5, bitmapTop - 20, mDrawablePaint);
+        canvas.restore();
+        Trace.endSection();
+    }
+
+    /**
+     * 绘制点赞数，文字宽度和绘制位置已在{@link #updateLayout()}中计算好
+     *
+     * @param canvas 绘制幕
+     */
+    public void drawText(Canvas canvas) {
+        float textLeft = mLayout.getTextLeft();
+        float textTop = mLayout.getTextTop();
+        //绘制不动部分的文字
+        int prefixLength = mDigitDiff.getPrefixLength();
+        if (mPrefixBitmap != null && prefixLength > 0) {
+            canvas.drawBitmap(mPrefixBitmap, textLeft - PREFIX_PADDING, textTop + mGlyphAtlas.getTop(), mDrawablePaint);
+        } else {
+            canvas.drawText(mContentChars, 0, prefixLength, textLeft, textTop, mTextPaint);
+        }
+        //逐列绘制跳动部分的文字，不做渐隐的档位前半程只绘制离开的字符、后半程只绘制进入的字符
+        mJumpText.drawColumns(canvas, mDigitDiff, mLayout, textLeft, textTop, mJumpProgress,
+                mQualityTier < QualityGovernor.TIER_NO_FADE);
+    }
+
+    /**
+     * 开始点赞动画
+     */
+    public void startAnimator() {
+        Trace.beginSection("ThumbsView#startAnimator");
+        startTimeline(true);
+        Trace.endSection();
+    }
+
+    /**
+     * 从头开始播放时间轴，正在播放的动画会被取消
+     *
+     * @param like 是否为点赞动画，否则只滚动跳动文字
+     */
+    private void startTimeline(boolean like) {
+        ValueAnimator animator = getAnimator();
+        animator.cancel();
+        if (isLikeAnimation && !like) {
+            //点赞动画未结束时只改变了点赞数，点赞动画的属性直接到结束状态
+            setAnimationProgress(1f);
+        }
+        isLikeAnimation = like;
+        boolean touchClick = isTouchClick;
+        isTouchClick = false;
+        if (like) {
+            ensureCirclePaints();
+        }
+        if (!isBitmapAcquired) {
+            //未添加到窗口时不可见，所有属性直接到结束状态
+            mSprite = null;
+            setAnimationProgress(1f);
+            return;
+        }
+        if (like && !touchClick) {
+            //服务端推送、绑定、无障碍或代码调用引起的变化，上一次触摸的位置可能属于另一个数据项
+            clickX = mLayout.getBitmapLeft() + getThumbsBitmap().getWidth() / 2;
+            clickY = getHeight() / 2;
+        }
+        mQualityTier = isAdaptiveQuality ? QualityMonitor.getInstance().getTier(getContext()) : QualityGovernor.TIER_FULL;
+        if (mMetrics != null) {
+            mMetrics.recordQualityTier(mQualityTier);
+        }
+        if (mQualityTier == QualityGovernor.TIER_SNAP) {
+            //不播放动画，所有属性直接到结束状态
+            mSprite = null;
+            setAnimationProgress(1f);
+            return;
+        }
+        if (mLayers != null) {
+            mLayers.start(like, mQualityTier < QualityGovernor.TIER_NO_RING, mDigitDiff, clickX, clickY);
+        } else if (like && isSpriteAnimation && mQualityTier == QualityGovernor.TIER_FULL) {
+            Bitmap bitmap = getThumbsBitmap();
+            Bitmap overlay = isSelected ? mThumbsSelectedshiningBm : null;
+            mSprite = SpriteCache.getInstance().obtain(getContext(), bitmap, overlay, mContentColor,
+                    CIRCLE_STROKE_WIDTH, mBitmapCircleRadiusDefault, isSelected ? 0 : mIconTint);
+        }
+        if (like && isSelected && mParticles != null && mLayers == null && mQualityTier == QualityGovernor.TIER_FULL) {
+            //从点赞图片外圈圆圈的圆心迸发
+            Bitmap bitmap = mThumbsSelectedBm;
+            mParticles.start(mLayout.getBitmapLeft() + bitmap.getWidth() / 2, getHeight() / 2,
+                    mBitmapCircleRadiusDefault * PARTICLE_DISTANCE_SCALE);
+        }
+        animator.start();
+    }
+
+    /**
+     * 结束正在播放的动画，所有属性直接到结束状态
+     */
+    private void endAnimation() {
+        if (mAnimator != null && mAnimator.isStarted()) {
+            mAnimator.cancel();
+            setAnimationProgress(1f);
+        }
+    }
+
+    private ValueAnimator getAnimator() {
+        if (mAnimator == null) {
+            mAnimator = ValueAnimator.ofFloat(0f, 1f);
+            mAnimator.setDuration(ThumbsTimeline.DURATION);
+            //各属性的插值由时间轴计算，驱动动画本身匀速
+            mAnimator.setInterpolator(new LinearInterpolator());
+            mAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+                @Override
+                public void onAnimationUpdate(ValueAnimator animation) {
+                    onAnimationFrame(animation.getAnimatedFraction());
+                }
+            });
+            mAnimator.addListener(new AnimatorListenerAdapter() {
+                @Override
+                public void onAnimationStart(Animator animation) {
+                    onAnimationMetricsStart();
+                    if (isAdaptiveQuality) {
+                        isQualityMonitored = true;
+                        QualityMonitor.getInstance().onAnimationStart(getContext());
+                    }
+                }
+
+                @Override
+                public void onAnimationEnd(Animator animation) {
+                    mSprite = null;
+                    if (mParticles != null) {
+                        mParticles.release();
+                    }
+                    onAnimationMetricsEnd();
+                    if (isQualityMonitored) {
+                        isQualityMonitored = false;
+                        QualityMonitor.getInstance().onAnimationEnd();
+                    }
+                }
+            });
+        }
+        return mAnimator;
+    }
+
+    /**
+     * 按下时不点赞，只有在点击区域内按下、移动不超过触摸阈值并在点击区域内抬起才点赞；
+     * 父View开始滑动时收到取消，不点赞
+     */
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        float x = event.getX();
+        float y = event.getY();
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+                //点击区域外的按下不消费，交给父View处理
+                return mTapDetector.onDown(x, y);
+            case MotionEvent.ACTION_MOVE:
+                mTapDetector.onMove(x, y);
+                return true;
+            case MotionEvent.ACTION_UP:
+                if (mTapDetector.onUp(x, y)) {
+                    clickX = x;
+                    clickY = y;
+                    isTouchClick = true;
+                    performClick();
+                }
+                return true;
+            case MotionEvent.ACTION_CANCEL:
+                mTapDetector.onCancel();
+                return true;
+            default:
+                return super.onTouchEvent(event);
+        }
+    }
+
+    /**
+     * 点击时切换点赞状态，无障碍服务触发的点击同样生效
+     */
+    @Override
+    public boolean performClick() {
+        super.performClick();
+        like(!isSelected);
+        return true;
+    }
+
+    /**
+     * 旋转屏幕等重建View时保存的点赞状态
+     */
+    static class SavedState extends BaseSavedState {
+
+        long itemId;
+        long count;
+        boolean liked;
+
+        SavedState(Parcelable superState) {
+            super(superState);
+        }
+
+        private SavedState(Parcel in) {
+            super(in);
+            itemId = in.readLong();
+            count = in.readLong();
+            liked = in.readInt() != 0;
+        }
+
+        @Override
+        public void writeToParcel(Parcel out, int flags) {
+            super.writeToParcel(out, flags);
+            out.writeLong(itemId);
+            out.writeLong(count);
+            out.writeInt(liked ? 1 : 0);
+        }
+
+        public static final Parcelable.Creator<SavedState> CREATOR = new Parcelable.Creator<SavedState>() {
+            @Override
+            public SavedState createFromParcel(Parcel in) {
+                return new SavedState(in);
+            }
+
+            @Override
+            public SavedState[] newArray(int size) {
+                return new SavedState[size];
+            }
+        };
+    }
+
+    /**
+     * 点赞状态变化的监听
+     */
+    public interface OnLikeChangedListener {
+
+        /**
+         * 点赞状态变化，在主线程回调，快速连续点击时每次都会回调，可交给{@link LikeEventDispatcher}合并后再提交
+         *
+         * @param view   点赞的View
+         * @param itemId 绑定的数据项ID，未绑定时为{@link #NO_ITEM_ID}
+         * @param liked  是否点赞
+         * @param count  变化后的点赞数
+         */
+        void onLikeChanged(ThumbsView view, long itemId, boolean liked, long count);
     }
 }
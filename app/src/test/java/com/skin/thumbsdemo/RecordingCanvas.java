@@ -0,0 +1,273 @@
+package com.skin.thumbsdemo;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+
+import java.util.Locale;
+
+/**
+ * 记录绘制操作的Canvas，不做实际绘制
+ * <p>
+ * 始终按类型统计操作次数，统计本身不创建对象；开启记录后额外把每个操作写成一行文字，用于与基准文件比较。
+ * Created by wangcheng on 2026/10/17.
+ */
+public class RecordingCanvas extends Canvas {
+
+    private int mWidth;
+    private int mHeight;
+    private int mDrawBitmapCount;
+    private int mDrawTextCount;
+    private int mDrawCircleCount;
+    private int mDrawPointsCount;
+    private int mSaveLayerCount;
+    private int mSaveCount;
+    /**
+     * 操作记录，为null时不记录
+     */
+    private StringBuilder mLog;
+
+    public RecordingCanvas(int width, int height) {
+        mWidth = width;
+        mHeight = height;
+    }
+
+    /**
+     * 开始记录操作
+     */
+    public void startRecording() {
+        mLog = new StringBuilder();
+    }
+
+    /**
+     * 获取记录的操作
+     *
+     * @return 每行一个操作
+     */
+    public String getLog() {
+        return mLog == null ? "" : mLog.toString();
+    }
+
+    /**
+     * 清空操作次数，记录的操作保留
+     */
+    public void resetCounts() {
+        mDrawBitmapCount = 0;
+        mDrawTextCount = 0;
+        mDrawCircleCount = 0;
+        mDrawPointsCount = 0;
+        mSaveLayerCount = 0;
+        mSaveCount = 0;
+    }
+
+    public int getDrawBitmapCount() {
+        return mDrawBitmapCount;
+    }
+
+    public int getDrawTextCount() {
+        return mDrawTextCount;
+    }
+
+    public int getDrawCircleCount() {
+        return mDrawCircleCount;
+    }
+
+    public int getDrawPointsCount() {
+        return mDrawPointsCount;
+    }
+
+    public int getSaveLayerCount() {
+        return mSaveLayerCount;
+    }
+
+    public int getSaveCount() {
+        return mSaveCount;
+    }
+
+    /**
+     * 记录一个操作，参数会装箱，调用前需判断是否正在记录
+     */
+    private void log(String format, Object... args) {
+        mLog.append(String.format(Locale.US, format, args)).append('\n');
+    }
+
+    private static int alpha(Paint paint) {
+        return paint == null ? 0xff : paint.getAlpha();
+    }
+
+    @Override
+    public int getWidth() {
+        return mWidth;
+    }
+
+    @Override
+    public int getHeight() {
+        return mHeight;
+    }
+
+    @Override
+    public boolean isHardwareAccelerated() {
+        return true;
+    }
+
+    @Override
+    public int save() {
+        mSaveCount++;
+        if (mLog != null) {
+            log("save");
+        }
+        return mSaveCount;
+    }
+
+    @Override
+    public void restore() {
+        if (mLog != null) {
+            log("restore");
+        }
+    }
+
+    @Override
+    public void restoreToCount(int saveCount) {
+        if (mLog != null) {
+            log("restoreToCount");
+        }
+    }
+
+    @Override
+    public int saveLayer(RectF bounds, Paint paint) {
+        mSaveLayerCount++;
+        if (mLog != null) {
+            log("saveLayer");
+        }
+        return ++mSaveCount;
+    }
+
+    @Override
+    public int saveLayer(RectF bounds, Paint paint, int saveFlags) {
+        return saveLayer(bounds, paint);
+    }
+
+    @Override
+    public int saveLayer(float left, float top, float right, float bottom, Paint paint) {
+        return saveLayer(null, paint);
+    }
+
+    @Override
+    public int saveLayer(float left, float top, float right, float bottom, Paint paint, int saveFlags) {
+        return saveLayer(null, paint);
+    }
+
+    @Override
+    public int saveLayerAlpha(RectF bounds, int alpha) {
+        return saveLayer(null, null);
+    }
+
+    @Override
+    public int saveLayerAlpha(float left, float top, float right, float bottom, int alpha) {
+        return saveLayer(null, null);
+    }
+
+    @Override
+    public void translate(float dx, float dy) {
+        if (mLog != null) {
+            log("translate %.1f %.1f", dx, dy);
+        }
+    }
+
+    @Override
+    public void scale(float sx, float sy) {
+        if (mLog != null) {
+            log("scale %.3f %.3f", sx, sy);
+        }
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, float left, float top, Paint paint) {
+        mDrawBitmapCount++;
+        if (mLog != null) {
+            log("drawBitmap %dx%d @%.1f,%.1f a%d", bitmap.getWidth(), bitmap.getHeight(), left, top, alpha(paint));
+        }
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, Rect src, Rect dst, Paint paint) {
+        mDrawBitmapCount++;
+        if (mLog != null) {
+            log("drawBitmap %dx%d %s->%s a%d", bitmap.getWidth(), bitmap.getHeight(),
+                    src == null ? "null" : src.toShortString(), dst.toShortString(), alpha(paint));
+        }
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, Rect src, RectF dst, Paint paint) {
+        mDrawBitmapCount++;
+        if (mLog != null) {
+            log("drawBitmap %dx%d %s->%s a%d", bitmap.getWidth(), bitmap.getHeight(),
+                    src == null ? "null" : src.toShortString(), dst.toShortString(), alpha(paint));
+        }
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, Matrix matrix, Paint paint) {
+        mDrawBitmapCount++;
+        if (mLog != null) {
+            log("drawBitmap %dx%d %s a%d", bitmap.getWidth(), bitmap.getHeight(), matrix.toShortString(), alpha(paint));
+        }
+    }
+
+    @Override
+    public void drawText(char[] text, int index, int count, float x, float y, Paint paint) {
+        mDrawTextCount++;
+        if (mLog != null) {
+            log("drawText '%s' @%.1f,%.1f a%d", new String(text, index, count), x, y, alpha(paint));
+        }
+    }
+
+    @Override
+    public void drawText(String text, float x, float y, Paint paint) {
+        mDrawTextCount++;
+        if (mLog != null) {
+            log("drawText '%s' @%.1f,%.1f a%d", text, x, y, alpha(paint));
+        }
+    }
+
+    @Override
+    public void drawText(String text, int start, int end, float x, float y, Paint paint) {
+        mDrawTextCount++;
+        if (mLog != null) {
+            log("drawText '%s' @%.1f,%.1f a%d", text.substring(start, end), x, y, alpha(paint));
+        }
+    }
+
+    @Override
+    public void drawText(CharSequence text, int start, int end, float x, float y, Paint paint) {
+        mDrawTextCount++;
+        if (mLog != null) {
+            log("drawText '%s' @%.1f,%.1f a%d", text.subSequence(start, end), x, y, alpha(paint));
+        }
+    }
+
+    @Override
+    public void drawCircle(float cx, float cy, float radius, Paint paint) {
+        mDrawCircleCount++;
+        if (mLog != null) {
+            log("drawCircle %.1f,%.1f r%.1f a%d", cx, cy, radius, alpha(paint));
+        }
+    }
+
+    @Override
+    public void drawPoints(float[] pts, int offset, int count, Paint paint) {
+        mDrawPointsCount++;
+        if (mLog != null) {
+            log("drawPoints %d a%d", count / 2, alpha(paint));
+        }
+    }
+
+    @Override
+    public void drawPoints(float[] pts, Paint paint) {
+        drawPoints(pts, 0, pts.length, paint);
+    }
+}
@@ -0,0 +1,104 @@
+package com.skin.thumbsdemo;
+
+import android.view.MotionEvent;
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * ThumbsBar在一个View中绘制多格计数，各格动画由同一个计时器驱动
+ * Created by wangcheng on 2026/10/17.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class ThumbsBarTest {
+
+    private static final int WIDTH = ThumbsRenderHarness.WIDTH * 3;
+
+    private ThumbsBar mBar;
+
+    @Before
+    public void setUp() throws Exception {
+        mBar = new ThumbsBar(RuntimeEnvironment.application);
+        mBar.addSlot(R.drawable.ic_messages_like_unselected, R.drawable.ic_messages_like_selected, 1299);
+        mBar.addSlot(R.drawable.ic_messages_like_unselected, 0, 8);
+        mBar.addSlot(R.drawable.ic_messages_like_unselected, 0, 0);
+        mBar.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(ThumbsRenderHarness.HEIGHT, View.MeasureSpec.EXACTLY));
+        mBar.layout(0, 0, WIDTH, ThumbsRenderHarness.HEIGHT);
+    }
+
+    @Test
+    public void slotsSplitWidth() throws Exception {
+        assertEquals(3, mBar.getSlotCount());
+        assertEquals(0, mBar.getSlotAt(0));
+        assertEquals(1, mBar.getSlotAt(WIDTH / 2));
+        assertEquals(2, mBar.getSlotAt(WIDTH - 1));
+        assertEquals(-1, mBar.getSlotAt(WIDTH));
+    }
+
+    @Test
+    public void drawsAllSlotsInOnePass() throws Exception {
+        RecordingCanvas canvas = new RecordingCanvas(WIDTH, ThumbsRenderHarness.HEIGHT);
+        canvas.startRecording();
+        mBar.onDraw(canvas);
+        assertEquals(3, canvas.getDrawBitmapCount());
+        assertEquals(0, canvas.getSaveLayerCount());
+    }
+
+    @Test
+    public void slotsAnimateIndependently() throws Exception {
+        mBar.toggle(0, true);
+        mBar.setCount(2, 1, true);
+        assertTrue(mBar.isSelected(0));
+        assertFalse(mBar.isSelected(2));
+        assertEquals(1300, mBar.getCount(0));
+        assertEquals(8, mBar.getCount(1));
+        assertEquals(1, mBar.getCount(2));
+        assertEquals(2, mBar.getAnimatingSlotCount());
+    }
+
+    @Test
+    public void clickTogglesSlot() throws Exception {
+        mBar.performSlotClick(1);
+        assertTrue(mBar.isSelected(1));
+        assertEquals(9, mBar.getCount(1));
+        mBar.performSlotClick(1);
+        assertFalse(mBar.isSelected(1));
+        assertEquals(8, mBar.getCount(1));
+    }
+
+    @Test
+    public void tapOnlyHitsIconAndCount() throws Exception {
+        int slotLeft = WIDTH / 3;
+        //格内图片和计数之外的空白不算点击，按下不消费
+        assertFalse(tap(slotLeft + 1, 1));
+        assertFalse(mBar.isSelected(1));
+        //格内的布局与同样大小的ThumbsView一致，图片中心在(148, 75)
+        assertTrue(tap(slotLeft + 148, ThumbsRenderHarness.HEIGHT / 2));
+        assertTrue(mBar.isSelected(1));
+        assertFalse(mBar.isSelected(0));
+        assertFalse(mBar.isSelected(2));
+    }
+
+    private boolean tap(float x, float y) {
+        MotionEvent down = MotionEvent.obtain(0, 0, MotionEvent.ACTION_DOWN, x, y, 0);
+        MotionEvent up = MotionEvent.obtain(0, 50, MotionEvent.ACTION_UP, x, y, 0);
+        boolean consumed = mBar.onTouchEvent(down);
+        if (consumed) {
+            mBar.onTouchEvent(up);
+        }
+        down.recycle();
+        up.recycle();
+        return consumed;
+    }
+}
@@ -0,0 +1,138 @@
+package com.skin.thumbsdemo;
+
+import android.graphics.Canvas;
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.lang.reflect.Method;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * ThumbsView放入ThumbsLayerLayout后动画过程中本身不重绘，各层只修改绘制属性或重新记录自身
+ * Created by wangcheng on 2026/10/17.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class ThumbsLayerLayoutTest {
+
+    /**
+     * 点赞图片层和外圈圆圈层在容器中的位置，ThumbsView在最前
+     */
+    private static final int ICON_LAYER = 1;
+    private static final int RING_LAYER = 3;
+    private static final int PADDING = 10;
+    private static final Pattern RADIUS = Pattern.compile("drawCircle \\S+ r([0-9.]+)");
+
+    private ThumbsLayerLayout mLayout;
+    private ThumbsView mView;
+
+    @Before
+    public void setUp() throws Exception {
+        //添加到窗口后动画的帧回调不再立即执行，由测试逐帧驱动，每个测试结束后由Robolectric重置
+        ShadowLooper.pauseMainLooper();
+        mLayout = new ThumbsLayerLayout(RuntimeEnvironment.application);
+        mView = new ThumbsView(RuntimeEnvironment.application);
+        mLayout.addView(mView);
+        ThumbsRenderHarness.attachToWindow(mLayout, ThumbsRenderHarness.WIDTH + PADDING * 2,
+                ThumbsRenderHarness.HEIGHT + PADDING * 2);
+        mView.bind(1, 1299, false);
+        mLayout.setPadding(PADDING, PADDING, PADDING, PADDING);
+        mLayout.measure(View.MeasureSpec.makeMeasureSpec(ThumbsRenderHarness.WIDTH + PADDING * 2, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(ThumbsRenderHarness.HEIGHT + PADDING * 2, View.MeasureSpec.EXACTLY));
+        mLayout.layout(0, 0, ThumbsRenderHarness.WIDTH + PADDING * 2, ThumbsRenderHarness.HEIGHT + PADDING * 2);
+    }
+
+    private int playFrames() {
+        int frames = ThumbsRenderHarness.getFrameCount();
+        for (int frame = 0; frame < frames; frame++) {
+            float progress = Math.min(1f, (float) (frame * ThumbsRenderHarness.FRAME_MS) / ThumbsTimeline.DURATION);
+            mView.setAnimationProgress(progress);
+        }
+        return frames;
+    }
+
+    private float recordRingRadius() throws Exception {
+        RecordingCanvas canvas = new RecordingCanvas(ThumbsRenderHarness.WIDTH, ThumbsRenderHarness.HEIGHT);
+        canvas.startRecording();
+        //Robolectric的View.draw不调用onDraw，直接记录圆圈层自身的绘制
+        Method onDraw = View.class.getDeclaredMethod("onDraw", Canvas.class);
+        onDraw.setAccessible(true);
+        onDraw.invoke(mLayout.getChildAt(RING_LAYER), canvas);
+        Matcher matcher = RADIUS.matcher(canvas.getLog());
+        assertTrue(canvas.getLog(), matcher.find());
+        return Float.parseFloat(matcher.group(1));
+    }
+
+    @Test
+    public void likeFramesOnlyChangeProperties() throws Exception {
+        mView.like(true);
+        assertEquals(1300, mView.getCount());
+        long before = mLayout.getLayerInvalidateCount();
+        long viewBefore = mView.getInvalidateCount();
+        int frames = playFrames();
+        //1299 -> 1300跳动3列，每列离开和进入的字符最多各换一次；外圈圆圈每帧最多重新记录一次
+        assertTrue(mLayout.getLayerInvalidateCount() - before <= 3 * 2 + frames);
+        assertEquals(viewBefore, mView.getInvalidateCount());
+    }
+
+    @Test
+    public void largeRollRecordsOncePerStep() throws Exception {
+        mView.setCount(1356, true);
+        long before = mLayout.getLayerInvalidateCount();
+        playFrames();
+        //1299 -> 1356跳动3列共 1 + 6 + 7 步，每步离开和进入的字符各换一次
+        assertTrue(mLayout.getLayerInvalidateCount() - before <= (1 + 6 + 7) * 2);
+    }
+
+    @Test
+    public void ringGrowsByRadius() throws Exception {
+        mView.like(true);
+        View ring = mLayout.getChildAt(RING_LAYER);
+        mView.setAnimationProgress(0.1f);
+        float small = recordRingRadius();
+        mView.setAnimationProgress(0.7f);
+        float large = recordRingRadius();
+        assertTrue(small + " < " + large, small < large);
+        //线宽不随图层缩放
+        assertEquals(1f, ring.getScaleX(), 0f);
+        assertEquals(1f, ring.getScaleY(), 0f);
+    }
+
+    @Test
+    public void animationEndsAtRest() throws Exception {
+        mView.like(true);
+        playFrames();
+        View icon = mLayout.getChildAt(ICON_LAYER);
+        assertEquals(1f, icon.getScaleX(), 0.001f);
+        mView.like(false);
+        assertEquals(1299, mView.getCount());
+    }
+
+    @Test
+    public void layersMatchThumbsViewBounds() throws Exception {
+        assertEquals(PADDING, mView.getLeft());
+        for (int i = 1; i < mLayout.getChildCount(); i++) {
+            View layer = mLayout.getChildAt(i);
+            assertEquals(mView.getLeft(), layer.getLeft());
+            assertEquals(mView.getTop(), layer.getTop());
+            assertEquals(mView.getWidth(), layer.getWidth());
+            assertEquals(mView.getHeight(), layer.getHeight());
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void hostsOnlyOneThumbsView() throws Exception {
+        mLayout.addView(new ThumbsView(RuntimeEnvironment.application));
+    }
+}
@@ -0,0 +1,152 @@
+package com.skin.thumbsdemo;
+
+import android.app.Activity;
+import android.content.Context;
+import android.view.View;
+import android.widget.FrameLayout;
+
+import org.robolectric.Robolectric;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * 在JVM上逐帧驱动ThumbsView的动画并统计每帧的绘制操作和对象分配
+ * <p>
+ * 动画时钟由测试控制：开始动画后按每帧{@link #FRAME_MS}毫秒设置动画进度并直接调用onDraw，
+ * 不经过消息循环和父View，统计到的只有ThumbsView自身的开销。
+ * Robolectric替换的{@link View#invalidate()}每次调用都会分配对象，设备上不会，按请求重绘的次数从分配字节数中扣除。
+ * Created by wangcheng on 2026/10/17.
+ */
+public class ThumbsRenderHarness {
+
+    /**
+     * 每帧的时长（毫秒）
+     */
+    public static final int FRAME_MS = 16;
+    public static final int WIDTH = 300;
+    public static final int HEIGHT = 150;
+
+    /**
+     * 测量前调用{@link View#invalidate()}的次数，超过JDK定制MethodHandle的阈值（127次）
+     */
+    private static final int INVALIDATE_WARMUP = 256;
+
+    private final ThumbsView mView;
+    private final RecordingCanvas mCanvas = new RecordingCanvas(WIDTH, HEIGHT);
+    private final com.sun.management.ThreadMXBean mThreadBean;
+    /**
+     * 读取分配字节数本身的开销
+     */
+    private final long mProbeBytes;
+    /**
+     * 每次{@link View#invalidate()}在Robolectric中分配的字节数
+     */
+    private final long mInvalidateBytes;
+
+    public ThumbsRenderHarness(Context context, long count) {
+        mView = new ThumbsView(context);
+        attachToWindow(mView, WIDTH, HEIGHT);
+        mView.bind(1, count, false);
+        mView.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        mView.layout(0, 0, WIDTH, HEIGHT);
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        mThreadBean = (com.sun.management.ThreadMXBean) bean;
+        mThreadBean.setThreadAllocatedMemoryEnabled(true);
+        long start = allocatedBytes();
+        mProbeBytes = allocatedBytes() - start;
+        //Robolectric经MethodHandle转发invalidate，调用一定次数后才生成定制的字节码，先调用足够多次，
+        //否则这次分配会落在某一帧中，随之前的测试调用过多少次而变化
+        for (int i = 0; i < INVALIDATE_WARMUP; i++) {
+            mView.invalidate();
+        }
+        start = allocatedBytes();
+        mView.invalidate();
+        mInvalidateBytes = Math.max(0, allocatedBytes() - start - mProbeBytes);
+    }
+
+    /**
+     * 把View放入一个Activity的窗口，ThumbsView在添加到窗口时才获取图片
+     *
+     * @param view   View
+     * @param width  宽度
+     * @param height 高度
+     */
+    public static void attachToWindow(View view, int width, int height) {
+        Activity activity = Robolectric.setupActivity(Activity.class);
+        FrameLayout root = new FrameLayout(activity);
+        activity.setContentView(root);
+        root.addView(view, new FrameLayout.LayoutParams(width, height));
+        //主线程消息循环暂停时，添加到窗口在第一次遍历中完成
+        ShadowLooper.runUiThreadTasks();
+    }
+
+    public ThumbsView getView() {
+        return mView;
+    }
+
+    public RecordingCanvas getCanvas() {
+        return mCanvas;
+    }
+
+    /**
+     * 获取完整播放一次动画的帧数
+     *
+     * @return 帧数
+     */
+    public static int getFrameCount() {
+        return (int) (ThumbsTimeline.DURATION / FRAME_MS) + 1;
+    }
+
+    private long allocatedBytes() {
+        return mThreadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * 绘制动画的一帧
+     *
+     * @param frame 帧序号，从0开始
+     * @return 本帧分配的字节数
+     */
+    public long drawFrame(int frame) {
+        float progress = Math.min(1f, (float) (frame * FRAME_MS) / ThumbsTimeline.DURATION);
+        long invalidates = mView.getInvalidateCount();
+        long start = allocatedBytes();
+        mView.setAnimationProgress(progress);
+        mView.onDraw(mCanvas);
+        long allocated = allocatedBytes() - start - mProbeBytes;
+        return Math.max(0, allocated - (mView.getInvalidateCount() - invalidates) * mInvalidateBytes);
+    }
+
+    /**
+     * 点赞或取消点赞并逐帧播放完动画
+     *
+     * @param liked 点赞/取消点赞
+     * @return 每帧分配的字节数
+     */
+    public long[] playLike(boolean liked) {
+        mView.like(liked);
+        return playFrames();
+    }
+
+    /**
+     * 设置点赞数并逐帧播放完滚动动画
+     *
+     * @param count 点赞数
+     * @return 每帧分配的字节数
+     */
+    public long[] playCount(long count) {
+        mView.setCount(count, true);
+        return playFrames();
+    }
+
+    private long[] playFrames() {
+        long[] allocations = new long[getFrameCount()];
+        for (int frame = 0; frame < allocations.length; frame++) {
+            allocations[frame] = drawFrame(frame);
+        }
+        return allocations;
+    }
+}
@@ -0,0 +1,79 @@
+package com.skin.thumbsdemo;
+
+import android.view.View;
+import android.view.ViewGroup;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * ThumbsView只在添加到窗口期间引用共享缓存中的图片，从未添加到窗口的View不占用引用计数
+ * Created by wangcheng on 2026/10/17.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class ThumbsViewBitmapTest {
+
+    @Before
+    public void setUp() throws Exception {
+        //添加到窗口后动画的帧回调不再立即执行，每个测试结束后由Robolectric重置
+        ShadowLooper.pauseMainLooper();
+    }
+
+    private static long acquireCount() {
+        BitmapCache cache = BitmapCache.getInstance();
+        return cache.getHitCount() + cache.getMissCount();
+    }
+
+    private static int references() {
+        return BitmapCache.getInstance().getReferenceCount();
+    }
+
+    @Test
+    public void detachedViewAcquiresNothing() throws Exception {
+        long acquires = acquireCount();
+        int references = references();
+        ThumbsView view = new ThumbsView(RuntimeEnvironment.application);
+        view.bind(1, 5, true);
+        view.measure(View.MeasureSpec.makeMeasureSpec(ThumbsRenderHarness.WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(ThumbsRenderHarness.HEIGHT, View.MeasureSpec.EXACTLY));
+        view.layout(0, 0, ThumbsRenderHarness.WIDTH, ThumbsRenderHarness.HEIGHT);
+        view.like(false);
+        view.like(true);
+        assertEquals(acquires, acquireCount());
+        assertEquals(references, references());
+        assertTrue(view.getMeasuredWidth() > 0);
+    }
+
+    @Test
+    public void detachReleasesEveryBitmap() throws Exception {
+        int references = references();
+        ThumbsView view = new ThumbsView(RuntimeEnvironment.application);
+        ThumbsRenderHarness.attachToWindow(view, ThumbsRenderHarness.WIDTH, ThumbsRenderHarness.HEIGHT);
+        //未点赞的图片
+        assertEquals(references + 1, references());
+        //添加到窗口后才点赞，点赞后的图片和叠加图片在未点赞的图片之后获取
+        view.like(true);
+        assertEquals(references + 3, references());
+        ((ViewGroup) view.getParent()).removeView(view);
+        assertEquals(references, references());
+    }
+
+    @Test
+    public void likeAcquiresBeforeFirstFrame() throws Exception {
+        ThumbsRenderHarness harness = new ThumbsRenderHarness(RuntimeEnvironment.application, 5);
+        harness.getView().like(true);
+        //点赞时已获取点赞后的图片，动画的第一帧只绘制
+        long acquires = acquireCount();
+        harness.drawFrame(0);
+        assertEquals(acquires, acquireCount());
+    }
+}
@@ -0,0 +1,101 @@
+package com.skin.thumbsdemo;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 其他线程更新点赞数与主线程重新绑定数据项交错时，上一个数据项的值不会应用到新的数据项上
+ * Created by wangcheng on 2026/10/17.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class ThumbsViewPostCountTest {
+
+    private ThumbsView mView;
+
+    @Before
+    public void setUp() throws Exception {
+        ShadowLooper.pauseMainLooper();
+        mView = new ThumbsView(RuntimeEnvironment.application);
+        mView.bind(1, 100, false);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        ShadowLooper.unPauseMainLooper();
+    }
+
+    @Test
+    public void postCountAppliesToBoundItem() throws Exception {
+        assertTrue(mView.postCount(1, 101, true));
+        assertFalse(mView.postCount(2, 500, true));
+        ShadowLooper.runUiThreadTasks();
+        assertEquals(101, mView.getCount());
+        assertTrue(mView.isLiked());
+        assertEquals(1, mView.getAppliedUpdateCount());
+    }
+
+    @Test
+    public void updatesBetweenLooperTurnsApplyOncePerFrame() throws Exception {
+        assertTrue(mView.postCount(1, 101, true));
+        //主线程只注册帧回调，还未到下一帧
+        ShadowLooper.getShadowMainLooper().getScheduler().runOneTask();
+        assertEquals(100, mView.getCount());
+        assertTrue(mView.postCount(1, 102, true));
+        ShadowLooper.runUiThreadTasks();
+        assertEquals(102, mView.getCount());
+        assertEquals(1, mView.getAppliedUpdateCount());
+        assertEquals(1, mView.getDroppedUpdateCount());
+    }
+
+    @Test
+    public void bindBetweenCheckAndPublishDropsStaleValue() throws Exception {
+        //其他线程检查数据项ID通过
+        assertEquals(1, mView.getItemId());
+        //主线程重新绑定到另一个数据项
+        mView.bind(2, 7, false);
+        //其他线程随后才放入上一个数据项的值
+        mView.publishCount(1, 500, CountMailbox.LIKED);
+        ShadowLooper.runUiThreadTasks();
+        assertEquals(2, mView.getItemId());
+        assertEquals(7, mView.getCount());
+        assertFalse(mView.isLiked());
+        assertEquals(0, mView.getAppliedUpdateCount());
+        assertEquals(1, mView.getDroppedUpdateCount());
+        //丢弃后信箱为空，之后的更新仍会安排应用
+        assertTrue(mView.postCount(2, 8, true));
+        ShadowLooper.runUiThreadTasks();
+        assertEquals(8, mView.getCount());
+        assertTrue(mView.isLiked());
+    }
+
+    @Test
+    public void workerPostsWhileRebinding() throws Exception {
+        final long staleItem = 1;
+        Thread worker = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < 1000; i++) {
+                    mView.publishCount(staleItem, 1000 + i, CountMailbox.LIKED);
+                }
+            }
+        });
+        mView.bind(2, 7, false);
+        worker.start();
+        worker.join();
+        ShadowLooper.runUiThreadTasks();
+        assertEquals(7, mView.getCount());
+        assertFalse(mView.isLiked());
+        assertEquals(0, mView.getAppliedUpdateCount());
+    }
+}
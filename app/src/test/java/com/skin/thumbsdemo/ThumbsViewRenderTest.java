@@ -0,0 +1,193 @@
+package com.skin.thumbsdemo;
+
+import android.view.MotionEvent;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * ThumbsView绘制的性能回归测试：每帧的绘制操作数、离屏缓存和对象分配，以及绘制操作与基准文件一致
+ * <p>
+ * 基准文件位于src/test/golden，不存在时测试失败。绘制结果有意变化时用{@code gradlew test -Pthumbs.recordGoldens=true}运行，
+ * 按当前结果重新生成基准文件，检查后提交。
+ * Created by wangcheng on 2026/10/17.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class ThumbsViewRenderTest {
+
+    private static final File GOLDEN_DIR = new File("src/test/golden");
+    private static final Pattern CIRCLE = Pattern.compile("drawCircle (\\S+) r");
+    /**
+     * 是否按当前结果重新生成基准文件
+     */
+    private static final boolean isRecordGoldens = Boolean.getBoolean("thumbs.recordGoldens");
+
+    private ThumbsRenderHarness mHarness;
+
+    @Before
+    public void setUp() throws Exception {
+        //添加到窗口后动画的帧回调不再立即执行，由测试逐帧驱动，每个测试结束后由Robolectric重置
+        ShadowLooper.pauseMainLooper();
+        mHarness = new ThumbsRenderHarness(RuntimeEnvironment.application, 1299);
+    }
+
+    @Test
+    public void likeFrameBudget() throws Exception {
+        RecordingCanvas canvas = mHarness.getCanvas();
+        mHarness.playLike(true);
+        int frames = ThumbsRenderHarness.getFrameCount();
+        assertEquals(0, canvas.getSaveLayerCount());
+        //点赞图片和叠加图片
+        assertEquals(2 * frames, canvas.getDrawBitmapCount());
+        //点赞图片外圈和点击处的圆圈
+        assertEquals(2 * frames, canvas.getDrawCircleCount());
+        //不动部分1次，跳动的3列每列最多2个字符
+        assertTrue(canvas.getDrawTextCount() <= (1 + 3 * 2) * frames);
+    }
+
+    @Test
+    public void unlikeFrameBudget() throws Exception {
+        mHarness.playLike(true);
+        RecordingCanvas canvas = mHarness.getCanvas();
+        canvas.resetCounts();
+        mHarness.playLike(false);
+        int frames = ThumbsRenderHarness.getFrameCount();
+        assertEquals(0, canvas.getSaveLayerCount());
+        assertEquals(frames, canvas.getDrawBitmapCount());
+        assertEquals(2 * frames, canvas.getDrawCircleCount());
+    }
+
+    @Test
+    public void textCacheDrawsNoText() throws Exception {
+        mHarness.getView().setTextCacheEnabled(true);
+        RecordingCanvas canvas = mHarness.getCanvas();
+        mHarness.playCount(1356);
+        int frames = ThumbsRenderHarness.getFrameCount();
+        assertEquals(0, canvas.getDrawTextCount());
+        //点赞图片、不动部分文字缓存，以及跳动的3列每列最多2个数字
+        assertTrue(canvas.getDrawBitmapCount() <= (2 + 3 * 2) * frames);
+    }
+
+    @Test
+    public void zeroAllocationsPerFrame() throws Exception {
+        //第一次播放包含类加载和即时编译，不计入
+        mHarness.playLike(true);
+        mHarness.playLike(false);
+        assertNoAllocations("like", mHarness.playLike(true));
+        assertNoAllocations("unlike", mHarness.playLike(false));
+        assertNoAllocations("count", mHarness.playCount(99999));
+    }
+
+    private static void assertNoAllocations(String name, long[] allocations) {
+        for (int frame = 0; frame < allocations.length; frame++) {
+            assertEquals(name + " frame " + frame + " allocated bytes", 0, allocations[frame]);
+        }
+    }
+
+    @Test
+    public void likeMatchesGolden() throws Exception {
+        mHarness.getCanvas().startRecording();
+        mHarness.playLike(true);
+        assertGolden("like.txt", mHarness.getCanvas().getLog());
+    }
+
+    @Test
+    public void unlikeMatchesGolden() throws Exception {
+        mHarness.playLike(true);
+        mHarness.getCanvas().startRecording();
+        mHarness.playLike(false);
+        assertGolden("unlike.txt", mHarness.getCanvas().getLog());
+    }
+
+    @Test
+    public void countRollMatchesGolden() throws Exception {
+        mHarness.getCanvas().startRecording();
+        mHarness.playCount(1356);
+        assertGolden("count_roll.txt", mHarness.getCanvas().getLog());
+    }
+
+    @Test
+    public void serverChangeCirclesIconCentre() throws Exception {
+        ThumbsView view = mHarness.getView();
+        RecordingCanvas canvas = mHarness.getCanvas();
+        //点击点赞数文字，点击处的圆圈以触摸位置为圆心
+        tap(view, 200, 100);
+        canvas.startRecording();
+        mHarness.drawFrame(1);
+        assertTrue(canvas.getLog(), canvas.getLog().contains("drawCircle 200.0,100.0 r"));
+        //服务端推送取消点赞，两个圆圈都以点赞图片中心为圆心
+        view.bind(1, view.getCount() - 1, false, true);
+        canvas.startRecording();
+        mHarness.drawFrame(1);
+        Matcher matcher = CIRCLE.matcher(canvas.getLog());
+        assertTrue(matcher.find());
+        String ringCentre = matcher.group(1);
+        assertTrue(matcher.find());
+        assertEquals(ringCentre, matcher.group(1));
+    }
+
+    private static void tap(ThumbsView view, float x, float y) {
+        MotionEvent down = MotionEvent.obtain(0, 0, MotionEvent.ACTION_DOWN, x, y, 0);
+        MotionEvent up = MotionEvent.obtain(0, 50, MotionEvent.ACTION_UP, x, y, 0);
+        assertTrue(view.onTouchEvent(down));
+        view.onTouchEvent(up);
+        down.recycle();
+        up.recycle();
+    }
+
+    private static void assertGolden(String name, String actual) throws IOException {
+        File file = new File(GOLDEN_DIR, name);
+        if (isRecordGoldens) {
+            write(file, actual);
+            return;
+        }
+        assertTrue("Missing golden " + file.getPath() + ", run with -Pthumbs.recordGoldens=true", file.exists());
+        assertEquals("Draw ops differ from " + file.getPath(), read(file), actual);
+    }
+
+    private static String read(File file) throws IOException {
+        InputStream is = new FileInputStream(file);
+        try {
+            byte[] bytes = new byte[(int) file.length()];
+            int offset = 0;
+            while (offset < bytes.length) {
+                int read = is.read(bytes, offset, bytes.length - offset);
+                if (read < 0) {
+                    break;
+                }
+                offset += read;
+            }
+            return new String(bytes, 0, offset, "UTF-8");
+        } finally {
+            is.close();
+        }
+    }
+
+    private static void write(File file, String content) throws IOException {
+        file.getParentFile().mkdirs();
+        OutputStream os = new FileOutputStream(file);
+        try {
+            os.write(content.getBytes("UTF-8"));
+        } finally {
+            os.close();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.skin.thumbsdemo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 点赞数格式化的基准测试，每次交替格式化相邻的两个点赞数，避免命中上次的结果
+ * Created by wangcheng on 2026/10/17.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CountFormatterBenchmark {
+
+    @Param({"1", "1299", "99999", "1234567", "123456789", "1000000000000"})
+    public long count;
+
+    @Param({"0", "1", "2"})
+    public int style;
+
+    private CountFormatter mFormatter;
+    private long mNext;
+    private String mText;
+
+    @Setup
+    public void setUp() {
+        mFormatter = new CountFormatter(style);
+        mNext = count;
+        mText = Long.toString(count);
+    }
+
+    @Benchmark
+    public int format() {
+        mNext = mNext == count ? count + 1 : count;
+        return mFormatter.format(mNext);
+    }
+
+    @Benchmark
+    public long parse() {
+        return CountFormatter.parse(mText);
+    }
+}
@@ -0,0 +1,52 @@
+package com.skin.thumbsdemo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 点赞数逐位比较的基准测试，交替计算 count到count+1 以及 count+1到count 的变化，对应点赞和取消点赞
+ * Created by wangcheng on 2026/10/17.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DigitDiffBenchmark {
+
+    @Param({"1", "9", "1299", "99999", "1234567", "999999999", "1000000000000"})
+    public long count;
+
+    private final DigitDiff mDiff = new DigitDiff();
+    private char[] mLow;
+    private int mLowLength;
+    private char[] mHigh;
+    private int mHighLength;
+    private boolean isUp;
+
+    @Setup
+    public void setUp() {
+        CountFormatter formatter = new CountFormatter();
+        mLowLength = formatter.format(count);
+        mLow = formatter.getChars().clone();
+        mHighLength = formatter.format(count + 1);
+        mHigh = formatter.getChars().clone();
+    }
+
+    @Benchmark
+    public int compute() {
+        isUp = !isUp;
+        if (isUp) {
+            mDiff.compute(mLow, mLowLength, mHigh, mHighLength, true);
+        } else {
+            mDiff.compute(mHigh, mHighLength, mLow, mLowLength, false);
+        }
+        return mDiff.getColumnCount();
+    }
+}
@@ -0,0 +1,66 @@
+package com.skin.thumbsdemo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 本地点赞状态的读取耗时，按采样模式输出各分位数，p99应低于1微秒
+ * Created by wangcheng on 2026/10/17.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LikeStateStoreBenchmark {
+
+    @Param({"100000"})
+    public int size;
+
+    private LikeStateStore mStore;
+    private File mFile;
+    /**
+     * 按伪随机顺序读取的ID，一半不存在
+     */
+    private long[] mIds;
+    private int mIndex;
+
+    @Setup
+    public void setUp() throws IOException, InterruptedException, ExecutionException {
+        mFile = File.createTempFile("likes", ".bin");
+        //合并写入的等待时间远长于测量时间，写入在准备阶段完成，测量期间后台线程不复制快照、不写文件
+        mStore = new LikeStateStore(mFile, TimeUnit.HOURS.toMillis(1), null);
+        for (long id = 0; id < size; id++) {
+            mStore.put(id * 31, id, (id & 1) == 0);
+        }
+        mStore.flush().get();
+        mIds = new long[4096];
+        long seed = 42;
+        for (int i = 0; i < mIds.length; i++) {
+            seed = seed * 6364136223846793005L + 1442695040888963407L;
+            mIds[i] = ((seed >>> 33) % (size * 2L)) * 31 / 2;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        mStore.close();
+        mFile.delete();
+    }
+
+    @Benchmark
+    public long get() {
+        mIndex = (mIndex + 1) & (mIds.length - 1);
+        return mStore.get(mIds[mIndex]);
+    }
+}
@@ -0,0 +1,88 @@
+package com.skin.thumbsdemo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 后台线程不停读取文件和写入快照时本地点赞状态的读取耗时
+ * <p>
+ * 模拟启动时读取文件、点赞后写入期间主线程的读取，读取不应等待后台线程，p99应与没有后台线程时接近
+ * Created by wangcheng on 2026/10/17.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LikeStateStoreContendedBenchmark {
+
+    @Param({"100000"})
+    public int size;
+
+    private LikeStateStore mStore;
+    private File mFile;
+    private long[] mIds;
+    private int mIndex;
+    private Thread mLoader;
+    private volatile boolean isStopped;
+
+    @Setup
+    public void setUp() throws IOException, InterruptedException, ExecutionException {
+        mFile = File.createTempFile("likes", ".bin");
+        //只由后台线程主动写入
+        mStore = new LikeStateStore(mFile, TimeUnit.HOURS.toMillis(1), null);
+        for (long id = 0; id < size; id++) {
+            mStore.put(id * 31, id, (id & 1) == 0);
+        }
+        mStore.flush().get();
+        mIds = new long[4096];
+        long seed = 42;
+        for (int i = 0; i < mIds.length; i++) {
+            seed = seed * 6364136223846793005L + 1442695040888963407L;
+            mIds[i] = ((seed >>> 33) % (size * 2L)) * 31 / 2;
+        }
+        mLoader = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                long id = 0;
+                try {
+                    while (!isStopped) {
+                        //读取整个文件后与内存合并，再修改一项并写入完整快照
+                        mStore.load().get();
+                        mStore.put(id * 31, id, true);
+                        mStore.flush().get();
+                        id = (id + 1) % size;
+                    }
+                } catch (InterruptedException | ExecutionException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }, "LikeStateStoreLoader");
+        mLoader.setDaemon(true);
+        mLoader.start();
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        isStopped = true;
+        mLoader.join();
+        mStore.close();
+        mFile.delete();
+    }
+
+    @Benchmark
+    public long get() {
+        mIndex = (mIndex + 1) & (mIds.length - 1);
+        return mStore.get(mIds[mIndex]);
+    }
+}
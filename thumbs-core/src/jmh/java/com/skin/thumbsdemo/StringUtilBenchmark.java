@@ -0,0 +1,30 @@
+package com.skin.thumbsdemo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 旧的跳动文字计算的基准测试，作为{@link DigitDiffBenchmark}的对照，点赞数超出int范围时会溢出，只测到10^9
+ * Created by wangcheng on 2026/10/17.
+ */
+@SuppressWarnings("deprecation")
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StringUtilBenchmark {
+
+    @Param({"1", "9", "1299", "99999", "1234567", "999999999"})
+    public String content;
+
+    @Benchmark
+    public String getOldLastContent() {
+        return StringUtil.getOldLastContent(true, content);
+    }
+}
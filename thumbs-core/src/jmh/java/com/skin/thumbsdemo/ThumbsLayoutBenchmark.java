@@ -0,0 +1,70 @@
+package com.skin.thumbsdemo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 点赞数变化时布局计算的基准测试：格式化、逐位比较、测量文字宽度和计算绘制位置，与ThumbsView#refreshCount一致
+ * <p>
+ * 文字宽度按每个字符固定宽度计算，只衡量布局计算本身的开销
+ * Created by wangcheng on 2026/10/17.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ThumbsLayoutBenchmark {
+
+    @Param({"1", "1299", "99999", "1234567", "123456789", "1000000000000"})
+    public long count;
+
+    private final CountFormatter mFormatter = new CountFormatter();
+    private final DigitDiff mDiff = new DigitDiff();
+    private final ThumbsLayout mLayout = new ThumbsLayout();
+    private final ThumbsLayout.TextMeasurer mMeasurer = new ThumbsLayout.TextMeasurer() {
+        @Override
+        public float measureText(char[] text, int start, int count) {
+            float width = 0f;
+            for (int i = start; i < start + count; i++) {
+                width += text[i] == '1' ? 18.5f : 24.75f;
+            }
+            return width;
+        }
+    };
+    private char[] mContent = new char[0];
+    private int mContentLength;
+    private long mNext;
+
+    @Setup
+    public void setUp() {
+        mNext = count;
+        mContentLength = mFormatter.format(count);
+        mContent = mFormatter.getChars().clone();
+    }
+
+    @Benchmark
+    public float refreshCount() {
+        mNext = mNext == count ? count + 1 : count;
+        int length = mFormatter.format(mNext);
+        char[] chars = mFormatter.getChars();
+        mDiff.compute(mContent, mContentLength, chars, length, mNext > count);
+        System.arraycopy(chars, 0, mContent, 0, length);
+        mContentLength = length;
+        mLayout.measureText(mContent, length, mDiff, mMeasurer);
+        mLayout.layout(300, 120, 64, 64);
+        return mLayout.getTextLeft();
+    }
+
+    @Benchmark
+    public float layout() {
+        mLayout.layout(300, 120, 64, 64);
+        return mLayout.getTextLeft();
+    }
+}
@@ -0,0 +1,229 @@
+package com.skin.thumbsdemo;
+
+/**
+ * 点赞数格式化工具
+ * <p>
+ * 点赞数以long保存，格式化结果写入复用的字符缓冲区，相同的点赞数和显示方式直接返回上次的结果。
+ * 支持完整显示以及 1.2k / 3.4万 / 1.1M 形式的缩写显示，缩写时小数位直接截断，不做四舍五入。
+ * Created by wangcheng on 2026/10/17.
+ */
+public final class CountFormatter {
+
+    /**
+     * 完整显示，eg.1299
+     */
+    public static final int STYLE_FULL = 0;
+    /**
+     * 按千、百万、十亿缩写，eg.1.2k,3.4M,1.1B
+     */
+    public static final int STYLE_WESTERN = 1;
+    /**
+     * 按万、亿缩写，eg.3.4万,1.2亿
+     */
+    public static final int STYLE_CHINESE = 2;
+
+    private static final long[] WESTERN_UNITS = {1000000000000L, 1000000000L, 1000000L, 1000L};
+    private static final char[] WESTERN_SUFFIXES = {'T', 'B', 'M', 'k'};
+    private static final long[] CHINESE_UNITS = {100000000L, 10000L};
+    private static final char[] CHINESE_SUFFIXES = {'亿', '万'};
+
+    /**
+     * long最长为19位数字，加上负号
+     */
+    private static final int MAX_LENGTH = 20;
+
+    /**
+     * 格式化结果
+     */
+    private final char[] mBuffer = new char[MAX_LENGTH];
+    /**
+     * 格式化结果的长度
+     */
+    private int mLength;
+    /**
+     * 上次格式化的点赞数
+     */
+    private long mCount;
+    /**
+     * 显示方式
+     */
+    private int mStyle;
+    /**
+     * 上次格式化结果是否有效
+     */
+    private boolean isCached;
+    /**
+     * 上次格式化结果对应的字符串，按需创建
+     */
+    private String mString;
+
+    public CountFormatter() {
+        this(STYLE_FULL);
+    }
+
+    public CountFormatter(int style) {
+        setStyle(style);
+    }
+
+    /**
+     * 设置显示方式
+     *
+     * @param style {@link #STYLE_FULL}，{@link #STYLE_WESTERN}或{@link #STYLE_CHINESE}
+     */
+    public void setStyle(int style) {
+        if (style != STYLE_FULL && style != STYLE_WESTERN && style != STYLE_CHINESE) {
+            throw new IllegalArgumentException("Unknown style: " + style);
+        }
+        if (style != mStyle) {
+            mStyle = style;
+            isCached = false;
+        }
+    }
+
+    /**
+     * 获取显示方式
+     *
+     * @return 显示方式
+     */
+    public int getStyle() {
+        return mStyle;
+    }
+
+    /**
+     * 格式化点赞数，结果通过{@link #getChars()}获取
+     *
+     * @param count 点赞数
+     * @return 格式化结果的长度
+     */
+    public int format(long count) {
+        if (isCached && count == mCount) {
+            return mLength;
+        }
+        mCount = count;
+        mString = null;
+        isCached = true;
+        mLength = 0;
+        long value = count;
+        if (value < 0) {
+            mBuffer[mLength++] = '-';
+            //Long.MIN_VALUE取反会溢出，按Long.MAX_VALUE显示
+            value = value == Long.MIN_VALUE ? Long.MAX_VALUE : -value;
+        }
+        if (mStyle == STYLE_WESTERN) {
+            appendAbbreviated(value, WESTERN_UNITS, WESTERN_SUFFIXES);
+        } else if (mStyle == STYLE_CHINESE) {
+            appendAbbreviated(value, CHINESE_UNITS, CHINESE_SUFFIXES);
+        } else {
+            appendDigits(value);
+        }
+        return mLength;
+    }
+
+    /**
+     * 获取格式化结果，只有前{@link #length()}个字符有效，数组会被下次格式化覆盖
+     *
+     * @return 格式化结果
+     */
+    public char[] getChars() {
+        return mBuffer;
+    }
+
+    /**
+     * 获取格式化结果的长度
+     *
+     * @return 格式化结果的长度
+     */
+    public int length() {
+        return mLength;
+    }
+
+    /**
+     * 获取上次格式化的点赞数
+     *
+     * @return 点赞数
+     */
+    public long getCount() {
+        return mCount;
+    }
+
+    /**
+     * 获取格式化结果对应的字符串，同一结果只创建一次
+     *
+     * @return 格式化结果
+     */
+    @Override
+    public String toString() {
+        if (mString == null) {
+            mString = new String(mBuffer, 0, mLength);
+        }
+        return mString;
+    }
+
+    private void appendAbbreviated(long value, long[] units, char[] suffixes) {
+        for (int i = 0; i < units.length; i++) {
+            long unit = units[i];
+            if (value >= unit) {
+                appendDigits(value / unit);
+                //只保留一位小数，直接截断
+                int tenth = (int) (value % unit / (unit / 10));
+                if (tenth != 0) {
+                    mBuffer[mLength++] = '.';
+                    mBuffer[mLength++] = (char) ('0' + tenth);
+                }
+                mBuffer[mLength++] = suffixes[i];
+                return;
+            }
+        }
+        appendDigits(value);
+    }
+
+    private void appendDigits(long value) {
+        int digits = digitCount(value);
+        int end = mLength + digits;
+        for (int i = end - 1; i >= mLength; i--) {
+            mBuffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        mLength = end;
+    }
+
+    /**
+     * 获取非负数的十进制位数
+     *
+     * @param value 非负数
+     * @return 十进制位数
+     */
+    public static int digitCount(long value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    /**
+     * 解析点赞数
+     *
+     * @param content 只包含数字的字符串
+     * @return 点赞数，字符串为空、包含非数字或超出long范围时返回-1
+     */
+    public static long parse(CharSequence content) {
+        if (content == null || content.length() == 0) {
+            return -1;
+        }
+        long result = 0;
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            int digit = c - '0';
+            if (result > (Long.MAX_VALUE - digit) / 10) {
+                return -1;
+            }
+            result = result * 10 + digit;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,162 @@
+package com.skin.thumbsdemo;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 点赞数更新的信箱
+ * <p>
+ * 任意线程通过{@link #publish(long, long, int)}放入某一数据项最新的点赞数和点赞状态，旧的未取走的值直接被覆盖并计为丢弃；
+ * 放入时信箱为空则由调用者安排主线程在下一帧通过{@link #take(long)}取走最新的值，一帧内最多取走一次。
+ * 值与所属的数据项ID在同一把锁内成对写入和读取，取走时数据项已不是当前绑定的数据项的值直接丢弃，
+ * 不会应用到重新绑定的数据项上。每次放入和取走都要获取这把锁，锁内只读写两个字段，持有时间很短。
+ * Created by wangcheng on 2026/10/17.
+ */
+public final class CountMailbox {
+
+    /**
+     * 信箱为空
+     */
+    public static final long EMPTY = -1;
+    /**
+     * 未点赞
+     */
+    public static final int UNLIKED = 0;
+    /**
+     * 已点赞
+     */
+    public static final int LIKED = 1;
+    /**
+     * 不改变点赞状态
+     */
+    public static final int KEEP_LIKED = 2;
+    /**
+     * 可放入的最大点赞数，低两位用于保存点赞状态
+     */
+    public static final long MAX_COUNT = Long.MAX_VALUE >> 2;
+
+    /**
+     * 未取走的值所属的数据项ID
+     */
+    private long mItemId;
+    /**
+     * 未取走的值，为{@link #EMPTY}时信箱为空
+     */
+    private long mValue = EMPTY;
+    private final AtomicLong mPublishedCount = new AtomicLong();
+    private final AtomicLong mDroppedCount = new AtomicLong();
+    private final AtomicLong mTakenCount = new AtomicLong();
+
+    /**
+     * 放入某一数据项最新的点赞数和点赞状态，可在任意线程调用
+     *
+     * @param itemId 数据项ID
+     * @param count 点赞数，小于0时按0处理，大于{@link #MAX_COUNT}时按{@link #MAX_COUNT}处理
+     * @param liked {@link #UNLIKED}，{@link #LIKED}或{@link #KEEP_LIKED}
+     * @return 放入前信箱是否为空，为空时调用者需安排一次{@link #take(long)}
+     */
+    public boolean publish(long itemId, long count, int liked) {
+        if (liked != UNLIKED && liked != LIKED && liked != KEEP_LIKED) {
+            throw new IllegalArgumentException("Unknown liked state: " + liked);
+        }
+        long clamped = count < 0 ? 0 : Math.min(count, MAX_COUNT);
+        long previous;
+        synchronized (this) {
+            previous = mValue;
+            mValue = clamped << 2 | liked;
+            mItemId = itemId;
+        }
+        mPublishedCount.incrementAndGet();
+        if (previous != EMPTY) {
+            mDroppedCount.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 取走最新的值，信箱变为空；值属于其他数据项时计为丢弃
+     *
+     * @param itemId 当前绑定的数据项ID
+     * @return 打包的值，通过{@link #getCount(long)}和{@link #getLiked(long)}解析，
+     * 信箱为空或值属于其他数据项时返回{@link #EMPTY}
+     */
+    public long take(long itemId) {
+        long value;
+        long valueItemId;
+        synchronized (this) {
+            value = mValue;
+            valueItemId = mItemId;
+            mValue = EMPTY;
+        }
+        if (value == EMPTY) {
+            return EMPTY;
+        }
+        if (valueItemId != itemId) {
+            mDroppedCount.incrementAndGet();
+            return EMPTY;
+        }
+        mTakenCount.incrementAndGet();
+        return value;
+    }
+
+    /**
+     * 清空信箱，未取走的值计为丢弃
+     */
+    public void clear() {
+        long value;
+        synchronized (this) {
+            value = mValue;
+            mValue = EMPTY;
+        }
+        if (value != EMPTY) {
+            mDroppedCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * 解析点赞数
+     *
+     * @param value {@link #take(long)}返回的值
+     * @return 点赞数
+     */
+    public static long getCount(long value) {
+        return value >>> 2;
+    }
+
+    /**
+     * 解析点赞状态
+     *
+     * @param value {@link #take(long)}返回的值
+     * @return {@link #UNLIKED}，{@link #LIKED}或{@link #KEEP_LIKED}
+     */
+    public static int getLiked(long value) {
+        return (int) (value & 3);
+    }
+
+    /**
+     * 获取放入的次数
+     *
+     * @return 放入的次数
+     */
+    public long getPublishedCount() {
+        return mPublishedCount.get();
+    }
+
+    /**
+     * 获取被之后的值覆盖、被清空或因数据项不一致而未取走的次数
+     *
+     * @return 丢弃的次数
+     */
+    public long getDroppedCount() {
+        return mDroppedCount.get();
+    }
+
+    /**
+     * 获取取走的次数
+     *
+     * @return 取走的次数
+     */
+    public long getTakenCount() {
+        return mTakenCount.get();
+    }
+}
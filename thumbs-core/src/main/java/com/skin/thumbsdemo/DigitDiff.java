@@ -0,0 +1,194 @@
+package com.skin.thumbsdemo;
+
+/**
+ * 点赞数变化的逐位比较
+ * <p>
+ * 新旧文字按右对齐逐位比较，位数相同时前面相同的部分作为不动的文字，其余每一位作为一列，
+ * 每列记录变化前后的字符以及里程表式滚动需要经过的步数，eg.1299-1356，不动部分为"1"，
+ * 三列分别为 2-3 滚动1步、9-5 滚动6步、9-6 滚动7步（增加时向上滚动）。
+ * 所有状态在{@link #compute(char[], int, char[], int, boolean)}中一次算好，动画过程中只读取。
+ * 每列每帧最多绘制两个字符，与滚动步数无关。
+ * Created by wangcheng on 2026/10/17.
+ */
+public final class DigitDiff {
+
+    /**
+     * 表示该列没有字符
+     */
+    public static final char NONE = 0;
+
+    /**
+     * 变化前的文字
+     */
+    private char[] mOld = new char[0];
+    /**
+     * 变化后的文字
+     */
+    private char[] mNew = new char[0];
+    private int mOldLength;
+    private int mNewLength;
+    /**
+     * 不动部分的长度
+     */
+    private int mPrefixLength;
+    /**
+     * 列数
+     */
+    private int mColumnCount;
+    /**
+     * 每列的滚动步数
+     */
+    private int[] mSteps = new int[0];
+    /**
+     * 是否向上滚动（点赞数增加）
+     */
+    private boolean isUp;
+
+    /**
+     * 计算两个文字之间的变化
+     *
+     * @param oldChars  变化前的文字
+     * @param oldLength 变化前的文字长度
+     * @param newChars  变化后的文字
+     * @param newLength 变化后的文字长度
+     * @param up        是否向上滚动（点赞数增加）
+     */
+    public void compute(char[] oldChars, int oldLength, char[] newChars, int newLength, boolean up) {
+        mOld = copy(oldChars, oldLength, mOld);
+        mNew = copy(newChars, newLength, mNew);
+        mOldLength = oldLength;
+        mNewLength = newLength;
+        isUp = up;
+        int prefix = 0;
+        if (oldLength == newLength) {
+            while (prefix < newLength && oldChars[prefix] == newChars[prefix]) {
+                prefix++;
+            }
+        }
+        mPrefixLength = prefix;
+        mColumnCount = Math.max(oldLength, newLength) - prefix;
+        if (mSteps.length < mColumnCount) {
+            mSteps = new int[mColumnCount];
+        }
+        for (int column = 0; column < mColumnCount; column++) {
+            mSteps[column] = steps(getOldChar(column), getNewChar(column), up);
+        }
+    }
+
+    /**
+     * 计算一列从旧字符滚动到新字符的步数
+     */
+    private static int steps(char from, char to, boolean up) {
+        if (from == to) {
+            return 0;
+        }
+        if (isDigit(from) && isDigit(to)) {
+            int diff = up ? to - from : from - to;
+            return (diff + 10) % 10;
+        }
+        //非数字字符或位数变化时，直接从旧字符切换到新字符
+        return 1;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static char[] copy(char[] src, int length, char[] dst) {
+        if (dst.length < length) {
+            dst = new char[length];
+        }
+        System.arraycopy(src, 0, dst, 0, length);
+        return dst;
+    }
+
+    /**
+     * 获取不动部分的长度，即变化后文字中从头开始不参与滚动的字符数
+     *
+     * @return 不动部分的长度
+     */
+    public int getPrefixLength() {
+        return mPrefixLength;
+    }
+
+    /**
+     * 获取参与比较的列数
+     *
+     * @return 列数
+     */
+    public int getColumnCount() {
+        return mColumnCount;
+    }
+
+    /**
+     * 获取滚动方向
+     *
+     * @return 是否向上滚动
+     */
+    public boolean isUp() {
+        return isUp;
+    }
+
+    /**
+     * 获取一列的滚动步数
+     *
+     * @param column 列
+     * @return 滚动步数，为0时该列不变
+     */
+    public int getSteps(int column) {
+        return mSteps[column];
+    }
+
+    /**
+     * 获取一列在变化后文字中的位置
+     *
+     * @param column 列
+     * @return 位置，变化后的文字在该列没有字符时返回-1
+     */
+    public int getNewIndex(int column) {
+        int index = mNewLength - (mColumnCount - column);
+        return index >= mPrefixLength ? index : -1;
+    }
+
+    /**
+     * 获取一列变化前的字符
+     *
+     * @param column 列
+     * @return 字符，没有时返回{@link #NONE}
+     */
+    public char getOldChar(int column) {
+        int index = mOldLength - (mColumnCount - column);
+        return index >= mPrefixLength ? mOld[index] : NONE;
+    }
+
+    /**
+     * 获取一列变化后的字符
+     *
+     * @param column 列
+     * @return 字符，没有时返回{@link #NONE}
+     */
+    public char getNewChar(int column) {
+        int index = getNewIndex(column);
+        return index >= 0 ? mNew[index] : NONE;
+    }
+
+    /**
+     * 获取一列滚动到第step步时显示的字符
+     *
+     * @param column 列
+     * @param step   步数，0为变化前的字符，{@link #getSteps(int)}为变化后的字符
+     * @return 字符，没有时返回{@link #NONE}
+     */
+    public char getGlyph(int column, int step) {
+        char from = getOldChar(column);
+        if (step <= 0) {
+            return from;
+        }
+        if (step >= mSteps[column] || !isDigit(from)) {
+            return getNewChar(column);
+        }
+        int digit = from - '0';
+        digit = isUp ? (digit + step) % 10 : (digit - step + 10) % 10;
+        return (char) ('0' + digit);
+    }
+}
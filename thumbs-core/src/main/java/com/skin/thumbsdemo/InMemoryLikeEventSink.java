@@ -0,0 +1,73 @@
+package com.skin.thumbsdemo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 保存在内存中的点赞事件接收方，用于测试和调试
+ * Created by wangcheng on 2026/10/17.
+ */
+public final class InMemoryLikeEventSink implements LikeEventSink {
+
+    private final List<List<LikeEvent>> mBatches = new ArrayList<>();
+
+    @Override
+    public synchronized void onLikeEvents(List<LikeEvent> events) {
+        mBatches.add(new ArrayList<>(events));
+        notifyAll();
+    }
+
+    /**
+     * 获取收到的所有批次
+     *
+     * @return 批次列表的副本
+     */
+    public synchronized List<List<LikeEvent>> getBatches() {
+        return new ArrayList<>(mBatches);
+    }
+
+    /**
+     * 获取一个数据项在所有批次中的净变化
+     *
+     * @param itemId 数据项ID
+     * @return 净变化
+     */
+    public synchronized int getNetDelta(long itemId) {
+        int delta = 0;
+        for (List<LikeEvent> batch : mBatches) {
+            for (LikeEvent event : batch) {
+                if (event.getItemId() == itemId) {
+                    delta += event.getDelta();
+                }
+            }
+        }
+        return delta;
+    }
+
+    /**
+     * 等待收到指定数量的批次
+     *
+     * @param count         批次数
+     * @param timeoutMillis 超时时间（毫秒）
+     * @return 超时前是否收到了指定数量的批次
+     * @throws InterruptedException 等待被中断
+     */
+    public synchronized boolean awaitBatches(int count, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (mBatches.size() < count) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
+            }
+            wait(remaining);
+        }
+        return true;
+    }
+
+    /**
+     * 清空收到的批次
+     */
+    public synchronized void clear() {
+        mBatches.clear();
+    }
+}
@@ -0,0 +1,50 @@
+package com.skin.thumbsdemo;
+
+/**
+ * 合并后的点赞事件，表示一个数据项在一个合并窗口内的净变化
+ * Created by wangcheng on 2026/10/17.
+ */
+public final class LikeEvent {
+
+    private final long mItemId;
+    private final boolean isLiked;
+    private final int mDelta;
+
+    public LikeEvent(long itemId, boolean liked, int delta) {
+        mItemId = itemId;
+        isLiked = liked;
+        mDelta = delta;
+    }
+
+    /**
+     * 获取数据项ID
+     *
+     * @return 数据项ID
+     */
+    public long getItemId() {
+        return mItemId;
+    }
+
+    /**
+     * 获取窗口内最后一次操作后的点赞状态
+     *
+     * @return 是否点赞
+     */
+    public boolean isLiked() {
+        return isLiked;
+    }
+
+    /**
+     * 获取窗口内点赞数的净变化，点赞为+1，取消点赞为-1
+     *
+     * @return 净变化
+     */
+    public int getDelta() {
+        return mDelta;
+    }
+
+    @Override
+    public String toString() {
+        return "LikeEvent{itemId=" + mItemId + ", liked=" + isLiked + ", delta=" + mDelta + '}';
+    }
+}
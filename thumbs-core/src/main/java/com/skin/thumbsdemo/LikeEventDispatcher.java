@@ -0,0 +1,310 @@
+package com.skin.thumbsdemo;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 点赞事件的合并分发器
+ * <p>
+ * 同一数据项在合并窗口内的多次点赞/取消点赞合并为一个净变化，净变化为0的数据项不再提交。
+ * 窗口从第一次操作开始计时，到期后在后台线程中把这一批事件交给{@link LikeEventSink}。
+ * 提前提交（{@link #flush()}）时取消已安排的到期提交，下一批事件重新从第一次操作开始计时。
+ * 同时统计排队的数据项数和提交延迟，供监控使用，净变化都为0的批次不计入。
+ * Created by wangcheng on 2026/10/17.
+ */
+public final class LikeEventDispatcher {
+
+    /**
+     * 默认合并窗口（毫秒）
+     */
+    public static final long DEFAULT_WINDOW_MILLIS = 500;
+
+    private final LikeEventSink mSink;
+    private final long mWindowMillis;
+    private final ScheduledExecutorService mExecutor;
+    /**
+     * 后台线程是否由分发器自己创建，是则关闭时一并关闭
+     */
+    private final boolean isOwnExecutor;
+    private final Object mLock = new Object();
+    /**
+     * 窗口内待提交的数据项，保持首次操作的顺序
+     */
+    private LinkedHashMap<Long, Pending> mPending = new LinkedHashMap<>();
+    /**
+     * 窗口内第一次操作的时间（纳秒）
+     */
+    private long mOldestNanos;
+    /**
+     * 已安排的到期提交，没有时为null
+     */
+    private ScheduledFuture<?> mScheduledFlush;
+    private boolean isShutdown;
+
+    private long mDispatchCount;
+    private long mCoalescedCount;
+    private long mBatchCount;
+    private long mFlushedEventCount;
+    private long mFailedBatchCount;
+    private long mLastFlushLatencyNanos;
+    private long mMaxFlushLatencyNanos;
+    private long mTotalFlushLatencyNanos;
+
+    private final Runnable mFlushTask = new Runnable() {
+        @Override
+        public void run() {
+            flushNow();
+        }
+    };
+
+    public LikeEventDispatcher(LikeEventSink sink) {
+        this(sink, DEFAULT_WINDOW_MILLIS, null);
+    }
+
+    /**
+     * @param sink         接收合并后的点赞事件
+     * @param windowMillis 合并窗口（毫秒）
+     * @param executor     提交事件的后台线程，为null时创建一个单线程的后台线程
+     */
+    public LikeEventDispatcher(LikeEventSink sink, long windowMillis, ScheduledExecutorService executor) {
+        if (sink == null) {
+            throw new NullPointerException("sink == null");
+        }
+        if (windowMillis < 0) {
+            throw new IllegalArgumentException("windowMillis < 0: " + windowMillis);
+        }
+        mSink = sink;
+        mWindowMillis = windowMillis;
+        isOwnExecutor = executor == null;
+        mExecutor = executor != null ? executor : Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "LikeEventDispatcher");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * 记录一次点赞/取消点赞，可在任意线程调用
+     *
+     * @param itemId 数据项ID
+     * @param liked  操作后的点赞状态
+     */
+    public void dispatch(long itemId, boolean liked) {
+        synchronized (mLock) {
+            if (isShutdown) {
+                return;
+            }
+            mDispatchCount++;
+            Pending pending = mPending.get(itemId);
+            if (pending == null) {
+                if (mPending.isEmpty()) {
+                    mOldestNanos = System.nanoTime();
+                }
+                pending = new Pending();
+                mPending.put(itemId, pending);
+            } else {
+                mCoalescedCount++;
+            }
+            pending.delta += liked ? 1 : -1;
+            pending.liked = liked;
+            if (mScheduledFlush == null) {
+                mScheduledFlush = mExecutor.schedule(mFlushTask, mWindowMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * 不等合并窗口到期，立即在后台线程中提交待提交的事件
+     */
+    public void flush() {
+        synchronized (mLock) {
+            //在锁内判断并提交，关闭后不再向后台线程提交任务
+            if (isShutdown) {
+                return;
+            }
+            mExecutor.execute(mFlushTask);
+        }
+    }
+
+    /**
+     * 提交待提交的事件后停止接收新事件，后台线程由分发器创建时一并关闭
+     */
+    public void shutdown() {
+        synchronized (mLock) {
+            if (isShutdown) {
+                return;
+            }
+            isShutdown = true;
+            mExecutor.execute(mFlushTask);
+        }
+        if (isOwnExecutor) {
+            mExecutor.shutdown();
+        }
+    }
+
+    private void flushNow() {
+        LinkedHashMap<Long, Pending> batch;
+        long oldestNanos;
+        synchronized (mLock) {
+            //提前提交时取消已安排的到期提交，避免下一批事件提前提交
+            if (mScheduledFlush != null) {
+                mScheduledFlush.cancel(false);
+                mScheduledFlush = null;
+            }
+            if (mPending.isEmpty()) {
+                return;
+            }
+            batch = mPending;
+            oldestNanos = mOldestNanos;
+            mPending = new LinkedHashMap<>();
+        }
+        List<LikeEvent> events = new ArrayList<>(batch.size());
+        for (Map.Entry<Long, Pending> entry : batch.entrySet()) {
+            Pending pending = entry.getValue();
+            //窗口内操作相互抵消的数据项不提交
+            if (pending.delta != 0) {
+                events.add(new LikeEvent(entry.getKey(), pending.liked, pending.delta));
+            }
+        }
+        if (events.isEmpty()) {
+            //窗口内的操作都相互抵消，没有提交，不计入批次统计
+            return;
+        }
+        boolean failed = false;
+        try {
+            mSink.onLikeEvents(events);
+        } catch (RuntimeException e) {
+            //提交失败的事件不重试，由接收方自行处理
+            failed = true;
+        }
+        long latency = System.nanoTime() - oldestNanos;
+        synchronized (mLock) {
+            mBatchCount++;
+            if (failed) {
+                mFailedBatchCount++;
+            } else {
+                mFlushedEventCount += events.size();
+            }
+            mLastFlushLatencyNanos = latency;
+            mMaxFlushLatencyNanos = Math.max(mMaxFlushLatencyNanos, latency);
+            mTotalFlushLatencyNanos += latency;
+        }
+    }
+
+    /**
+     * 获取待提交的数据项数
+     *
+     * @return 待提交的数据项数
+     */
+    public int getQueueDepth() {
+        synchronized (mLock) {
+            return mPending.size();
+        }
+    }
+
+    /**
+     * 获取记录的操作次数
+     *
+     * @return 操作次数
+     */
+    public long getDispatchCount() {
+        synchronized (mLock) {
+            return mDispatchCount;
+        }
+    }
+
+    /**
+     * 获取被合并到已有数据项中的操作次数
+     *
+     * @return 被合并的操作次数
+     */
+    public long getCoalescedCount() {
+        synchronized (mLock) {
+            return mCoalescedCount;
+        }
+    }
+
+    /**
+     * 获取提交的批次数，包括提交失败的批次
+     *
+     * @return 批次数
+     */
+    public long getBatchCount() {
+        synchronized (mLock) {
+            return mBatchCount;
+        }
+    }
+
+    /**
+     * 获取提交失败的批次数
+     *
+     * @return 批次数
+     */
+    public long getFailedBatchCount() {
+        synchronized (mLock) {
+            return mFailedBatchCount;
+        }
+    }
+
+    /**
+     * 获取成功提交的事件数
+     *
+     * @return 事件数
+     */
+    public long getFlushedEventCount() {
+        synchronized (mLock) {
+            return mFlushedEventCount;
+        }
+    }
+
+    /**
+     * 获取最近一批事件从第一次操作到提交完成的延迟
+     *
+     * @return 延迟（毫秒）
+     */
+    public long getLastFlushLatencyMillis() {
+        synchronized (mLock) {
+            return TimeUnit.NANOSECONDS.toMillis(mLastFlushLatencyNanos);
+        }
+    }
+
+    /**
+     * 获取从第一次操作到提交完成的最大延迟
+     *
+     * @return 延迟（毫秒）
+     */
+    public long getMaxFlushLatencyMillis() {
+        synchronized (mLock) {
+            return TimeUnit.NANOSECONDS.toMillis(mMaxFlushLatencyNanos);
+        }
+    }
+
+    /**
+     * 获取从第一次操作到提交完成的平均延迟
+     *
+     * @return 延迟（毫秒）
+     */
+    public long getAverageFlushLatencyMillis() {
+        synchronized (mLock) {
+            return mBatchCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(mTotalFlushLatencyNanos / mBatchCount);
+        }
+    }
+
+    /**
+     * 窗口内一个数据项的合并结果
+     */
+    private static final class Pending {
+        int delta;
+        boolean liked;
+    }
+}
@@ -0,0 +1,17 @@
+package com.skin.thumbsdemo;
+
+import java.util.List;
+
+/**
+ * 接收合并后的点赞事件，eg.提交给服务端
+ * Created by wangcheng on 2026/10/17.
+ */
+public interface LikeEventSink {
+
+    /**
+     * 处理一批点赞事件，在{@link LikeEventDispatcher}的后台线程中调用
+     *
+     * @param events 点赞事件，每个数据项最多一个
+     */
+    void onLikeEvents(List<LikeEvent> events);
+}
@@ -0,0 +1,209 @@
+package com.skin.thumbsdemo;
+
+import java.util.HashMap;
+
+/**
+ * 合并本地点赞和服务端下发的点赞数
+ * <p>
+ * 本地每次点赞/取消点赞分配一个递增的序号，记为待确认操作。显示的状态为服务端最新状态叠加所有待确认操作，
+ * 操作记录的是目标点赞状态而不是加减1，服务端状态已包含该操作时叠加不会重复计数，
+ * 因此服务端确认前下发的旧点赞数不会让显示的点赞数来回跳动。
+ * 服务端状态带有版本号，版本号较旧的状态直接忽略；携带的确认序号之前的操作视为已确认并移除。
+ * 显示状态用{@link LikeStateStore#pack(long, boolean)}打包，可在任意线程调用。
+ * Created by wangcheng on 2026/10/17.
+ */
+public final class LikeReconciler {
+
+    /**
+     * 服务端未确认任何本地操作
+     */
+    public static final long NO_ACK = 0;
+
+    private final HashMap<Long, Item> mItems = new HashMap<>();
+    /**
+     * 上一次分配的序号，从1开始分配
+     */
+    private long mSequence;
+
+    /**
+     * 记录一次本地点赞/取消点赞
+     *
+     * @param itemId      数据项ID
+     * @param liked       操作后的点赞状态
+     * @param countBefore 操作前显示的点赞数，还没有服务端状态时作为基准
+     * @param likedBefore 操作前显示的点赞状态，还没有服务端状态时作为基准
+     * @return 操作的序号，提交给服务端后由服务端在确认序号中返回
+     */
+    public synchronized long onLocalLike(long itemId, boolean liked, long countBefore, boolean likedBefore) {
+        Item item = mItems.get(itemId);
+        if (item == null) {
+            item = new Item(Math.max(countBefore, 0), likedBefore);
+            mItems.put(itemId, item);
+        }
+        long sequence = ++mSequence;
+        item.addPending(sequence, liked);
+        item.recompute();
+        return sequence;
+    }
+
+    /**
+     * 合并服务端下发的状态
+     *
+     * @param itemId  数据项ID
+     * @param version 服务端状态的版本号，小于已合并的版本号时忽略
+     * @param count   服务端的点赞数
+     * @param liked   服务端记录的当前用户点赞状态
+     * @param ackSeq  服务端已处理的最后一个本地操作序号，没有时为{@link #NO_ACK}
+     * @return 显示的状态是否变化，不变时不需要刷新也不需要播放动画
+     */
+    public synchronized boolean onServerState(long itemId, long version, long count, boolean liked, long ackSeq) {
+        Item item = mItems.get(itemId);
+        if (item == null) {
+            item = new Item(Math.max(count, 0), liked);
+            item.version = version;
+            mItems.put(itemId, item);
+            return true;
+        }
+        if (version < item.version) {
+            return false;
+        }
+        long before = item.display;
+        item.version = version;
+        item.baseCount = Math.max(count, 0);
+        item.baseLiked = liked;
+        item.retire(ackSeq);
+        item.recompute();
+        return item.display != before;
+    }
+
+    /**
+     * 本地操作提交失败，撤销该操作
+     *
+     * @param itemId   数据项ID
+     * @param sequence 操作的序号
+     * @return 显示的状态是否变化
+     */
+    public synchronized boolean onLocalFailed(long itemId, long sequence) {
+        Item item = mItems.get(itemId);
+        if (item == null || !item.removePending(sequence)) {
+            return false;
+        }
+        long before = item.display;
+        item.recompute();
+        return item.display != before;
+    }
+
+    /**
+     * 获取显示的状态
+     *
+     * @param itemId 数据项ID
+     * @return 打包值，用{@link LikeStateStore#getCount(long)}和{@link LikeStateStore#isLiked(long)}取出，
+     * 没有记录时为{@link LikeStateStore#MISSING}
+     */
+    public synchronized long getDisplayState(long itemId) {
+        Item item = mItems.get(itemId);
+        return item == null ? LikeStateStore.MISSING : item.display;
+    }
+
+    /**
+     * 获取待确认的操作数
+     *
+     * @param itemId 数据项ID
+     * @return 操作数
+     */
+    public synchronized int getPendingCount(long itemId) {
+        Item item = mItems.get(itemId);
+        return item == null ? 0 : item.pendingCount;
+    }
+
+    /**
+     * 移除数据项的记录，待确认的操作一并丢弃
+     *
+     * @param itemId 数据项ID
+     */
+    public synchronized void remove(long itemId) {
+        mItems.remove(itemId);
+    }
+
+    /**
+     * 单个数据项的服务端状态和待确认操作
+     */
+    private static final class Item {
+        long version = Long.MIN_VALUE;
+        long baseCount;
+        boolean baseLiked;
+        /**
+         * 待确认操作的序号和目标点赞状态，按序号递增排列
+         */
+        long[] pendingSeqs = new long[2];
+        boolean[] pendingLiked = new boolean[2];
+        int pendingCount;
+        long display;
+
+        Item(long count, boolean liked) {
+            baseCount = count;
+            baseLiked = liked;
+            display = LikeStateStore.pack(count, liked);
+        }
+
+        void addPending(long sequence, boolean liked) {
+            if (pendingCount == pendingSeqs.length) {
+                long[] seqs = new long[pendingCount * 2];
+                boolean[] likes = new boolean[pendingCount * 2];
+                System.arraycopy(pendingSeqs, 0, seqs, 0, pendingCount);
+                System.arraycopy(pendingLiked, 0, likes, 0, pendingCount);
+                pendingSeqs = seqs;
+                pendingLiked = likes;
+            }
+            pendingSeqs[pendingCount] = sequence;
+            pendingLiked[pendingCount] = liked;
+            pendingCount++;
+        }
+
+        /**
+         * 移除已确认的操作
+         *
+         * @param ackSeq 已确认的最后一个序号
+         */
+        void retire(long ackSeq) {
+            int retired = 0;
+            while (retired < pendingCount && pendingSeqs[retired] <= ackSeq) {
+                retired++;
+            }
+            if (retired == 0) {
+                return;
+            }
+            pendingCount -= retired;
+            System.arraycopy(pendingSeqs, retired, pendingSeqs, 0, pendingCount);
+            System.arraycopy(pendingLiked, retired, pendingLiked, 0, pendingCount);
+        }
+
+        boolean removePending(long sequence) {
+            for (int i = 0; i < pendingCount; i++) {
+                if (pendingSeqs[i] == sequence) {
+                    pendingCount--;
+                    System.arraycopy(pendingSeqs, i + 1, pendingSeqs, i, pendingCount - i);
+                    System.arraycopy(pendingLiked, i + 1, pendingLiked, i, pendingCount - i);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * 在服务端状态上依次叠加待确认操作，点赞状态已是目标状态的操作不改变点赞数
+         */
+        void recompute() {
+            long count = baseCount;
+            boolean liked = baseLiked;
+            for (int i = 0; i < pendingCount; i++) {
+                boolean target = pendingLiked[i];
+                if (target != liked) {
+                    count = target ? count + 1 : Math.max(count - 1, 0);
+                    liked = target;
+                }
+            }
+            display = LikeStateStore.pack(count, liked);
+        }
+    }
+}
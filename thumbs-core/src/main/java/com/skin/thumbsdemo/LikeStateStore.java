@@ -0,0 +1,559 @@
+package com.skin.thumbsdemo;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 本地保存的点赞状态，按数据项ID保存点赞数和是否点赞
+ * <p>
+ * 读取只访问内存中的开放寻址表（long ID到打包的点赞数和点赞状态），不加锁、不创建对象，可在主线程调用：
+ * 表通过volatile引用发布，修改在锁内先写值再写键，扩容和读取文件时在锁外建好新表后整体替换，
+ * 读取不会等待后台线程。文件的读取和写入都在后台线程进行，写入按{@link #DEFAULT_WRITE_DELAY_MILLIS}合并，
+ * 一段时间内的多次修改只写一次完整快照，先写临时文件再重命名，写入中途进程被杀也不会损坏已有文件；
+ * 写入失败时按{@link #MIN_RETRY_DELAY_MILLIS}起逐次加倍的间隔重试，直到写入成功。
+ * <p>
+ * 文件格式（大端）：魔数"LIKE"，版本号，条目数，之后每个条目为 ID（long）+ 打包值（long）。
+ * Created by wangcheng on 2026/10/17.
+ */
+public final class LikeStateStore {
+
+    /**
+     * 数据项不存在
+     */
+    public static final long MISSING = -1;
+    /**
+     * 可保存的最大点赞数
+     */
+    public static final long MAX_COUNT = Long.MAX_VALUE >> 1;
+    /**
+     * 合并写入的默认等待时间（毫秒）
+     */
+    public static final long DEFAULT_WRITE_DELAY_MILLIS = 1000;
+
+    private static final int MAGIC = 0x4c494b45;
+    private static final int VERSION = 1;
+    /**
+     * 空槽位的键，该ID不能保存
+     */
+    private static final long EMPTY_KEY = Long.MIN_VALUE;
+    private static final int INITIAL_CAPACITY = 64;
+    /**
+     * 写入失败后重试的最短和最长等待时间（毫秒）
+     */
+    static final long MIN_RETRY_DELAY_MILLIS = 100;
+    static final long MAX_RETRY_DELAY_MILLIS = 60000;
+
+    private final File mFile;
+    private final long mWriteDelayMillis;
+    private final ScheduledExecutorService mExecutor;
+    /**
+     * 后台线程是否由自己创建，关闭时需一并关闭
+     */
+    private final boolean isOwnExecutor;
+    /**
+     * 修改表和写入状态时持有，读取不持有
+     */
+    private final Object mLock = new Object();
+    /**
+     * 当前的表，替换后旧表不再修改
+     */
+    private volatile Table mTable;
+    /**
+     * 当前表中的条目数，需持有锁
+     */
+    private int mSize;
+    /**
+     * 是否有未写入文件的修改
+     */
+    private boolean isDirty;
+    /**
+     * 是否已安排写入
+     */
+    private boolean isFlushScheduled;
+    private volatile boolean isLoaded;
+    /**
+     * 写入文件的次数
+     */
+    private long mWriteCount;
+    /**
+     * 写入文件失败的次数
+     */
+    private long mWriteFailureCount;
+    /**
+     * 连续失败的次数，决定下一次重试的等待时间
+     */
+    private int mFailureStreak;
+
+    private final Callable<Void> mFlushTask = new Callable<Void>() {
+        @Override
+        public Void call() throws Exception {
+            writeSnapshot();
+            return null;
+        }
+    };
+
+    public LikeStateStore(File file) {
+        this(file, DEFAULT_WRITE_DELAY_MILLIS, null);
+    }
+
+    /**
+     * @param file             保存的文件
+     * @param writeDelayMillis 合并写入的等待时间（毫秒）
+     * @param executor         读写文件的后台线程，为null时创建一个单线程的后台线程
+     */
+    public LikeStateStore(File file, long writeDelayMillis, ScheduledExecutorService executor) {
+        if (file == null) {
+            throw new NullPointerException("file == null");
+        }
+        if (writeDelayMillis < 0) {
+            throw new IllegalArgumentException("writeDelayMillis < 0: " + writeDelayMillis);
+        }
+        mFile = file;
+        mWriteDelayMillis = writeDelayMillis;
+        isOwnExecutor = executor == null;
+        mExecutor = executor != null ? executor : Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "LikeStateStore");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        mTable = new Table(INITIAL_CAPACITY);
+    }
+
+    /**
+     * 装载因子不超过0.5的容量
+     *
+     * @param size 条目数
+     * @return 2的幂
+     */
+    private static int capacityFor(int size) {
+        int capacity = INITIAL_CAPACITY;
+        while (size * 2L > capacity) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * 打包点赞数和点赞状态
+     *
+     * @param count 点赞数，超出范围时取最近的值
+     * @param liked 是否点赞
+     * @return 打包值，不小于0
+     */
+    public static long pack(long count, boolean liked) {
+        count = Math.min(Math.max(count, 0), MAX_COUNT);
+        return (count << 1) | (liked ? 1 : 0);
+    }
+
+    /**
+     * 从打包值中取出点赞数
+     *
+     * @param packed {@link #get(long)}的返回值
+     * @return 点赞数
+     */
+    public static long getCount(long packed) {
+        return packed >>> 1;
+    }
+
+    /**
+     * 从打包值中取出点赞状态
+     *
+     * @param packed {@link #get(long)}的返回值
+     * @return 是否点赞
+     */
+    public static boolean isLiked(long packed) {
+        return (packed & 1) != 0;
+    }
+
+    private static int hash(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    /**
+     * 在后台线程读取文件，文件中的条目只在内存中还没有该ID时加入，内存中的修改较新
+     *
+     * @return 读取任务，可用于等待读取完成
+     */
+    public Future<?> load() {
+        return mExecutor.submit(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                try {
+                    readFile();
+                } finally {
+                    isLoaded = true;
+                }
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 文件是否已读取
+     *
+     * @return 是否已读取，文件不存在或损坏时也算已读取
+     */
+    public boolean isLoaded() {
+        return isLoaded;
+    }
+
+    /**
+     * 获取数据项的点赞状态，只访问内存，不加锁
+     *
+     * @param itemId 数据项ID
+     * @return 打包值，用{@link #getCount(long)}和{@link #isLiked(long)}取出，不存在时为{@link #MISSING}
+     */
+    public long get(long itemId) {
+        if (itemId == EMPTY_KEY) {
+            return MISSING;
+        }
+        Table table = mTable;
+        int index = table.slot(itemId);
+        //值先于键写入，看到键时值已可见
+        return table.mKeys.get(index) == itemId ? table.mValues.get(index) : MISSING;
+    }
+
+    /**
+     * 保存数据项的点赞状态，有变化时在等待时间后写入文件
+     *
+     * @param itemId 数据项ID，不能为{@link Long#MIN_VALUE}
+     * @param count  点赞数
+     * @param liked  是否点赞
+     */
+    public void put(long itemId, long count, boolean liked) {
+        if (itemId == EMPTY_KEY) {
+            throw new IllegalArgumentException("itemId == Long.MIN_VALUE");
+        }
+        long value = pack(count, liked);
+        synchronized (mLock) {
+            if (!putLocked(itemId, value)) {
+                return;
+            }
+            isDirty = true;
+            if (isFlushScheduled) {
+                return;
+            }
+            isFlushScheduled = true;
+        }
+        mExecutor.schedule(mFlushTask, mWriteDelayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 放入条目，已存在时覆盖，需持有锁
+     *
+     * @param itemId 数据项ID
+     * @param value  打包值
+     * @return 表是否有变化
+     */
+    private boolean putLocked(long itemId, long value) {
+        Table table = mTable;
+        int index = table.slot(itemId);
+        if (table.mKeys.get(index) == itemId && table.mValues.get(index) == value) {
+            return false;
+        }
+        if (table.put(itemId, value)) {
+            mSize++;
+            if (mSize * 2 > table.capacity()) {
+                //建好新表后整体替换，读取中的线程继续使用旧表
+                mTable = table.copy(table.capacity() * 2);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 获取保存的数据项数
+     *
+     * @return 数据项数
+     */
+    public int size() {
+        synchronized (mLock) {
+            return mSize;
+        }
+    }
+
+    /**
+     * 立即在后台线程写入未写入的修改
+     *
+     * @return 写入任务，可用于等待写入完成
+     */
+    public Future<?> flush() {
+        return mExecutor.submit(mFlushTask);
+    }
+
+    /**
+     * 写入未写入的修改，由自己创建的后台线程在写入后关闭
+     */
+    public void close() {
+        flush();
+        if (isOwnExecutor) {
+            mExecutor.shutdown();
+        }
+    }
+
+    /**
+     * 获取写入文件的次数
+     *
+     * @return 写入次数
+     */
+    public long getWriteCount() {
+        synchronized (mLock) {
+            return mWriteCount;
+        }
+    }
+
+    /**
+     * 获取写入文件失败的次数，失败后按逐次加倍的间隔重试
+     *
+     * @return 失败次数
+     */
+    public long getWriteFailureCount() {
+        synchronized (mLock) {
+            return mWriteFailureCount;
+        }
+    }
+
+    private void readFile() throws IOException {
+        long[] ids;
+        long[] values;
+        DataInputStream in;
+        try {
+            in = new DataInputStream(new BufferedInputStream(new FileInputStream(mFile), 64 * 1024));
+        } catch (FileNotFoundException e) {
+            return;
+        }
+        try {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return;
+            }
+            int size = in.readInt();
+            if (size < 0 || size > (mFile.length() - 12) / 16) {
+                return;
+            }
+            ids = new long[size];
+            values = new long[size];
+            for (int i = 0; i < size; i++) {
+                ids[i] = in.readLong();
+                values[i] = in.readLong();
+            }
+        } catch (IOException e) {
+            //文件损坏时丢弃，之后的写入会覆盖
+            return;
+        } finally {
+            in.close();
+        }
+        //在锁外用文件中的条目建好新表
+        int memorySize;
+        synchronized (mLock) {
+            memorySize = mSize;
+        }
+        Table loaded = new Table(capacityFor(ids.length + memorySize));
+        int loadedSize = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] != EMPTY_KEY && values[i] >= 0 && loaded.put(ids[i], values[i])) {
+                loadedSize++;
+            }
+        }
+        //锁内只合并内存中的条目后替换，内存中的修改较新，覆盖文件中的条目
+        synchronized (mLock) {
+            Table current = mTable;
+            if ((loadedSize + mSize) * 2L > loaded.capacity()) {
+                loaded = loaded.copy(capacityFor(loadedSize + mSize));
+            }
+            for (int i = 0; i < current.capacity(); i++) {
+                long key = current.mKeys.get(i);
+                if (key != EMPTY_KEY && loaded.put(key, current.mValues.get(i))) {
+                    loadedSize++;
+                }
+            }
+            mTable = loaded;
+            mSize = loadedSize;
+        }
+    }
+
+    /**
+     * 在后台线程写入完整快照，快照在锁外复制
+     * <p>
+     * 表只增加条目和修改值，复制期间的修改会再次标记为未写入并安排写入，下一次快照包含这些修改
+     */
+    private void writeSnapshot() throws IOException {
+        Table table;
+        synchronized (mLock) {
+            isFlushScheduled = false;
+            if (!isDirty) {
+                return;
+            }
+            isDirty = false;
+            table = mTable;
+        }
+        long[] keys = new long[table.capacity()];
+        long[] values = new long[keys.length];
+        int size = 0;
+        for (int i = 0; i < keys.length; i++) {
+            long key = table.mKeys.get(i);
+            if (key != EMPTY_KEY) {
+                keys[size] = key;
+                values[size] = table.mValues.get(i);
+                size++;
+            }
+        }
+        File tmp = new File(mFile.getPath() + ".tmp");
+        try {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp), 64 * 1024));
+            try {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(size);
+                for (int i = 0; i < size; i++) {
+                    out.writeLong(keys[i]);
+                    out.writeLong(values[i]);
+                }
+            } finally {
+                out.close();
+            }
+            if (!tmp.renameTo(mFile)) {
+                throw new IOException("rename " + tmp + " to " + mFile + " failed");
+            }
+        } catch (IOException e) {
+            long retryDelay = -1;
+            synchronized (mLock) {
+                isDirty = true;
+                mWriteFailureCount++;
+                mFailureStreak++;
+                if (!isFlushScheduled) {
+                    isFlushScheduled = true;
+                    retryDelay = getRetryDelay(mFailureStreak);
+                }
+            }
+            if (retryDelay >= 0) {
+                scheduleRetry(retryDelay);
+            }
+            throw e;
+        }
+        synchronized (mLock) {
+            mWriteCount++;
+            mFailureStreak = 0;
+        }
+    }
+
+    /**
+     * 连续失败后重试的等待时间，从合并写入的等待时间（不短于{@link #MIN_RETRY_DELAY_MILLIS}）起每次加倍，
+     * 不超过{@link #MAX_RETRY_DELAY_MILLIS}
+     *
+     * @param failureStreak 连续失败的次数，从1开始
+     * @return 等待时间（毫秒）
+     */
+    long getRetryDelay(int failureStreak) {
+        long delay = Math.max(mWriteDelayMillis, MIN_RETRY_DELAY_MILLIS);
+        for (int i = 1; i < failureStreak && delay < MAX_RETRY_DELAY_MILLIS; i++) {
+            delay <<= 1;
+        }
+        return Math.min(delay, MAX_RETRY_DELAY_MILLIS);
+    }
+
+    private void scheduleRetry(long delayMillis) {
+        try {
+            mExecutor.schedule(mFlushTask, delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            //后台线程已关闭，修改留在内存中
+            synchronized (mLock) {
+                isFlushScheduled = false;
+            }
+        }
+    }
+
+    /**
+     * 开放寻址表，容量为2的幂，装载因子不超过0.5
+     * <p>
+     * 只在持有锁时修改，放入时先写值再写键，读取不加锁；新表在发布前建好，发布后旧表不再修改
+     */
+    private static final class Table {
+
+        final AtomicLongArray mKeys;
+        final AtomicLongArray mValues;
+        final int mMask;
+
+        Table(int capacity) {
+            mKeys = new AtomicLongArray(capacity);
+            mValues = new AtomicLongArray(capacity);
+            mMask = capacity - 1;
+            for (int i = 0; i < capacity; i++) {
+                mKeys.lazySet(i, EMPTY_KEY);
+            }
+        }
+
+        int capacity() {
+            return mMask + 1;
+        }
+
+        /**
+         * 查找键所在的槽位
+         *
+         * @param key 键
+         * @return 键所在的槽位，不存在时为放入该键的空槽位
+         */
+        int slot(long key) {
+            int index = hash(key, mMask);
+            while (true) {
+                long current = mKeys.get(index);
+                if (current == key || current == EMPTY_KEY) {
+                    return index;
+                }
+                index = (index + 1) & mMask;
+            }
+        }
+
+        /**
+         * 放入条目，已存在时覆盖，表中需有空槽位
+         *
+         * @param key   键
+         * @param value 值
+         * @return 是否新增了条目
+         */
+        boolean put(long key, long value) {
+            int index = slot(key);
+            boolean isNew = mKeys.get(index) != key;
+            mValues.set(index, value);
+            if (isNew) {
+                mKeys.set(index, key);
+            }
+            return isNew;
+        }
+
+        /**
+         * 复制到新表
+         *
+         * @param capacity 新表的容量，需能容纳所有条目
+         * @return 新表
+         */
+        Table copy(int capacity) {
+            Table table = new Table(capacity);
+            for (int i = 0; i < capacity(); i++) {
+                long key = mKeys.get(i);
+                if (key != EMPTY_KEY) {
+                    table.put(key, mValues.get(i));
+                }
+            }
+            return table;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.skin.thumbsdemo;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 点赞时迸发的粒子
+ * <p>
+ * 每个View一个固定容量的粒子池，粒子的属性按数组分别保存，不为单个粒子创建对象，
+ * 每帧把位置写入复用的坐标数组，可直接交给 Canvas.drawPoints 绘制。
+ * 所有粒子池共用一个全局上限，同时迸发的粒子总数超出上限时新的迸发只分到剩余的数量，
+ * 避免列表快速滑动时大量点赞占用过多CPU。
+ * Created by wangcheng on 2026/10/17.
+ */
+public final class ParticlePool {
+
+    /**
+     * 全局粒子数上限默认值
+     */
+    public static final int DEFAULT_GLOBAL_LIMIT = 256;
+
+    /**
+     * 所有粒子池中正在迸发的粒子数
+     */
+    private static final AtomicInteger sActiveTotal = new AtomicInteger();
+    private static volatile int sGlobalLimit = DEFAULT_GLOBAL_LIMIT;
+
+    private final int mCapacity;
+    /**
+     * 每个粒子的方向（单位向量）
+     */
+    private final float[] mDirX;
+    private final float[] mDirY;
+    /**
+     * 每个粒子的飞行距离相对最大距离的比例
+     */
+    private final float[] mSpeed;
+    /**
+     * 每个粒子当前的坐标，x、y交替排列
+     */
+    private final float[] mPoints;
+    private int mCount;
+    private float mOriginX;
+    private float mOriginY;
+    private float mDistance;
+    private int mAlpha;
+    /**
+     * 伪随机数种子，每次迸发的粒子方向略有不同
+     */
+    private long mSeed = 0x2545F4914F6CDD1DL;
+
+    /**
+     * @param capacity 粒子池容量，即单次迸发的最大粒子数
+     */
+    public ParticlePool(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        mCapacity = capacity;
+        mDirX = new float[capacity];
+        mDirY = new float[capacity];
+        mSpeed = new float[capacity];
+        mPoints = new float[capacity * 2];
+    }
+
+    /**
+     * 设置所有粒子池同时迸发的粒子总数上限
+     *
+     * @param limit 上限，小于0时按0处理
+     */
+    public static void setGlobalLimit(int limit) {
+        sGlobalLimit = Math.max(limit, 0);
+    }
+
+    /**
+     * 获取所有粒子池同时迸发的粒子总数上限
+     *
+     * @return 上限
+     */
+    public static int getGlobalLimit() {
+        return sGlobalLimit;
+    }
+
+    /**
+     * 获取所有粒子池中正在迸发的粒子数
+     *
+     * @return 粒子数
+     */
+    public static int getActiveTotal() {
+        return sActiveTotal.get();
+    }
+
+    /**
+     * 从全局上限中申请粒子数
+     *
+     * @param count 需要的粒子数
+     * @return 申请到的粒子数
+     */
+    private static int reserve(int count) {
+        while (true) {
+            int active = sActiveTotal.get();
+            int granted = Math.min(count, sGlobalLimit - active);
+            if (granted <= 0) {
+                return 0;
+            }
+            if (sActiveTotal.compareAndSet(active, active + granted)) {
+                return granted;
+            }
+        }
+    }
+
+    /**
+     * 开始一次迸发，上一次迸发未结束时直接结束
+     *
+     * @param originX  迸发中心的X轴位置
+     * @param originY  迸发中心的Y轴位置
+     * @param distance 粒子飞行的最大距离
+     * @return 实际迸发的粒子数，受全局上限限制可能少于容量，为0时不迸发
+     */
+    public int start(float originX, float originY, float distance) {
+        release();
+        int count = reserve(mCapacity);
+        mCount = count;
+        mOriginX = originX;
+        mOriginY = originY;
+        mDistance = distance;
+        float step = (float) (2 * Math.PI / Math.max(count, 1));
+        for (int i = 0; i < count; i++) {
+            //均匀分布的方向上加少量扰动
+            double angle = step * (i + nextFloat() * 0.5f);
+            mDirX[i] = (float) Math.cos(angle);
+            mDirY[i] = (float) Math.sin(angle);
+            mSpeed[i] = 0.6f + 0.4f * nextFloat();
+        }
+        update(0f);
+        return count;
+    }
+
+    private float nextFloat() {
+        mSeed = mSeed * 6364136223846793005L + 1442695040888963407L;
+        return (mSeed >>> 40) / (float) (1 << 24);
+    }
+
+    /**
+     * 按进度计算所有粒子的坐标和透明度，粒子减速飞出并逐渐淡出
+     *
+     * @param progress 迸发进度，0~1
+     */
+    public void update(float progress) {
+        float t = progress < 0f ? 0f : (progress > 1f ? 1f : progress);
+        float travel = ThumbsTimeline.decelerate(t) * mDistance;
+        for (int i = 0; i < mCount; i++) {
+            float distance = travel * mSpeed[i];
+            mPoints[i * 2] = mOriginX + mDirX[i] * distance;
+            mPoints[i * 2 + 1] = mOriginY + mDirY[i] * distance;
+        }
+        mAlpha = (int) (0xff * (1f - t));
+    }
+
+    /**
+     * 结束迸发，把粒子数归还全局上限
+     */
+    public void release() {
+        if (mCount > 0) {
+            sActiveTotal.addAndGet(-mCount);
+            mCount = 0;
+        }
+    }
+
+    /**
+     * 是否正在迸发
+     *
+     * @return 是否正在迸发
+     */
+    public boolean isActive() {
+        return mCount > 0;
+    }
+
+    /**
+     * 获取粒子池容量
+     *
+     * @return 容量
+     */
+    public int getCapacity() {
+        return mCapacity;
+    }
+
+    /**
+     * 获取正在迸发的粒子数
+     *
+     * @return 粒子数
+     */
+    public int getCount() {
+        return mCount;
+    }
+
+    /**
+     * 获取粒子坐标，前{@link #getCount()}*2个值有效，x、y交替排列
+     *
+     * @return 坐标数组，会被下次计算覆盖
+     */
+    public float[] getPoints() {
+        return mPoints;
+    }
+
+    /**
+     * 获取粒子的透明度
+     *
+     * @return 透明度，0~0xff
+     */
+    public int getAlpha() {
+        return mAlpha;
+    }
+
+    /**
+     * 获取粒子飞行的最大距离
+     *
+     * @return 最大距离
+     */
+    public float getDistance() {
+        return mDistance;
+    }
+}
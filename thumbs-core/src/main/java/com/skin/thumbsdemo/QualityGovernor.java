@@ -0,0 +1,224 @@
+package com.skin.thumbsdemo;
+
+/**
+ * 按最近的帧间隔调整点赞动画的效果档位
+ * <p>
+ * 帧间隔超过帧预算的1.5倍记为一次掉帧。每{@link #WINDOW_FRAMES}帧统计一次，
+ * 掉帧数达到{@link #DOWNGRADE_JANK_FRAMES}时降一档；连续{@link #UPGRADE_WINDOWS}个统计窗口没有掉帧才升一档，
+ * 降档快、升档慢，避免在两档之间来回切换。省电模式下档位不高于{@link #TIER_NO_FADE}。
+ * <p>
+ * 档位从高到低依次为：完整效果、去掉圆圈、去掉文字渐隐、直接到结束状态不播放动画。
+ * 只在主线程使用，{@link #getTier()}可在任意线程调用。
+ * Created by wangcheng on 2026/10/17.
+ */
+public final class QualityGovernor {
+
+    /**
+     * 完整效果
+     */
+    public static final int TIER_FULL = 0;
+    /**
+     * 不绘制点赞图片外圈和点击处的圆圈
+     */
+    public static final int TIER_NO_RING = 1;
+    /**
+     * 在{@link #TIER_NO_RING}的基础上，跳动文字不做透明度渐变，每列只绘制一个字符
+     */
+    public static final int TIER_NO_FADE = 2;
+    /**
+     * 不播放动画，直接到结束状态
+     */
+    public static final int TIER_SNAP = 3;
+    /**
+     * 档位数
+     */
+    public static final int TIER_COUNT = 4;
+
+    /**
+     * 每个统计窗口的帧数
+     */
+    public static final int WINDOW_FRAMES = 20;
+    /**
+     * 一个统计窗口内降档的掉帧数
+     */
+    public static final int DOWNGRADE_JANK_FRAMES = 4;
+    /**
+     * 升档需要连续没有掉帧的统计窗口数
+     */
+    public static final int UPGRADE_WINDOWS = 3;
+
+    /**
+     * 默认帧预算，60帧/秒
+     */
+    public static final long DEFAULT_FRAME_INTERVAL_NANOS = 1000000000L / 60;
+
+    /**
+     * 掉帧的帧间隔阈值（纳秒）
+     */
+    private long mJankThresholdNanos;
+    /**
+     * 上一帧的时间，没有时为-1
+     */
+    private long mLastFrameNanos = -1;
+    private int mWindowFrames;
+    private int mWindowJank;
+    /**
+     * 连续没有掉帧的统计窗口数
+     */
+    private int mCleanWindows;
+    /**
+     * 按帧间隔调整的档位
+     */
+    private int mFrameTier = TIER_FULL;
+    /**
+     * 是否处于省电模式
+     */
+    private boolean isPowerSave;
+    private volatile int mTier = TIER_FULL;
+    private long mDowngradeCount;
+    private long mUpgradeCount;
+
+    public QualityGovernor() {
+        this(DEFAULT_FRAME_INTERVAL_NANOS);
+    }
+
+    /**
+     * @param frameIntervalNanos 帧预算（纳秒），即屏幕刷新间隔
+     */
+    public QualityGovernor(long frameIntervalNanos) {
+        setFrameInterval(frameIntervalNanos);
+    }
+
+    /**
+     * 设置帧预算，屏幕刷新率变化时调用
+     *
+     * @param frameIntervalNanos 帧预算（纳秒）
+     */
+    public void setFrameInterval(long frameIntervalNanos) {
+        if (frameIntervalNanos <= 0) {
+            throw new IllegalArgumentException("frameIntervalNanos <= 0: " + frameIntervalNanos);
+        }
+        mJankThresholdNanos = frameIntervalNanos * 3 / 2;
+    }
+
+    /**
+     * 记录一帧
+     *
+     * @param frameTimeNanos 该帧的垂直同步时间（纳秒）
+     */
+    public void onFrame(long frameTimeNanos) {
+        long last = mLastFrameNanos;
+        mLastFrameNanos = frameTimeNanos;
+        if (last < 0 || frameTimeNanos <= last) {
+            return;
+        }
+        mWindowFrames++;
+        if (frameTimeNanos - last > mJankThresholdNanos) {
+            mWindowJank++;
+        }
+        if (mWindowJank >= DOWNGRADE_JANK_FRAMES) {
+            //不等窗口结束，掉帧较多时尽快降档
+            mCleanWindows = 0;
+            if (mFrameTier < TIER_SNAP) {
+                mFrameTier++;
+                mDowngradeCount++;
+            }
+            resetWindow();
+        } else if (mWindowFrames >= WINDOW_FRAMES) {
+            mCleanWindows = mWindowJank == 0 ? mCleanWindows + 1 : 0;
+            if (mCleanWindows >= UPGRADE_WINDOWS) {
+                mCleanWindows = 0;
+                if (mFrameTier > TIER_FULL) {
+                    mFrameTier--;
+                    mUpgradeCount++;
+                }
+            }
+            resetWindow();
+        }
+        updateTier();
+    }
+
+    /**
+     * 停止记录帧，下一帧与上一帧的间隔不计入统计
+     */
+    public void onIdle() {
+        mLastFrameNanos = -1;
+    }
+
+    private void resetWindow() {
+        mWindowFrames = 0;
+        mWindowJank = 0;
+    }
+
+    /**
+     * 设置是否处于省电模式
+     *
+     * @param powerSave 是否处于省电模式
+     */
+    public void setPowerSave(boolean powerSave) {
+        isPowerSave = powerSave;
+        updateTier();
+    }
+
+    /**
+     * 是否处于省电模式
+     *
+     * @return 是否处于省电模式
+     */
+    public boolean isPowerSave() {
+        return isPowerSave;
+    }
+
+    private void updateTier() {
+        mTier = isPowerSave ? Math.max(mFrameTier, TIER_NO_FADE) : mFrameTier;
+    }
+
+    /**
+     * 获取当前档位
+     *
+     * @return {@link #TIER_FULL}~{@link #TIER_SNAP}
+     */
+    public int getTier() {
+        return mTier;
+    }
+
+    /**
+     * 是否需要继续记录帧，档位低于完整效果时需要记录帧才能升档
+     *
+     * @return 是否需要继续记录帧
+     */
+    public boolean isDegraded() {
+        return mFrameTier > TIER_FULL;
+    }
+
+    /**
+     * 获取按帧间隔降档的次数
+     *
+     * @return 降档次数
+     */
+    public long getDowngradeCount() {
+        return mDowngradeCount;
+    }
+
+    /**
+     * 获取按帧间隔升档的次数
+     *
+     * @return 升档次数
+     */
+    public long getUpgradeCount() {
+        return mUpgradeCount;
+    }
+
+    /**
+     * 恢复到完整效果并清空统计，省电模式不变
+     */
+    public void reset() {
+        mLastFrameNanos = -1;
+        resetWindow();
+        mCleanWindows = 0;
+        mFrameTier = TIER_FULL;
+        mDowngradeCount = 0;
+        mUpgradeCount = 0;
+        updateTier();
+    }
+}
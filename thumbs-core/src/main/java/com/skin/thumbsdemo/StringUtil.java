@@ -1,12 +1,12 @@
 package com.skin.thumbsdemo;
 
-import android.text.TextUtils;
-
 /**
  * 字符串工具类
  * Created by wangcheng on 2017/10/25.
+ *
+ * @deprecated 只支持点赞数加减1的变化，且点赞数超出int范围时会溢出，请使用{@link DigitDiff}
  */
-
+@Deprecated
 public class StringUtil {
 
     /**
@@ -17,7 +17,7 @@ public class StringUtil {
      * @return 绘制文字时跳动的文字位数
      */
     public static int getLastContentLength(boolean isAdd, String content) {
-        if (TextUtils.isEmpty(content) || !TextUtils.isDigitsOnly(content)) {
+        if (CountFormatter.parse(content) < 0) {
             return 0;
         }
         int resultInt = Integer.parseInt(content);
@@ -0,0 +1,120 @@
+package com.skin.thumbsdemo;
+
+/**
+ * 识别点击手势
+ * <p>
+ * 按下点在点击区域内才开始跟踪，移动超出触摸阈值或手势被取消时放弃，
+ * 抬起点仍在点击区域内时才算一次点击，避免列表滑动的起点被当作点击。
+ * Created by wangcheng on 2026/10/17.
+ */
+public final class TapDetector {
+
+    private final float mTouchSlopSquare;
+    private float mLeft;
+    private float mTop;
+    private float mRight;
+    private float mBottom;
+    private float mDownX;
+    private float mDownY;
+    /**
+     * 是否正在跟踪可能的点击
+     */
+    private boolean isTracking;
+
+    /**
+     * @param touchSlop 移动超过该距离时不再算作点击（像素）
+     */
+    public TapDetector(float touchSlop) {
+        if (touchSlop < 0) {
+            throw new IllegalArgumentException("touchSlop < 0: " + touchSlop);
+        }
+        mTouchSlopSquare = touchSlop * touchSlop;
+    }
+
+    /**
+     * 设置点击区域，布局变化时更新
+     *
+     * @param left   左边界
+     * @param top    上边界
+     * @param right  右边界
+     * @param bottom 下边界
+     */
+    public void setHitRegion(float left, float top, float right, float bottom) {
+        mLeft = left;
+        mTop = top;
+        mRight = right;
+        mBottom = bottom;
+    }
+
+    /**
+     * 是否在点击区域内
+     *
+     * @param x X轴位置
+     * @param y Y轴位置
+     * @return 是否在点击区域内
+     */
+    public boolean isInHitRegion(float x, float y) {
+        return x >= mLeft && x < mRight && y >= mTop && y < mBottom;
+    }
+
+    /**
+     * 按下
+     *
+     * @param x X轴位置
+     * @param y Y轴位置
+     * @return 是否开始跟踪，按下点不在点击区域内时不跟踪
+     */
+    public boolean onDown(float x, float y) {
+        isTracking = isInHitRegion(x, y);
+        mDownX = x;
+        mDownY = y;
+        return isTracking;
+    }
+
+    /**
+     * 移动，超出触摸阈值时放弃本次点击
+     *
+     * @param x X轴位置
+     * @param y Y轴位置
+     */
+    public void onMove(float x, float y) {
+        if (!isTracking) {
+            return;
+        }
+        float dx = x - mDownX;
+        float dy = y - mDownY;
+        if (dx * dx + dy * dy > mTouchSlopSquare) {
+            isTracking = false;
+        }
+    }
+
+    /**
+     * 抬起
+     *
+     * @param x X轴位置
+     * @param y Y轴位置
+     * @return 是否为一次点击
+     */
+    public boolean onUp(float x, float y) {
+        onMove(x, y);
+        boolean tap = isTracking && isInHitRegion(x, y);
+        isTracking = false;
+        return tap;
+    }
+
+    /**
+     * 手势被取消，例如父View开始滑动
+     */
+    public void onCancel() {
+        isTracking = false;
+    }
+
+    /**
+     * 是否正在跟踪可能的点击
+     *
+     * @return 是否正在跟踪
+     */
+    public boolean isTracking() {
+        return isTracking;
+    }
+}
@@ -0,0 +1,207 @@
+package com.skin.thumbsdemo;
+
+/**
+ * 点赞控件的布局计算
+ * <p>
+ * 点赞图片和点赞数整体水平居中，点赞数在点赞图片右侧{@link #TEXT_GAP}像素处。
+ * 文字宽度只在点赞数变化时测量，位置只在点赞数、点赞图片或View尺寸变化时计算，绘制时直接读取结果。
+ * Created by wangcheng on 2026/10/17.
+ */
+public final class ThumbsLayout {
+
+    /**
+     * 点赞图片与点赞数之间的间距（像素值）
+     */
+    public static final int TEXT_GAP = 10;
+
+    /**
+     * 测量文字宽度，由绘制文字的画笔实现
+     */
+    public interface TextMeasurer {
+
+        /**
+         * 测量文字宽度
+         *
+         * @param text  文字
+         * @param start 起始位置
+         * @param count 字符数
+         * @return 宽度
+         */
+        float measureText(char[] text, int start, int count);
+    }
+
+    /**
+     * 测量单个字符的缓冲区
+     */
+    private final char[] mGlyph = new char[1];
+    /**
+     * 每一列跳动文字相对点赞数文字起点的X轴偏移量
+     */
+    private float[] mColumnX = new float[0];
+    private int mColumnCount;
+    private float mContentWidth;
+    private float mPrefixWidth;
+    private int mBitmapLeft;
+    private int mBitmapTop;
+    private float mTextLeft;
+    private float mTextTop;
+
+    /**
+     * 测量点赞数的宽度以及每一列跳动文字的偏移量，变化后的文字按自身位置排列，变化前多出的位数依次排在左侧
+     *
+     * @param content  点赞数文字
+     * @param length   点赞数文字长度
+     * @param diff     点赞数变化前后的逐位比较结果
+     * @param measurer 测量文字宽度
+     */
+    public void measureText(char[] content, int length, DigitDiff diff, TextMeasurer measurer) {
+        mContentWidth = measurer.measureText(content, 0, length);
+        mPrefixWidth = measurer.measureText(content, 0, diff.getPrefixLength());
+        int columnCount = diff.getColumnCount();
+        if (mColumnX.length < columnCount) {
+            mColumnX = new float[columnCount];
+        }
+        mColumnCount = columnCount;
+        float x = mPrefixWidth;
+        int firstNewColumn = columnCount;
+        for (int column = 0; column < columnCount; column++) {
+            int index = diff.getNewIndex(column);
+            if (index < 0) {
+                continue;
+            }
+            if (firstNewColumn == columnCount) {
+                firstNewColumn = column;
+            }
+            mColumnX[column] = x;
+            x += measurer.measureText(content, index, 1);
+        }
+        x = mPrefixWidth;
+        for (int column = firstNewColumn - 1; column >= 0; column--) {
+            mGlyph[0] = diff.getOldChar(column);
+            x -= measurer.measureText(mGlyph, 0, 1);
+            mColumnX[column] = x;
+        }
+    }
+
+    /**
+     * 测量最宽的数字的宽度
+     *
+     * @param measurer 测量文字宽度
+     * @return 宽度
+     */
+    public static float measureMaxDigitWidth(TextMeasurer measurer) {
+        char[] digit = new char[1];
+        float width = 0f;
+        for (char c = '0'; c <= '9'; c++) {
+            digit[0] = c;
+            width = Math.max(width, measurer.measureText(digit, 0, 1));
+        }
+        return width;
+    }
+
+    /**
+     * 测量点赞数的稳定宽度，每个数字都按最宽的数字计算，位数和单位不变时点赞数变化不改变该宽度
+     *
+     * @param content       点赞数文字
+     * @param length        点赞数文字长度
+     * @param maxDigitWidth 最宽的数字的宽度，见{@link #measureMaxDigitWidth(TextMeasurer)}
+     * @param measurer      测量文字宽度
+     * @return 宽度
+     */
+    public static float measureStableWidth(char[] content, int length, float maxDigitWidth, TextMeasurer measurer) {
+        float width = 0f;
+        for (int i = 0; i < length; i++) {
+            char c = content[i];
+            width += c >= '0' && c <= '9' ? maxDigitWidth : measurer.measureText(content, i, 1);
+        }
+        return width;
+    }
+
+    /**
+     * 计算点赞图片和点赞数的绘制位置，需先调用{@link #measureText(char[], int, DigitDiff, TextMeasurer)}
+     *
+     * @param width        View宽度
+     * @param height       View高度
+     * @param bitmapWidth  点赞图片宽度
+     * @param bitmapHeight 点赞图片高度
+     */
+    public void layout(int width, int height, int bitmapWidth, int bitmapHeight) {
+        mBitmapLeft = (int) ((width - bitmapWidth - mContentWidth) / 2);
+        mBitmapTop = (height - bitmapHeight) / 2;
+        mTextLeft = mBitmapLeft + bitmapWidth + TEXT_GAP;
+        mTextTop = (height + bitmapHeight - 20) / 2;
+    }
+
+    /**
+     * 获取点赞数文字的宽度
+     *
+     * @return 宽度
+     */
+    public float getContentWidth() {
+        return mContentWidth;
+    }
+
+    /**
+     * 获取不动部分文字的宽度
+     *
+     * @return 宽度
+     */
+    public float getPrefixWidth() {
+        return mPrefixWidth;
+    }
+
+    /**
+     * 获取一列跳动文字相对点赞数文字起点的X轴偏移量
+     *
+     * @param column 列
+     * @return 偏移量，变化前多出的位数为负值
+     */
+    public float getColumnX(int column) {
+        return mColumnX[column];
+    }
+
+    /**
+     * 获取跳动文字最左侧的X轴偏移量
+     *
+     * @return 偏移量，不大于0
+     */
+    public float getMinColumnX() {
+        return mColumnCount > 0 ? Math.min(0f, mColumnX[0]) : 0f;
+    }
+
+    /**
+     * 获取点赞图片绘制左边距
+     *
+     * @return 左边距
+     */
+    public int getBitmapLeft() {
+        return mBitmapLeft;
+    }
+
+    /**
+     * 获取点赞图片绘制上边距
+     *
+     * @return 上边距
+     */
+    public int getBitmapTop() {
+        return mBitmapTop;
+    }
+
+    /**
+     * 获取点赞数文字绘制左边距
+     *
+     * @return 左边距
+     */
+    public float getTextLeft() {
+        return mTextLeft;
+    }
+
+    /**
+     * 获取点赞数文字绘制基线
+     *
+     * @return 基线
+     */
+    public float getTextTop() {
+        return mTextTop;
+    }
+}
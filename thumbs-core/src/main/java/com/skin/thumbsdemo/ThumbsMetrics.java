@@ -0,0 +1,319 @@
+package com.skin.thumbsdemo;
+
+/**
+ * 点赞控件的绘制统计
+ * <p>
+ * 统计绘制耗时分布、每次动画实际绘制的帧数与应绘制的帧数、离屏缓存绘制次数、动画期间的对象分配次数
+ * 以及各效果档位（{@link QualityGovernor}）下开始的动画次数。
+ * 默认不统计，设置给View后才开始记录，每个View使用各自的统计对象。
+ * 记录在主线程进行，{@link #snapshot()}可在任意线程调用。
+ * Created by wangcheng on 2026/10/17.
+ */
+public final class ThumbsMetrics {
+
+    /**
+     * 绘制耗时分布各区间的上限（微秒），最后一个区间不设上限
+     */
+    private static final long[] BUCKET_BOUNDS_US = {250, 500, 1000, 2000, 4000, 8000, 16000};
+    /**
+     * 绘制耗时分布的区间数
+     */
+    public static final int BUCKET_COUNT = BUCKET_BOUNDS_US.length + 1;
+
+    /**
+     * 是否统计动画期间的对象分配次数
+     */
+    private final boolean isTrackAllocations;
+    private final long[] mDrawBuckets = new long[BUCKET_COUNT];
+    private long mDrawCount;
+    private long mDrawTimeNanos;
+    private long mMaxDrawTimeNanos;
+    private long mSaveLayerCount;
+    private long mAnimationCount;
+    private long mFramesRendered;
+    private long mFramesExpected;
+    private long mAnimationAllocations;
+    private final long[] mTierAnimations = new long[QualityGovernor.TIER_COUNT];
+    /**
+     * 正在统计的动画已绘制的帧数
+     */
+    private int mCurrentFrames;
+    /**
+     * 是否正在统计动画
+     */
+    private boolean isAnimating;
+
+    public ThumbsMetrics() {
+        this(false);
+    }
+
+    /**
+     * @param trackAllocations 是否统计动画期间的对象分配次数，统计本身会拖慢运行，只建议在调试包中开启
+     */
+    public ThumbsMetrics(boolean trackAllocations) {
+        isTrackAllocations = trackAllocations;
+    }
+
+    /**
+     * 是否统计动画期间的对象分配次数
+     *
+     * @return 是否统计
+     */
+    public boolean isTrackAllocations() {
+        return isTrackAllocations;
+    }
+
+    /**
+     * 记录一次绘制
+     *
+     * @param durationNanos 绘制耗时（纳秒）
+     */
+    public synchronized void recordDraw(long durationNanos) {
+        mDrawCount++;
+        mDrawTimeNanos += durationNanos;
+        mMaxDrawTimeNanos = Math.max(mMaxDrawTimeNanos, durationNanos);
+        mDrawBuckets[bucketOf(durationNanos)]++;
+        if (isAnimating) {
+            mCurrentFrames++;
+        }
+    }
+
+    /**
+     * 记录一次离屏缓存绘制
+     */
+    public synchronized void recordSaveLayer() {
+        mSaveLayerCount++;
+    }
+
+    /**
+     * 记录动画开始，上一次动画未记录结束时不计入统计
+     */
+    public synchronized void recordAnimationStart() {
+        isAnimating = true;
+        mCurrentFrames = 0;
+    }
+
+    /**
+     * 记录动画结束，动画被取消时同样调用
+     *
+     * @param expectedFrames 动画开始到结束按屏幕刷新率应绘制的帧数
+     * @param allocations    动画期间的对象分配次数，不统计时为0
+     */
+    public synchronized void recordAnimationEnd(int expectedFrames, long allocations) {
+        if (!isAnimating) {
+            return;
+        }
+        isAnimating = false;
+        mAnimationCount++;
+        mFramesRendered += mCurrentFrames;
+        mFramesExpected += expectedFrames;
+        mAnimationAllocations += allocations;
+    }
+
+    /**
+     * 记录一次动画开始时使用的效果档位，直接到结束状态的动画同样记录
+     *
+     * @param tier 效果档位，{@link QualityGovernor#TIER_FULL}~{@link QualityGovernor#TIER_SNAP}
+     */
+    public synchronized void recordQualityTier(int tier) {
+        mTierAnimations[tier]++;
+    }
+
+    /**
+     * 清空统计
+     */
+    public synchronized void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            mDrawBuckets[i] = 0;
+        }
+        mDrawCount = 0;
+        mDrawTimeNanos = 0;
+        mMaxDrawTimeNanos = 0;
+        mSaveLayerCount = 0;
+        mAnimationCount = 0;
+        mFramesRendered = 0;
+        mFramesExpected = 0;
+        mAnimationAllocations = 0;
+        for (int i = 0; i < QualityGovernor.TIER_COUNT; i++) {
+            mTierAnimations[i] = 0;
+        }
+        isAnimating = false;
+    }
+
+    /**
+     * 获取当前统计结果的副本
+     *
+     * @return 统计结果
+     */
+    public synchronized Snapshot snapshot() {
+        return new Snapshot(this);
+    }
+
+    /**
+     * 获取绘制耗时所在的区间
+     *
+     * @param durationNanos 绘制耗时（纳秒）
+     * @return 区间
+     */
+    static int bucketOf(long durationNanos) {
+        long us = durationNanos / 1000;
+        for (int i = 0; i < BUCKET_BOUNDS_US.length; i++) {
+            if (us < BUCKET_BOUNDS_US[i]) {
+                return i;
+            }
+        }
+        return BUCKET_BOUNDS_US.length;
+    }
+
+    /**
+     * 获取绘制耗时区间的上限
+     *
+     * @param bucket 区间
+     * @return 上限（微秒），最后一个区间为{@link Long#MAX_VALUE}
+     */
+    public static long getBucketBoundUs(int bucket) {
+        return bucket < BUCKET_BOUNDS_US.length ? BUCKET_BOUNDS_US[bucket] : Long.MAX_VALUE;
+    }
+
+    /**
+     * 某一时刻的统计结果
+     */
+    public static final class Snapshot {
+        private final long[] mDrawBuckets;
+        private final long mDrawCount;
+        private final long mDrawTimeNanos;
+        private final long mMaxDrawTimeNanos;
+        private final long mSaveLayerCount;
+        private final long mAnimationCount;
+        private final long mFramesRendered;
+        private final long mFramesExpected;
+        private final long mAnimationAllocations;
+        private final long[] mTierAnimations;
+
+        Snapshot(ThumbsMetrics metrics) {
+            mDrawBuckets = metrics.mDrawBuckets.clone();
+            mDrawCount = metrics.mDrawCount;
+            mDrawTimeNanos = metrics.mDrawTimeNanos;
+            mMaxDrawTimeNanos = metrics.mMaxDrawTimeNanos;
+            mSaveLayerCount = metrics.mSaveLayerCount;
+            mAnimationCount = metrics.mAnimationCount;
+            mFramesRendered = metrics.mFramesRendered;
+            mFramesExpected = metrics.mFramesExpected;
+            mAnimationAllocations = metrics.mAnimationAllocations;
+            mTierAnimations = metrics.mTierAnimations.clone();
+        }
+
+        /**
+         * 获取绘制次数
+         *
+         * @return 绘制次数
+         */
+        public long getDrawCount() {
+            return mDrawCount;
+        }
+
+        /**
+         * 获取某一耗时区间内的绘制次数，区间上限见{@link ThumbsMetrics#getBucketBoundUs(int)}
+         *
+         * @param bucket 区间，0~{@link ThumbsMetrics#BUCKET_COUNT}-1
+         * @return 绘制次数
+         */
+        public long getDrawCount(int bucket) {
+            return mDrawBuckets[bucket];
+        }
+
+        /**
+         * 获取平均绘制耗时
+         *
+         * @return 平均耗时（纳秒）
+         */
+        public long getAverageDrawTimeNanos() {
+            return mDrawCount == 0 ? 0 : mDrawTimeNanos / mDrawCount;
+        }
+
+        /**
+         * 获取最长绘制耗时
+         *
+         * @return 最长耗时（纳秒）
+         */
+        public long getMaxDrawTimeNanos() {
+            return mMaxDrawTimeNanos;
+        }
+
+        /**
+         * 按耗时分布估算绘制耗时的百分位数
+         *
+         * @param percentile 百分位，0~100
+         * @return 该百分位所在区间的上限（微秒），没有绘制时为0
+         */
+        public long getDrawTimePercentileUs(float percentile) {
+            if (mDrawCount == 0) {
+                return 0;
+            }
+            long target = (long) Math.ceil(mDrawCount * percentile / 100f);
+            long seen = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                seen += mDrawBuckets[i];
+                if (seen >= target && seen > 0) {
+                    return getBucketBoundUs(i);
+                }
+            }
+            return getBucketBoundUs(BUCKET_COUNT - 1);
+        }
+
+        /**
+         * 获取离屏缓存绘制次数
+         *
+         * @return 离屏缓存绘制次数
+         */
+        public long getSaveLayerCount() {
+            return mSaveLayerCount;
+        }
+
+        /**
+         * 获取已结束的动画次数
+         *
+         * @return 动画次数
+         */
+        public long getAnimationCount() {
+            return mAnimationCount;
+        }
+
+        /**
+         * 获取已结束的动画实际绘制的帧数
+         *
+         * @return 帧数
+         */
+        public long getFramesRendered() {
+            return mFramesRendered;
+        }
+
+        /**
+         * 获取已结束的动画按屏幕刷新率应绘制的帧数
+         *
+         * @return 帧数
+         */
+        public long getFramesExpected() {
+            return mFramesExpected;
+        }
+
+        /**
+         * 获取已结束的动画期间的对象分配次数
+         *
+         * @return 分配次数
+         */
+        public long getAnimationAllocations() {
+            return mAnimationAllocations;
+        }
+
+        /**
+         * 获取某一效果档位下开始的动画次数
+         *
+         * @param tier 效果档位，{@link QualityGovernor#TIER_FULL}~{@link QualityGovernor#TIER_SNAP}
+         * @return 动画次数
+         */
+        public long getTierAnimationCount(int tier) {
+            return mTierAnimations[tier];
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.skin.thumbsdemo;
+
+/**
+ * 点赞动画的时间轴
+ * <p>
+ * 由一个进度值计算点赞动画中所有属性的值，代替每次点击创建的多个属性动画：
+ * <ul>
+ * <li>0~200ms 点赞图片 1-0.8-1 伸缩，回弹插值</li>
+ * <li>0~200ms 跳动文字滚动进度 0-1</li>
+ * <li>0~200ms 点击处圆圈透明度 0xff-0x00</li>
+ * <li>0~200ms 点赞图片圆圈 0.5-1 伸缩，减速插值</li>
+ * <li>200~250ms 点赞图片圆圈透明度 0xff-0x00</li>
+ * </ul>
+ * 未指定插值的属性与属性动画的默认插值一致，先加速后减速。
+ * Created by wangcheng on 2026/10/17.
+ */
+public final class ThumbsTimeline {
+
+    /**
+     * 时间轴总时长（毫秒）
+     */
+    public static final long DURATION = 250;
+    /**
+     * 伸缩、跳动文字和点击处圆圈动画的时长（毫秒）
+     */
+    public static final long MAIN_DURATION = 200;
+    /**
+     * 点赞图片圆圈淡出的时长（毫秒），在其他动画结束后执行
+     */
+    public static final long FADE_DURATION = DURATION - MAIN_DURATION;
+
+    /**
+     * 回弹插值的张力，与 OvershootInterpolator 默认值一致
+     */
+    private static final float OVERSHOOT_TENSION = 2f;
+
+    private float mScaleOff = 1f;
+    private float mJumpProgress = 1f;
+    private int mClickCircleAlpha;
+    private float mBitmapCircleScale = 1f;
+    private int mBitmapCircleAlpha;
+
+    /**
+     * 按进度计算所有属性
+     *
+     * @param progress 时间轴进度，0~1，对应0~{@link #DURATION}毫秒
+     */
+    public void apply(float progress) {
+        float time = clamp(progress) * DURATION;
+        float main = Math.min(time / MAIN_DURATION, 1f);
+        //1-0.8-1 两段关键帧，回弹超出1时沿最后一段延伸
+        float scaleFraction = overshoot(main);
+        if (scaleFraction < 0.5f) {
+            mScaleOff = 1f - 0.2f * (scaleFraction / 0.5f);
+        } else {
+            mScaleOff = 0.8f + 0.2f * ((scaleFraction - 0.5f) / 0.5f);
+        }
+        mJumpProgress = accelerateDecelerate(main);
+        mClickCircleAlpha = (int) (0xff * (1f - accelerateDecelerate(main)));
+        mBitmapCircleScale = 0.5f + 0.5f * decelerate(main);
+        if (time <= MAIN_DURATION) {
+            mBitmapCircleAlpha = 0xff;
+        } else {
+            float fade = Math.min((time - MAIN_DURATION) / FADE_DURATION, 1f);
+            mBitmapCircleAlpha = (int) (0xff * (1f - accelerateDecelerate(fade)));
+        }
+    }
+
+    /**
+     * 获取点赞图片的伸缩系数
+     *
+     * @return 伸缩系数
+     */
+    public float getScaleOff() {
+        return mScaleOff;
+    }
+
+    /**
+     * 获取跳动文字的滚动进度
+     *
+     * @return 滚动进度，0~1
+     */
+    public float getJumpProgress() {
+        return mJumpProgress;
+    }
+
+    /**
+     * 获取点击处圆圈的透明度
+     *
+     * @return 透明度
+     */
+    public int getClickCircleAlpha() {
+        return mClickCircleAlpha;
+    }
+
+    /**
+     * 获取点赞图片圆圈的缩放系数
+     *
+     * @return 缩放系数
+     */
+    public float getBitmapCircleScale() {
+        return mBitmapCircleScale;
+    }
+
+    /**
+     * 获取点赞图片圆圈的透明度
+     *
+     * @return 透明度
+     */
+    public int getBitmapCircleAlpha() {
+        return mBitmapCircleAlpha;
+    }
+
+    private static float clamp(float value) {
+        return value < 0f ? 0f : (value > 1f ? 1f : value);
+    }
+
+    /**
+     * 与 OvershootInterpolator 一致
+     */
+    static float overshoot(float t) {
+        t -= 1f;
+        return t * t * ((OVERSHOOT_TENSION + 1) * t + OVERSHOOT_TENSION) + 1f;
+    }
+
+    /**
+     * 与 DecelerateInterpolator 一致
+     */
+    static float decelerate(float t) {
+        return 1f - (1f - t) * (1f - t);
+    }
+
+    /**
+     * 与 AccelerateDecelerateInterpolator 一致
+     */
+    static float accelerateDecelerate(float t) {
+        return (float) (Math.cos((t + 1) * Math.PI) / 2.0) + 0.5f;
+    }
+}
@@ -0,0 +1,65 @@
+package com.skin.thumbsdemo;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Created by wangcheng on 2026/10/17.
+ */
+public class CountFormatterTest {
+
+    private static String format(int style, long count) {
+        CountFormatter formatter = new CountFormatter(style);
+        int length = formatter.format(count);
+        return new String(formatter.getChars(), 0, length);
+    }
+
+    @Test
+    public void formatFull() throws Exception {
+        assertEquals("0", format(CountFormatter.STYLE_FULL, 0));
+        assertEquals("1299", format(CountFormatter.STYLE_FULL, 1299));
+        assertEquals("4294967296", format(CountFormatter.STYLE_FULL, 1L << 32));
+        assertEquals("9223372036854775807", format(CountFormatter.STYLE_FULL, Long.MAX_VALUE));
+        assertEquals("-5", format(CountFormatter.STYLE_FULL, -5));
+    }
+
+    @Test
+    public void formatWestern() throws Exception {
+        assertEquals("999", format(CountFormatter.STYLE_WESTERN, 999));
+        assertEquals("1k", format(CountFormatter.STYLE_WESTERN, 1000));
+        assertEquals("1.2k", format(CountFormatter.STYLE_WESTERN, 1299));
+        assertEquals("1.1M", format(CountFormatter.STYLE_WESTERN, 1100000));
+        assertEquals("3.4B", format(CountFormatter.STYLE_WESTERN, 3456789012L));
+    }
+
+    @Test
+    public void formatChinese() throws Exception {
+        assertEquals("9999", format(CountFormatter.STYLE_CHINESE, 9999));
+        assertEquals("3.4万", format(CountFormatter.STYLE_CHINESE, 34000));
+        assertEquals("1.2亿", format(CountFormatter.STYLE_CHINESE, 123456789));
+    }
+
+    @Test
+    public void formatCachesResult() throws Exception {
+        CountFormatter formatter = new CountFormatter();
+        formatter.format(1299);
+        String first = formatter.toString();
+        formatter.format(1299);
+        assertSame(first, formatter.toString());
+        formatter.setStyle(CountFormatter.STYLE_WESTERN);
+        formatter.format(1299);
+        assertEquals("1.2k", formatter.toString());
+    }
+
+    @Test
+    public void parse() throws Exception {
+        assertEquals(1299, CountFormatter.parse("1299"));
+        assertEquals(Long.MAX_VALUE, CountFormatter.parse("9223372036854775807"));
+        assertEquals(-1, CountFormatter.parse("9223372036854775808"));
+        assertEquals(-1, CountFormatter.parse("12a"));
+        assertEquals(-1, CountFormatter.parse(""));
+        assertEquals(-1, CountFormatter.parse(null));
+    }
+}
@@ -0,0 +1,104 @@
+package com.skin.thumbsdemo;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created by wangcheng on 2026/10/17.
+ */
+public class CountMailboxTest {
+
+    private static final long ITEM = 7;
+
+    @Test
+    public void latestWins() throws Exception {
+        CountMailbox mailbox = new CountMailbox();
+        assertTrue(mailbox.publish(ITEM, 10, CountMailbox.LIKED));
+        assertFalse(mailbox.publish(ITEM, 11, CountMailbox.UNLIKED));
+        assertFalse(mailbox.publish(ITEM, 12, CountMailbox.KEEP_LIKED));
+        long value = mailbox.take(ITEM);
+        assertEquals(12, CountMailbox.getCount(value));
+        assertEquals(CountMailbox.KEEP_LIKED, CountMailbox.getLiked(value));
+        assertEquals(CountMailbox.EMPTY, mailbox.take(ITEM));
+        assertEquals(3, mailbox.getPublishedCount());
+        assertEquals(2, mailbox.getDroppedCount());
+        assertEquals(1, mailbox.getTakenCount());
+    }
+
+    @Test
+    public void clamp() throws Exception {
+        CountMailbox mailbox = new CountMailbox();
+        mailbox.publish(ITEM, -5, CountMailbox.UNLIKED);
+        assertEquals(0, CountMailbox.getCount(mailbox.take(ITEM)));
+        mailbox.publish(ITEM, Long.MAX_VALUE, CountMailbox.LIKED);
+        long value = mailbox.take(ITEM);
+        assertEquals(CountMailbox.MAX_COUNT, CountMailbox.getCount(value));
+        assertEquals(CountMailbox.LIKED, CountMailbox.getLiked(value));
+    }
+
+    @Test
+    public void clearDrops() throws Exception {
+        CountMailbox mailbox = new CountMailbox();
+        mailbox.clear();
+        assertEquals(0, mailbox.getDroppedCount());
+        mailbox.publish(ITEM, 1, CountMailbox.LIKED);
+        mailbox.clear();
+        assertEquals(1, mailbox.getDroppedCount());
+        assertTrue(mailbox.publish(ITEM, 2, CountMailbox.LIKED));
+    }
+
+    @Test
+    public void otherItemIsDropped() throws Exception {
+        CountMailbox mailbox = new CountMailbox();
+        //上一个数据项的值在重新绑定之后才放入
+        assertTrue(mailbox.publish(ITEM, 10, CountMailbox.LIKED));
+        assertEquals(CountMailbox.EMPTY, mailbox.take(ITEM + 1));
+        assertEquals(1, mailbox.getDroppedCount());
+        assertEquals(0, mailbox.getTakenCount());
+        //丢弃后信箱为空，之后的放入需重新安排取走
+        assertTrue(mailbox.publish(ITEM + 1, 11, CountMailbox.UNLIKED));
+        assertEquals(11, CountMailbox.getCount(mailbox.take(ITEM + 1)));
+    }
+
+    @Test
+    public void concurrentPublish() throws Exception {
+        final CountMailbox mailbox = new CountMailbox();
+        final int threads = 4;
+        final int perThread = 20000;
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            final int base = t * perThread;
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < perThread; i++) {
+                        mailbox.publish(ITEM, base + i, i & 1);
+                    }
+                    done.countDown();
+                }
+            }).start();
+        }
+        start.countDown();
+        while (done.getCount() > 0) {
+            long value = mailbox.take(ITEM);
+            if (value != CountMailbox.EMPTY) {
+                //点赞数和点赞状态来自同一次放入
+                assertEquals(CountMailbox.getCount(value) & 1, CountMailbox.getLiked(value));
+            }
+        }
+        mailbox.take(ITEM);
+        assertEquals(threads * perThread, mailbox.getPublishedCount());
+        assertEquals(mailbox.getPublishedCount(), mailbox.getDroppedCount() + mailbox.getTakenCount());
+    }
+}
@@ -0,0 +1,85 @@
+package com.skin.thumbsdemo;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created by wangcheng on 2026/10/17.
+ */
+public class DigitDiffTest {
+
+    private static DigitDiff diff(String from, String to) {
+        DigitDiff diff = new DigitDiff();
+        diff.compute(from.toCharArray(), from.length(), to.toCharArray(), to.length(),
+                Long.parseLong(to) >= Long.parseLong(from));
+        return diff;
+    }
+
+    @Test
+    public void singleStep() throws Exception {
+        DigitDiff diff = diff("1299", "1300");
+        assertEquals(1, diff.getPrefixLength());
+        assertEquals(3, diff.getColumnCount());
+        for (int column = 0; column < 3; column++) {
+            assertEquals(1, diff.getSteps(column));
+        }
+        assertEquals('2', diff.getGlyph(0, 0));
+        assertEquals('3', diff.getGlyph(0, 1));
+        assertEquals('0', diff.getGlyph(2, 1));
+    }
+
+    @Test
+    public void arbitraryChange() throws Exception {
+        DigitDiff diff = diff("1299", "1356");
+        assertTrue(diff.isUp());
+        assertEquals(1, diff.getPrefixLength());
+        assertEquals(1, diff.getSteps(0));
+        assertEquals(6, diff.getSteps(1));
+        assertEquals(7, diff.getSteps(2));
+        //9向上滚动经过0,1,2...
+        assertEquals('0', diff.getGlyph(1, 1));
+        assertEquals('5', diff.getGlyph(1, 6));
+    }
+
+    @Test
+    public void staticColumnInsideChange() throws Exception {
+        DigitDiff diff = diff("1209", "1301");
+        assertEquals(1, diff.getPrefixLength());
+        assertEquals(0, diff.getSteps(1));
+        assertEquals('0', diff.getNewChar(1));
+    }
+
+    @Test
+    public void digitCountGrows() throws Exception {
+        DigitDiff diff = diff("999", "1000");
+        assertEquals(0, diff.getPrefixLength());
+        assertEquals(4, diff.getColumnCount());
+        assertEquals(DigitDiff.NONE, diff.getOldChar(0));
+        assertEquals('1', diff.getNewChar(0));
+        assertEquals(1, diff.getSteps(0));
+        assertEquals(1, diff.getSteps(3));
+    }
+
+    @Test
+    public void digitCountShrinks() throws Exception {
+        DigitDiff diff = diff("1000", "999");
+        assertFalse(diff.isUp());
+        assertEquals(4, diff.getColumnCount());
+        assertEquals(-1, diff.getNewIndex(0));
+        assertEquals(DigitDiff.NONE, diff.getGlyph(0, 1));
+        assertEquals(0, diff.getNewIndex(1));
+        //0向下滚动1步到9
+        assertEquals(1, diff.getSteps(3));
+        assertEquals('9', diff.getGlyph(3, 1));
+    }
+
+    @Test
+    public void unchanged() throws Exception {
+        DigitDiff diff = diff("42", "42");
+        assertEquals(2, diff.getPrefixLength());
+        assertEquals(0, diff.getColumnCount());
+    }
+}
@@ -0,0 +1,139 @@
+package com.skin.thumbsdemo;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+
+/**
+ * 本地模拟的点赞服务端，请求排队后由测试逐个处理，响应的送达顺序也由测试控制，用于模拟延迟和乱序
+ * Created by wangcheng on 2026/10/17.
+ */
+class FakeLikeServer {
+
+    /**
+     * 服务端下发的状态
+     */
+    static final class Response {
+        final long itemId;
+        final long version;
+        final long count;
+        final boolean liked;
+        final long ackSeq;
+        /**
+         * 处理失败的本地操作序号，成功时为0
+         */
+        final long failedSeq;
+
+        Response(long itemId, long version, long count, boolean liked, long ackSeq, long failedSeq) {
+            this.itemId = itemId;
+            this.version = version;
+            this.count = count;
+            this.liked = liked;
+            this.ackSeq = ackSeq;
+            this.failedSeq = failedSeq;
+        }
+
+        /**
+         * 把响应交给合并层
+         *
+         * @param reconciler 合并层
+         * @return 显示的状态是否变化
+         */
+        boolean deliverTo(LikeReconciler reconciler) {
+            if (failedSeq != 0) {
+                return reconciler.onLocalFailed(itemId, failedSeq);
+            }
+            return reconciler.onServerState(itemId, version, count, liked, ackSeq);
+        }
+    }
+
+    private static final class ItemState {
+        long version;
+        long count;
+        boolean liked;
+        long ackSeq = LikeReconciler.NO_ACK;
+    }
+
+    private static final class Request {
+        final long itemId;
+        final boolean liked;
+        final long seq;
+
+        Request(long itemId, boolean liked, long seq) {
+            this.itemId = itemId;
+            this.liked = liked;
+            this.seq = seq;
+        }
+    }
+
+    private final HashMap<Long, ItemState> mItems = new HashMap<>();
+    private final ArrayDeque<Request> mRequests = new ArrayDeque<>();
+    private boolean isFailNext;
+
+    void seed(long itemId, long count, boolean liked) {
+        ItemState state = get(itemId);
+        state.count = count;
+        state.liked = liked;
+        state.version++;
+    }
+
+    private ItemState get(long itemId) {
+        ItemState state = mItems.get(itemId);
+        if (state == null) {
+            state = new ItemState();
+            mItems.put(itemId, state);
+        }
+        return state;
+    }
+
+    /**
+     * 提交本地操作，排队等待{@link #process()}
+     */
+    void submit(long itemId, boolean liked, long seq) {
+        mRequests.add(new Request(itemId, liked, seq));
+    }
+
+    /**
+     * 下一个请求处理失败
+     */
+    void failNext() {
+        isFailNext = true;
+    }
+
+    /**
+     * 处理排在最前面的请求
+     *
+     * @return 处理结果
+     */
+    Response process() {
+        Request request = mRequests.remove();
+        ItemState state = get(request.itemId);
+        if (isFailNext) {
+            isFailNext = false;
+            return new Response(request.itemId, state.version, state.count, state.liked, state.ackSeq, request.seq);
+        }
+        if (state.liked != request.liked) {
+            state.count += request.liked ? 1 : -1;
+            state.liked = request.liked;
+        }
+        state.ackSeq = request.seq;
+        state.version++;
+        return fetch(request.itemId);
+    }
+
+    /**
+     * 其他用户点赞或取消点赞
+     */
+    void externalLikes(long itemId, int delta) {
+        ItemState state = get(itemId);
+        state.count += delta;
+        state.version++;
+    }
+
+    /**
+     * 拉取当前状态，例如刷新列表
+     */
+    Response fetch(long itemId) {
+        ItemState state = get(itemId);
+        return new Response(itemId, state.version, state.count, state.liked, state.ackSeq, 0);
+    }
+}
@@ -0,0 +1,105 @@
+package com.skin.thumbsdemo;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created by wangcheng on 2026/10/17.
+ */
+public class LikeEventDispatcherTest {
+
+    @Test
+    public void coalescesTogglesIntoNetDelta() throws Exception {
+        InMemoryLikeEventSink sink = new InMemoryLikeEventSink();
+        LikeEventDispatcher dispatcher = new LikeEventDispatcher(sink, 50, null);
+        dispatcher.dispatch(1, true);
+        dispatcher.dispatch(1, false);
+        dispatcher.dispatch(1, true);
+        dispatcher.dispatch(2, true);
+        assertEquals(2, dispatcher.getQueueDepth());
+
+        assertTrue(sink.awaitBatches(1, 2000));
+        List<LikeEvent> batch = sink.getBatches().get(0);
+        assertEquals(2, batch.size());
+        assertEquals(1, batch.get(0).getItemId());
+        assertEquals(1, batch.get(0).getDelta());
+        assertTrue(batch.get(0).isLiked());
+        assertEquals(2, batch.get(1).getItemId());
+        assertEquals(0, dispatcher.getQueueDepth());
+        assertEquals(4, dispatcher.getDispatchCount());
+        assertEquals(2, dispatcher.getCoalescedCount());
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void cancelledToggleIsNotSent() throws Exception {
+        InMemoryLikeEventSink sink = new InMemoryLikeEventSink();
+        LikeEventDispatcher dispatcher = new LikeEventDispatcher(sink, 10, null);
+        dispatcher.dispatch(7, true);
+        dispatcher.dispatch(7, false);
+        assertFalse(sink.awaitBatches(1, 200));
+        assertEquals(0, dispatcher.getQueueDepth());
+        assertEquals(0, dispatcher.getFlushedEventCount());
+        //相互抵消的窗口不计入批次和延迟统计
+        assertEquals(0, dispatcher.getBatchCount());
+        assertEquals(0, dispatcher.getMaxFlushLatencyMillis());
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void flushCancelsScheduledWindow() throws Exception {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1);
+        executor.setRemoveOnCancelPolicy(true);
+        InMemoryLikeEventSink sink = new InMemoryLikeEventSink();
+        LikeEventDispatcher dispatcher = new LikeEventDispatcher(sink, 60000, executor);
+        dispatcher.dispatch(1, true);
+        assertEquals(1, executor.getQueue().size());
+        dispatcher.flush();
+        assertTrue(sink.awaitBatches(1, 2000));
+        long deadline = System.currentTimeMillis() + 2000;
+        while (!executor.getQueue().isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        //提前提交后原来的到期提交已取消，下一次操作重新计时
+        assertTrue(executor.getQueue().isEmpty());
+        dispatcher.dispatch(2, true);
+        assertEquals(1, executor.getQueue().size());
+        dispatcher.shutdown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void flushAfterShutdownIsIgnored() throws Exception {
+        InMemoryLikeEventSink sink = new InMemoryLikeEventSink();
+        LikeEventDispatcher dispatcher = new LikeEventDispatcher(sink, 60000, null);
+        dispatcher.dispatch(4, true);
+        dispatcher.shutdown();
+        dispatcher.flush();
+        assertTrue(sink.awaitBatches(1, 2000));
+        assertEquals(1, sink.getNetDelta(4));
+    }
+
+    @Test
+    public void flushSendsImmediately() throws Exception {
+        InMemoryLikeEventSink sink = new InMemoryLikeEventSink();
+        LikeEventDispatcher dispatcher = new LikeEventDispatcher(sink, 60000, null);
+        dispatcher.dispatch(3, false);
+        dispatcher.flush();
+        assertTrue(sink.awaitBatches(1, 2000));
+        assertEquals(-1, sink.getNetDelta(3));
+        //统计在接收方处理完成后更新
+        long deadline = System.currentTimeMillis() + 2000;
+        while (dispatcher.getBatchCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(1, dispatcher.getBatchCount());
+        assertTrue(dispatcher.getMaxFlushLatencyMillis() < 60000);
+        dispatcher.shutdown();
+    }
+}
@@ -0,0 +1,121 @@
+package com.skin.thumbsdemo;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created by wangcheng on 2026/10/17.
+ */
+public class LikeReconcilerTest {
+
+    private static final long ITEM = 7;
+
+    private FakeLikeServer mServer;
+    private LikeReconciler mReconciler;
+
+    @Before
+    public void setUp() throws Exception {
+        mServer = new FakeLikeServer();
+        mServer.seed(ITEM, 100, false);
+        mReconciler = new LikeReconciler();
+        assertTrue(mServer.fetch(ITEM).deliverTo(mReconciler));
+    }
+
+    private void like(boolean liked) {
+        long before = mReconciler.getDisplayState(ITEM);
+        long seq = mReconciler.onLocalLike(ITEM, liked, LikeStateStore.getCount(before), LikeStateStore.isLiked(before));
+        mServer.submit(ITEM, liked, seq);
+    }
+
+    private void assertDisplay(long count, boolean liked) {
+        long state = mReconciler.getDisplayState(ITEM);
+        assertEquals(count, LikeStateStore.getCount(state));
+        assertEquals(liked, LikeStateStore.isLiked(state));
+    }
+
+    @Test
+    public void ackRetiresPending() throws Exception {
+        like(true);
+        assertDisplay(101, true);
+        assertEquals(1, mReconciler.getPendingCount(ITEM));
+        //确认后显示的状态不变，不需要刷新
+        assertFalse(mServer.process().deliverTo(mReconciler));
+        assertDisplay(101, true);
+        assertEquals(0, mReconciler.getPendingCount(ITEM));
+    }
+
+    @Test
+    public void staleCountDoesNotFlicker() throws Exception {
+        FakeLikeServer.Response beforeLike = mServer.fetch(ITEM);
+        like(true);
+        //点赞前拉取的点赞数在点赞后才送达
+        assertFalse(beforeLike.deliverTo(mReconciler));
+        assertDisplay(101, true);
+        mServer.process().deliverTo(mReconciler);
+        assertDisplay(101, true);
+    }
+
+    @Test
+    public void otherUsersMergeWithPending() throws Exception {
+        like(true);
+        mServer.externalLikes(ITEM, 5);
+        //服务端还未处理本地点赞，点赞数只包含其他用户的变化
+        assertTrue(mServer.fetch(ITEM).deliverTo(mReconciler));
+        assertDisplay(106, true);
+        assertFalse(mServer.process().deliverTo(mReconciler));
+        assertDisplay(106, true);
+    }
+
+    @Test
+    public void outOfOrderResponsesIgnored() throws Exception {
+        like(true);
+        like(false);
+        like(true);
+        assertDisplay(101, true);
+        FakeLikeServer.Response first = mServer.process();
+        FakeLikeServer.Response second = mServer.process();
+        FakeLikeServer.Response third = mServer.process();
+        //最后一个响应先送达
+        assertFalse(third.deliverTo(mReconciler));
+        assertFalse(first.deliverTo(mReconciler));
+        assertFalse(second.deliverTo(mReconciler));
+        assertDisplay(101, true);
+        assertEquals(0, mReconciler.getPendingCount(ITEM));
+    }
+
+    @Test
+    public void intermediateAcksDoNotFlicker() throws Exception {
+        like(true);
+        like(false);
+        like(true);
+        //依次送达时中间状态不显示
+        assertFalse(mServer.process().deliverTo(mReconciler));
+        assertDisplay(101, true);
+        assertFalse(mServer.process().deliverTo(mReconciler));
+        assertDisplay(101, true);
+        assertFalse(mServer.process().deliverTo(mReconciler));
+        assertDisplay(101, true);
+    }
+
+    @Test
+    public void failureRollsBack() throws Exception {
+        like(true);
+        mServer.failNext();
+        assertTrue(mServer.process().deliverTo(mReconciler));
+        assertDisplay(100, false);
+        assertEquals(0, mReconciler.getPendingCount(ITEM));
+    }
+
+    @Test
+    public void unknownItemUsesDisplayedBase() throws Exception {
+        long seq = mReconciler.onLocalLike(9, true, 41, false);
+        assertEquals(42, LikeStateStore.getCount(mReconciler.getDisplayState(9)));
+        assertTrue(seq > 0);
+        assertFalse(mReconciler.onServerState(9, 1, 42, true, seq));
+        assertEquals(LikeStateStore.MISSING, mReconciler.getDisplayState(10));
+    }
+}
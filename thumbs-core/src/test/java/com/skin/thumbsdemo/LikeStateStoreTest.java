@@ -0,0 +1,202 @@
+package com.skin.thumbsdemo;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Created by wangcheng on 2026/10/17.
+ */
+public class LikeStateStoreTest {
+
+    private File mFile;
+
+    @Before
+    public void setUp() throws Exception {
+        mFile = File.createTempFile("likes", ".bin");
+        assertTrue(mFile.delete());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        mFile.delete();
+        new File(mFile.getPath() + ".tmp").delete();
+    }
+
+    @Test
+    public void putAndGet() throws Exception {
+        LikeStateStore store = new LikeStateStore(mFile);
+        assertEquals(LikeStateStore.MISSING, store.get(1));
+        store.put(1, 1299, true);
+        long packed = store.get(1);
+        assertEquals(1299, LikeStateStore.getCount(packed));
+        assertTrue(LikeStateStore.isLiked(packed));
+        store.put(1, 1298, false);
+        packed = store.get(1);
+        assertEquals(1298, LikeStateStore.getCount(packed));
+        assertFalse(LikeStateStore.isLiked(packed));
+        assertEquals(1, store.size());
+        assertEquals(LikeStateStore.MISSING, store.get(Long.MIN_VALUE));
+        store.close();
+    }
+
+    @Test
+    public void growsTo100k() throws Exception {
+        LikeStateStore store = new LikeStateStore(mFile);
+        for (long id = 0; id < 100000; id++) {
+            store.put(id * 7919, id, (id & 1) == 0);
+        }
+        assertEquals(100000, store.size());
+        for (long id = 0; id < 100000; id++) {
+            long packed = store.get(id * 7919);
+            assertEquals(id, LikeStateStore.getCount(packed));
+            assertEquals((id & 1) == 0, LikeStateStore.isLiked(packed));
+        }
+        assertEquals(LikeStateStore.MISSING, store.get(-5));
+        store.close();
+    }
+
+    @Test
+    public void persistsAcrossInstances() throws Exception {
+        LikeStateStore store = new LikeStateStore(mFile);
+        store.put(1, 10, true);
+        store.put(-2, 20, false);
+        store.put(3, LikeStateStore.MAX_COUNT + 5, true);
+        store.flush().get();
+        assertEquals(1, store.getWriteCount());
+        store.close();
+
+        LikeStateStore restored = new LikeStateStore(mFile);
+        restored.put(1, 11, false);
+        restored.load().get();
+        assertTrue(restored.isLoaded());
+        assertEquals(3, restored.size());
+        //内存中的修改比文件新
+        assertEquals(11, LikeStateStore.getCount(restored.get(1)));
+        assertEquals(20, LikeStateStore.getCount(restored.get(-2)));
+        assertEquals(LikeStateStore.MAX_COUNT, LikeStateStore.getCount(restored.get(3)));
+        restored.close();
+    }
+
+    @Test
+    public void batchesWrites() throws Exception {
+        LikeStateStore store = new LikeStateStore(mFile, 100, null);
+        for (int i = 0; i < 1000; i++) {
+            store.put(i % 10, i, true);
+        }
+        Thread.sleep(400);
+        assertEquals(1, store.getWriteCount());
+        //没有修改时不写入
+        store.put(9, 999, true);
+        store.flush().get();
+        assertEquals(1, store.getWriteCount());
+        store.close();
+    }
+
+    @Test
+    public void ignoresCorruptFile() throws Exception {
+        FileOutputStream out = new FileOutputStream(mFile);
+        out.write(new byte[]{1, 2, 3, 4, 5});
+        out.close();
+        LikeStateStore store = new LikeStateStore(mFile);
+        store.load().get();
+        assertTrue(store.isLoaded());
+        assertEquals(0, store.size());
+        store.put(1, 1, true);
+        store.flush().get();
+        store.close();
+
+        LikeStateStore restored = new LikeStateStore(mFile);
+        restored.load().get();
+        assertEquals(1, restored.size());
+        restored.close();
+    }
+
+    @Test
+    public void retriesFailedWriteWithoutNewPut() throws Exception {
+        File dir = new File(mFile.getPath() + ".dir");
+        File file = new File(dir, "likes.bin");
+        LikeStateStore store = new LikeStateStore(file, 0, null);
+        store.put(1, 1, true);
+        try {
+            store.flush().get();
+            fail("directory does not exist");
+        } catch (ExecutionException expected) {
+        }
+        assertTrue(store.getWriteFailureCount() > 0);
+        assertTrue(dir.mkdir());
+        //之后没有修改，由重试写入
+        long deadline = System.currentTimeMillis() + 5000;
+        while (store.getWriteCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(1, store.getWriteCount());
+        store.close();
+
+        LikeStateStore restored = new LikeStateStore(file);
+        restored.load().get();
+        assertEquals(1, LikeStateStore.getCount(restored.get(1)));
+        restored.close();
+        file.delete();
+        dir.delete();
+    }
+
+    @Test
+    public void retryDelayDoubles() throws Exception {
+        LikeStateStore store = new LikeStateStore(mFile, 0, null);
+        assertEquals(LikeStateStore.MIN_RETRY_DELAY_MILLIS, store.getRetryDelay(1));
+        assertEquals(LikeStateStore.MIN_RETRY_DELAY_MILLIS * 2, store.getRetryDelay(2));
+        assertEquals(LikeStateStore.MAX_RETRY_DELAY_MILLIS, store.getRetryDelay(100));
+        store.close();
+    }
+
+    @Test
+    public void readsDuringLoadSeeEveryEntry() throws Exception {
+        LikeStateStore writer = new LikeStateStore(mFile);
+        for (long id = 0; id < 20000; id++) {
+            writer.put(id, id, true);
+        }
+        writer.flush().get();
+        writer.close();
+
+        final LikeStateStore store = new LikeStateStore(mFile);
+        for (long id = 0; id < 100; id++) {
+            store.put(id, id, true);
+        }
+        final AtomicBoolean done = new AtomicBoolean();
+        final AtomicLong errors = new AtomicLong();
+        Thread reader = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while (!done.get()) {
+                    for (long id = 0; id < 100; id++) {
+                        if (LikeStateStore.getCount(store.get(id)) != id) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                }
+            }
+        });
+        reader.start();
+        //每次读取文件都在锁外建表后替换，读取线程始终能看到已有的条目
+        for (int i = 0; i < 20; i++) {
+            store.load().get();
+        }
+        done.set(true);
+        reader.join();
+        assertEquals(0, errors.get());
+        assertEquals(20000, store.size());
+        store.close();
+    }
+}
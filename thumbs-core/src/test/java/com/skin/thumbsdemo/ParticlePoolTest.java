@@ -0,0 +1,57 @@
+package com.skin.thumbsdemo;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created by wangcheng on 2026/10/17.
+ */
+public class ParticlePoolTest {
+
+    @After
+    public void tearDown() throws Exception {
+        ParticlePool.setGlobalLimit(ParticlePool.DEFAULT_GLOBAL_LIMIT);
+    }
+
+    @Test
+    public void burst() throws Exception {
+        ParticlePool pool = new ParticlePool(12);
+        assertEquals(12, pool.start(100f, 50f, 40f));
+        float[] points = pool.getPoints();
+        assertEquals(100f, points[0], 0.001f);
+        assertEquals(0xff, pool.getAlpha());
+        pool.update(1f);
+        for (int i = 0; i < pool.getCount(); i++) {
+            float dx = points[i * 2] - 100f;
+            float dy = points[i * 2 + 1] - 50f;
+            float distance = (float) Math.sqrt(dx * dx + dy * dy);
+            assertTrue(distance >= 40f * 0.6f - 0.01f && distance <= 40f + 0.01f);
+        }
+        assertEquals(0, pool.getAlpha());
+        pool.release();
+        assertFalse(pool.isActive());
+    }
+
+    @Test
+    public void globalLimit() throws Exception {
+        ParticlePool.setGlobalLimit(20);
+        ParticlePool first = new ParticlePool(12);
+        ParticlePool second = new ParticlePool(12);
+        ParticlePool third = new ParticlePool(12);
+        assertEquals(12, first.start(0f, 0f, 10f));
+        assertEquals(8, second.start(0f, 0f, 10f));
+        assertEquals(0, third.start(0f, 0f, 10f));
+        assertEquals(20, ParticlePool.getActiveTotal());
+        //重新迸发时先归还上一次的粒子
+        assertEquals(12, first.start(0f, 0f, 10f));
+        first.release();
+        second.release();
+        assertEquals(0, ParticlePool.getActiveTotal());
+        assertEquals(12, third.start(0f, 0f, 10f));
+        third.release();
+    }
+}
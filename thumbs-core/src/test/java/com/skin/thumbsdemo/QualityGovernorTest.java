@@ -0,0 +1,103 @@
+package com.skin.thumbsdemo;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created by wangcheng on 2026/10/17.
+ */
+public class QualityGovernorTest {
+
+    private static final long FRAME = QualityGovernor.DEFAULT_FRAME_INTERVAL_NANOS;
+
+    private QualityGovernor mGovernor;
+    private long mNow;
+
+    @Before
+    public void setUp() throws Exception {
+        mGovernor = new QualityGovernor();
+        mNow = 1000000000L;
+        mGovernor.onFrame(mNow);
+    }
+
+    private void frames(int count, long interval) {
+        for (int i = 0; i < count; i++) {
+            mNow += interval;
+            mGovernor.onFrame(mNow);
+        }
+    }
+
+    @Test
+    public void smoothFramesStayFull() throws Exception {
+        frames(QualityGovernor.WINDOW_FRAMES * 10, FRAME);
+        assertEquals(QualityGovernor.TIER_FULL, mGovernor.getTier());
+        assertFalse(mGovernor.isDegraded());
+    }
+
+    @Test
+    public void stepsDownOneTierPerJankBurst() throws Exception {
+        frames(QualityGovernor.DOWNGRADE_JANK_FRAMES, FRAME * 2);
+        assertEquals(QualityGovernor.TIER_NO_RING, mGovernor.getTier());
+        frames(QualityGovernor.DOWNGRADE_JANK_FRAMES, FRAME * 2);
+        assertEquals(QualityGovernor.TIER_NO_FADE, mGovernor.getTier());
+        frames(QualityGovernor.DOWNGRADE_JANK_FRAMES * 5, FRAME * 2);
+        assertEquals(QualityGovernor.TIER_SNAP, mGovernor.getTier());
+        assertEquals(3, mGovernor.getDowngradeCount());
+    }
+
+    @Test
+    public void occasionalJankKeepsTier() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            frames(QualityGovernor.WINDOW_FRAMES - 1, FRAME);
+            frames(1, FRAME * 2);
+        }
+        assertEquals(QualityGovernor.TIER_FULL, mGovernor.getTier());
+    }
+
+    @Test
+    public void recoversSlowly() throws Exception {
+        frames(QualityGovernor.DOWNGRADE_JANK_FRAMES * 2, FRAME * 2);
+        assertEquals(QualityGovernor.TIER_NO_FADE, mGovernor.getTier());
+        //一个窗口没有掉帧还不够升档
+        frames(QualityGovernor.WINDOW_FRAMES, FRAME);
+        assertEquals(QualityGovernor.TIER_NO_FADE, mGovernor.getTier());
+        frames(QualityGovernor.WINDOW_FRAMES * (QualityGovernor.UPGRADE_WINDOWS - 1), FRAME);
+        assertEquals(QualityGovernor.TIER_NO_RING, mGovernor.getTier());
+        //窗口内有掉帧时重新计数
+        frames(QualityGovernor.WINDOW_FRAMES - 1, FRAME);
+        frames(1, FRAME * 2);
+        frames(QualityGovernor.WINDOW_FRAMES * (QualityGovernor.UPGRADE_WINDOWS - 1), FRAME);
+        assertEquals(QualityGovernor.TIER_NO_RING, mGovernor.getTier());
+        frames(QualityGovernor.WINDOW_FRAMES, FRAME);
+        assertEquals(QualityGovernor.TIER_FULL, mGovernor.getTier());
+        assertEquals(2, mGovernor.getUpgradeCount());
+    }
+
+    @Test
+    public void idleGapIsNotJank() throws Exception {
+        mGovernor.onIdle();
+        for (int i = 0; i < QualityGovernor.DOWNGRADE_JANK_FRAMES; i++) {
+            frames(1, FRAME * 100);
+            mGovernor.onIdle();
+        }
+        assertEquals(QualityGovernor.TIER_FULL, mGovernor.getTier());
+    }
+
+    @Test
+    public void powerSaveCapsTier() throws Exception {
+        mGovernor.setPowerSave(true);
+        assertTrue(mGovernor.isPowerSave());
+        assertEquals(QualityGovernor.TIER_NO_FADE, mGovernor.getTier());
+        assertFalse(mGovernor.isDegraded());
+        frames(QualityGovernor.DOWNGRADE_JANK_FRAMES * 3, FRAME * 2);
+        assertEquals(QualityGovernor.TIER_SNAP, mGovernor.getTier());
+        mGovernor.reset();
+        assertEquals(QualityGovernor.TIER_NO_FADE, mGovernor.getTier());
+        mGovernor.setPowerSave(false);
+        assertEquals(QualityGovernor.TIER_FULL, mGovernor.getTier());
+    }
+}
@@ -0,0 +1,28 @@
+package com.skin.thumbsdemo;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Created by wangcheng on 2017/10/25.
+ */
+@SuppressWarnings("deprecation")
+public class StringUtilTest {
+
+    @Test
+    public void getLastContentLength() throws Exception {
+        assertEquals(5, StringUtil.getLastContentLength(true, "130000"));
+        assertEquals(1, StringUtil.getLastContentLength(true, "1299"));
+        assertEquals(3, StringUtil.getLastContentLength(true, "1300"));
+        //取消点赞时按之前的数字计算，1300-1299
+        assertEquals(3, StringUtil.getLastContentLength(false, "1299"));
+        assertEquals(0, StringUtil.getLastContentLength(true, "12a"));
+    }
+
+    @Test
+    public void getOldLastContent() throws Exception {
+        assertEquals("299", StringUtil.getOldLastContent(true, "1300"));
+        assertEquals("300", StringUtil.getOldLastContent(false, "1299"));
+    }
+}
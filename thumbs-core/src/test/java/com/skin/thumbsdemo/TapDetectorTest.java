@@ -0,0 +1,58 @@
+package com.skin.thumbsdemo;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created by wangcheng on 2026/10/17.
+ */
+public class TapDetectorTest {
+
+    private TapDetector mDetector;
+
+    @Before
+    public void setUp() throws Exception {
+        mDetector = new TapDetector(8);
+        mDetector.setHitRegion(10, 10, 110, 60);
+    }
+
+    @Test
+    public void tap() throws Exception {
+        assertTrue(mDetector.onDown(20, 20));
+        mDetector.onMove(24, 25);
+        assertTrue(mDetector.onUp(25, 25));
+        assertFalse(mDetector.isTracking());
+    }
+
+    @Test
+    public void downOutsideHitRegion() throws Exception {
+        assertFalse(mDetector.onDown(5, 20));
+        assertFalse(mDetector.onUp(20, 20));
+        assertFalse(mDetector.onDown(110, 20));
+    }
+
+    @Test
+    public void moveBeyondSlop() throws Exception {
+        assertTrue(mDetector.onDown(20, 20));
+        mDetector.onMove(20, 29);
+        assertFalse(mDetector.isTracking());
+        //回到原处也不再算作点击
+        assertFalse(mDetector.onUp(20, 20));
+    }
+
+    @Test
+    public void upBeyondSlopWithoutMove() throws Exception {
+        assertTrue(mDetector.onDown(20, 20));
+        assertFalse(mDetector.onUp(40, 20));
+    }
+
+    @Test
+    public void cancel() throws Exception {
+        assertTrue(mDetector.onDown(20, 20));
+        mDetector.onCancel();
+        assertFalse(mDetector.onUp(20, 20));
+    }
+}
@@ -0,0 +1,79 @@
+package com.skin.thumbsdemo;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Created by wangcheng on 2026/10/17.
+ */
+public class ThumbsLayoutTest {
+
+    /**
+     * 每个字符宽10像素
+     */
+    private static final ThumbsLayout.TextMeasurer MEASURER = new ThumbsLayout.TextMeasurer() {
+        @Override
+        public float measureText(char[] text, int start, int count) {
+            return count * 10f;
+        }
+    };
+
+    private static ThumbsLayout layout(String from, String to) {
+        DigitDiff diff = new DigitDiff();
+        diff.compute(from.toCharArray(), from.length(), to.toCharArray(), to.length(),
+                Long.parseLong(to) >= Long.parseLong(from));
+        ThumbsLayout layout = new ThumbsLayout();
+        layout.measureText(to.toCharArray(), to.length(), diff, MEASURER);
+        return layout;
+    }
+
+    @Test
+    public void sameLength() throws Exception {
+        ThumbsLayout layout = layout("1299", "1300");
+        assertEquals(40f, layout.getContentWidth(), 0f);
+        assertEquals(10f, layout.getPrefixWidth(), 0f);
+        assertEquals(10f, layout.getColumnX(0), 0f);
+        assertEquals(30f, layout.getColumnX(2), 0f);
+        assertEquals(0f, layout.getMinColumnX(), 0f);
+    }
+
+    @Test
+    public void fewerDigits() throws Exception {
+        //变化前多出的一位排在不动部分的左侧
+        ThumbsLayout layout = layout("10", "9");
+        assertEquals(-10f, layout.getColumnX(0), 0f);
+        assertEquals(0f, layout.getColumnX(1), 0f);
+        assertEquals(-10f, layout.getMinColumnX(), 0f);
+    }
+
+    @Test
+    public void centered() throws Exception {
+        ThumbsLayout layout = layout("99", "100");
+        layout.layout(200, 100, 50, 40);
+        assertEquals(60, layout.getBitmapLeft());
+        assertEquals(30, layout.getBitmapTop());
+        assertEquals(60 + 50 + ThumbsLayout.TEXT_GAP, layout.getTextLeft(), 0f);
+        assertEquals(60f, layout.getTextTop(), 0f);
+    }
+
+    @Test
+    public void stableWidth() throws Exception {
+        ThumbsLayout.TextMeasurer measurer = new ThumbsLayout.TextMeasurer() {
+            @Override
+            public float measureText(char[] text, int start, int count) {
+                //数字1较窄，其余字符宽10像素
+                float width = 0f;
+                for (int i = start; i < start + count; i++) {
+                    width += text[i] == '1' ? 6f : 10f;
+                }
+                return width;
+            }
+        };
+        assertEquals(10f, ThumbsLayout.measureMaxDigitWidth(measurer), 0f);
+        float width = ThumbsLayout.measureStableWidth("1299".toCharArray(), 4, 10f, measurer);
+        assertEquals(width, ThumbsLayout.measureStableWidth("1300".toCharArray(), 4, 10f, measurer), 0f);
+        assertEquals(40f, width, 0f);
+        assertEquals(40f, ThumbsLayout.measureStableWidth("1.1k".toCharArray(), 4, 10f, measurer), 0f);
+    }
+}
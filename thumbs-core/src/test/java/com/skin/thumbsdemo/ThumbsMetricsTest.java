@@ -0,0 +1,75 @@
+package com.skin.thumbsdemo;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Created by wangcheng on 2026/10/17.
+ */
+public class ThumbsMetricsTest {
+
+    @Test
+    public void drawHistogram() throws Exception {
+        ThumbsMetrics metrics = new ThumbsMetrics();
+        metrics.recordDraw(100000);
+        metrics.recordDraw(300000);
+        metrics.recordDraw(300000);
+        metrics.recordDraw(20000000);
+        ThumbsMetrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals(4, snapshot.getDrawCount());
+        assertEquals(1, snapshot.getDrawCount(0));
+        assertEquals(2, snapshot.getDrawCount(1));
+        assertEquals(1, snapshot.getDrawCount(ThumbsMetrics.BUCKET_COUNT - 1));
+        assertEquals(20000000, snapshot.getMaxDrawTimeNanos());
+        assertEquals(500, snapshot.getDrawTimePercentileUs(50));
+        assertEquals(Long.MAX_VALUE, snapshot.getDrawTimePercentileUs(100));
+    }
+
+    @Test
+    public void animationFrames() throws Exception {
+        ThumbsMetrics metrics = new ThumbsMetrics();
+        metrics.recordDraw(1000);
+        metrics.recordAnimationStart();
+        for (int i = 0; i < 12; i++) {
+            metrics.recordDraw(1000);
+        }
+        metrics.recordAnimationEnd(15, 3);
+        //动画结束后的绘制不计入动画帧数
+        metrics.recordDraw(1000);
+        metrics.recordAnimationEnd(15, 3);
+        ThumbsMetrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals(1, snapshot.getAnimationCount());
+        assertEquals(12, snapshot.getFramesRendered());
+        assertEquals(15, snapshot.getFramesExpected());
+        assertEquals(3, snapshot.getAnimationAllocations());
+        assertEquals(14, snapshot.getDrawCount());
+    }
+
+    @Test
+    public void qualityTiers() throws Exception {
+        ThumbsMetrics metrics = new ThumbsMetrics();
+        metrics.recordQualityTier(QualityGovernor.TIER_FULL);
+        metrics.recordQualityTier(QualityGovernor.TIER_SNAP);
+        metrics.recordQualityTier(QualityGovernor.TIER_SNAP);
+        ThumbsMetrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals(1, snapshot.getTierAnimationCount(QualityGovernor.TIER_FULL));
+        assertEquals(0, snapshot.getTierAnimationCount(QualityGovernor.TIER_NO_RING));
+        assertEquals(2, snapshot.getTierAnimationCount(QualityGovernor.TIER_SNAP));
+        metrics.reset();
+        assertEquals(0, metrics.snapshot().getTierAnimationCount(QualityGovernor.TIER_SNAP));
+    }
+
+    @Test
+    public void snapshotIsCopy() throws Exception {
+        ThumbsMetrics metrics = new ThumbsMetrics();
+        metrics.recordSaveLayer();
+        ThumbsMetrics.Snapshot snapshot = metrics.snapshot();
+        metrics.recordSaveLayer();
+        metrics.recordDraw(1000);
+        assertEquals(1, snapshot.getSaveLayerCount());
+        assertEquals(0, snapshot.getDrawCount(0));
+        metrics.reset();
+        assertEquals(0, metrics.snapshot().getSaveLayerCount());
+    }
+}
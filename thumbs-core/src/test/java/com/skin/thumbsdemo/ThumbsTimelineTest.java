@@ -0,0 +1,58 @@
+package com.skin.thumbsdemo;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created by wangcheng on 2026/10/17.
+ */
+public class ThumbsTimelineTest {
+
+    @Test
+    public void start() throws Exception {
+        ThumbsTimeline timeline = new ThumbsTimeline();
+        timeline.apply(0f);
+        assertEquals(1f, timeline.getScaleOff(), 1e-4f);
+        assertEquals(0f, timeline.getJumpProgress(), 1e-4f);
+        assertEquals(0xff, timeline.getClickCircleAlpha());
+        assertEquals(0.5f, timeline.getBitmapCircleScale(), 1e-4f);
+        assertEquals(0xff, timeline.getBitmapCircleAlpha());
+    }
+
+    @Test
+    public void mainAnimationEndsBeforeRingFades() throws Exception {
+        ThumbsTimeline timeline = new ThumbsTimeline();
+        timeline.apply((float) ThumbsTimeline.MAIN_DURATION / ThumbsTimeline.DURATION);
+        assertEquals(1f, timeline.getScaleOff(), 1e-4f);
+        assertEquals(1f, timeline.getJumpProgress(), 1e-4f);
+        assertEquals(0, timeline.getClickCircleAlpha());
+        assertEquals(1f, timeline.getBitmapCircleScale(), 1e-4f);
+        assertEquals(0xff, timeline.getBitmapCircleAlpha());
+    }
+
+    @Test
+    public void end() throws Exception {
+        ThumbsTimeline timeline = new ThumbsTimeline();
+        timeline.apply(1f);
+        assertEquals(1f, timeline.getScaleOff(), 1e-4f);
+        assertEquals(1f, timeline.getJumpProgress(), 1e-4f);
+        assertEquals(0, timeline.getClickCircleAlpha());
+        assertEquals(0, timeline.getBitmapCircleAlpha());
+    }
+
+    @Test
+    public void scaleShrinksThenOvershoots() throws Exception {
+        ThumbsTimeline timeline = new ThumbsTimeline();
+        float min = 1f;
+        float max = 0f;
+        for (int frame = 0; frame <= 100; frame++) {
+            timeline.apply(frame / 100f * ThumbsTimeline.MAIN_DURATION / ThumbsTimeline.DURATION);
+            min = Math.min(min, timeline.getScaleOff());
+            max = Math.max(max, timeline.getScaleOff());
+        }
+        assertTrue(min < 0.85f);
+        assertTrue(max > 1f);
+    }
+}